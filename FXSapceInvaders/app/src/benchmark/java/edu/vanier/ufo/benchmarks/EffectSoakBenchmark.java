@@ -0,0 +1,93 @@
+package edu.vanier.ufo.benchmarks;
+
+import edu.vanier.ufo.helpers.AnimationFrames;
+import edu.vanier.ufo.helpers.ResourcesManager;
+import edu.vanier.ufo.ui.EffectManager;
+import edu.vanier.ufo.ui.ProfilerOverlay;
+import edu.vanier.ufo.ui.SceneMutationQueue;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import javafx.application.Platform;
+
+/**
+ * Plays explosions through an EffectManager for a long game, on a synthetic
+ * clock of 60 pulses per second so that an hour takes seconds. Once per
+ * second on average a burst of kills starts up to 19 explosions in the same
+ * pulse. Each pulse updates the effects and applies the changes of the
+ * layer, then counts the nodes of the layer; the count must stay bounded by
+ * the cap of the manager. Run it with:
+ * <pre>
+ *  ./gradlew :app:effectSoakBenchmark [--args="minutes"]
+ * </pre>
+ *
+ * @author enyihou
+ */
+public class EffectSoakBenchmark {
+
+    private static final int FPS = 60;
+    private static final long PULSE_NANOS = 1_000_000_000L / FPS;
+    private static final int MAX_BURST = 19;
+
+    private static void run(int minutes) {
+        // Decode the frames before the clock starts
+        AnimationFrames frames = ResourcesManager.getAnimation(ResourcesManager.ROCKET_EXPLOSION);
+        EffectManager effects = new EffectManager();
+        SceneMutationQueue mutations = new SceneMutationQueue();
+        mutations.register(effects.getLayer());
+        Random random = new Random(42);
+
+        long now = 0;
+        long explosions = 0;
+        int peak = 0;
+        int lowestMinutePeak = Integer.MAX_VALUE;
+        int highestMinutePeak = 0;
+        long start = System.nanoTime();
+        for (int minute = 0; minute < minutes; minute++) {
+            int minutePeak = 0;
+            for (int pulse = 0; pulse < 60 * FPS; pulse++) {
+                now += PULSE_NANOS;
+                if (random.nextInt(FPS) == 0) {
+                    int burst = 1 + random.nextInt(MAX_BURST);
+                    for (int i = 0; i < burst; i++) {
+                        effects.explode(random.nextDouble(1280), random.nextDouble(720), now);
+                    }
+                    explosions += burst;
+                }
+                effects.update(now);
+                mutations.apply();
+                minutePeak = Math.max(minutePeak, ProfilerOverlay.countNodes(effects.getLayer()));
+            }
+            peak = Math.max(peak, minutePeak);
+            lowestMinutePeak = Math.min(lowestMinutePeak, minutePeak);
+            highestMinutePeak = Math.max(highestMinutePeak, minutePeak);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%d minutes at %d Hz in %.1f s, %.2f us per pulse%n", minutes, FPS, elapsed / 1e9,
+                elapsed / 1e3 / (minutes * 60.0 * FPS));
+        System.out.printf("%d explosions of %.2f s, %d cut short by the cap of %d%n", explosions,
+                frames.getDuration() / 1e9, effects.getReplacedCount(), EffectManager.MAX_EFFECTS);
+        System.out.printf("effect layer: peak %d nodes, peak per minute between %d and %d%n", peak,
+                lowestMinutePeak, highestMinutePeak);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int minutes = args.length > 0 ? Integer.parseInt(args[0]) : 60;
+        Platform.startup(() -> {
+        });
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                run(minutes);
+                done.complete(null);
+            } catch (RuntimeException e) {
+                done.completeExceptionally(e);
+            }
+        });
+        try {
+            done.get();
+        } finally {
+            Platform.exit();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package edu.vanier.ufo.benchmarks;
+
+import edu.vanier.ufo.game.SpriteImage;
+import edu.vanier.ufo.helpers.AnimationFrames;
+import edu.vanier.ufo.helpers.ResourcesManager;
+import edu.vanier.ufo.helpers.TextureAtlas;
+import java.util.Arrays;
+import java.util.function.Supplier;
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+
+/**
+ * Compares decoding an image every time it is shown, like the sprite views
+ * and the level previews did, with taking it from the cache of
+ * ResourcesManager. It also prints the memory taken by the sprite bitmaps
+ * and by the texture atlas packing them. Run it with:
+ * <pre>
+ *  ./gradlew :app:imageCacheBenchmark [--args="decodes"]
+ * </pre>
+ *
+ * @author enyihou
+ */
+public class ImageCacheBenchmark {
+
+    private static final int WARMUP_DECODES = 20;
+
+    private static final String[] PATHS = {
+        ResourcesManager.ENEMY1, ResourcesManager.ROCKET_NORMAL, ResourcesManager.ENTRY_LEVEL
+    };
+
+    /**
+     * @return the median time of an action in nanoseconds
+     */
+    private static long median(int count, Supplier<?> action) {
+        for (int i = 0; i < WARMUP_DECODES; i++) {
+            action.get();
+        }
+        long[] times = new long[count];
+        for (int i = 0; i < count; i++) {
+            long start = System.nanoTime();
+            action.get();
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        return times[count / 2];
+    }
+
+    private static Image decode(String path) {
+        return new Image(ResourcesManager.class.getResource(path).toExternalForm());
+    }
+
+    /**
+     * @return the bytes taken by the pixels of an image
+     */
+    private static long bytes(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+
+    private static void run(int decodes) {
+        for (String path : PATHS) {
+            long decode = median(decodes, () -> decode(path));
+            long cached = median(decodes, () -> ResourcesManager.getImage(path));
+            System.out.printf("%-36s decode %6.2f ms, cached %6.3f us%n", path, decode / 1e6, cached / 1e3);
+        }
+        String gif = ResourcesManager.ROCKET_EXPLOSION;
+        long decode = median(decodes, () -> decode(gif));
+        long frames = median(decodes, () -> AnimationFrames.load(gif));
+        long cached = median(decodes, () -> ResourcesManager.getAnimation(gif));
+        System.out.printf("%-36s decode %6.2f ms, frames %6.2f ms, cached %6.3f us%n",
+                gif, decode / 1e6, frames / 1e6, cached / 1e3);
+
+        long spriteBytes = 0;
+        for (SpriteImage sprite : SpriteImage.values()) {
+            spriteBytes += bytes(ResourcesManager.getImage(sprite.getPath()));
+        }
+        TextureAtlas atlas = ResourcesManager.getAtlas();
+        System.out.printf("%d sprite bitmaps %d KB, atlas %d x %d %d KB%n", SpriteImage.values().length,
+                spriteBytes / 1024, (int) atlas.getImage().getWidth(), (int) atlas.getImage().getHeight(),
+                bytes(atlas.getImage()) / 1024);
+    }
+
+    public static void main(String[] args) {
+        int decodes = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        // The images are decoded by the toolkit, on any thread
+        Platform.startup(() -> {
+        });
+        try {
+            run(decodes);
+        } finally {
+            Platform.exit();
+        }
+    }
+}
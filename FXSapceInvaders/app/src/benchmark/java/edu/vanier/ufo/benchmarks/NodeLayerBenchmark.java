@@ -0,0 +1,152 @@
+package edu.vanier.ufo.benchmarks;
+
+import edu.vanier.ufo.ui.NodeLayer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.image.ImageView;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+
+/**
+ * Compares the cost of the sprite nodes coming and going in a scene holding
+ * the stars of the map:
+ * <ul>
+ * <li>ROOT: the sprite nodes are children of the root next to the stars,
+ * each added and removed on its own, like GameWorld did;</li>
+ * <li>LAYER: the sprite nodes are in a NodeLayer of their own, their changes
+ * queued and applied once per frame.</li>
+ * </ul>
+ * At each frame some nodes in the scene leave it and as many come back.
+ * Only the changes of the children are timed, the scene is not rendered.
+ * Run it with:
+ * <pre>
+ *  ./gradlew :app:nodeLayerBenchmark [--args="stars sprites changes"]
+ * </pre>
+ *
+ * @author enyihou
+ */
+public class NodeLayerBenchmark {
+
+    private static final int WARMUP_FRAMES = 500;
+    private static final int MEASURED_FRAMES = 2000;
+
+    private enum Mode {
+        ROOT, LAYER
+    }
+
+    private final Mode mode;
+    private final int changes;
+    private final Random random = new Random(42);
+    private final Group root = new Group();
+    private final NodeLayer layer = new NodeLayer();
+
+    // The sprite nodes in the scene, and the ones out of it
+    private final List<Node> shown = new ArrayList<>();
+    private final List<Node> hidden = new ArrayList<>();
+
+    private NodeLayerBenchmark(Mode mode, int stars, int sprites, int changes) {
+        this.mode = mode;
+        this.changes = changes;
+        Group background = new Group();
+        Group starParent = mode == Mode.ROOT ? root : background;
+        for (int i = 0; i < stars; i++) {
+            starParent.getChildren().add(new Circle(random.nextDouble(6000), random.nextDouble(6000),
+                    random.nextDouble(0.5, 2), Color.WHITE));
+        }
+        if (mode == Mode.LAYER) {
+            root.getChildren().addAll(background, layer);
+        }
+        for (int i = 0; i < sprites + changes; i++) {
+            hidden.add(new ImageView());
+        }
+        for (int i = 0; i < sprites; i++) {
+            show(hidden.remove(hidden.size() - 1));
+        }
+        layer.apply();
+        new Scene(root, 1280, 720, Color.BLACK);
+    }
+
+    private void show(Node node) {
+        shown.add(node);
+        if (mode == Mode.ROOT) {
+            root.getChildren().add(node);
+        } else {
+            layer.add(node);
+        }
+    }
+
+    private void hide(Node node) {
+        hidden.add(node);
+        if (mode == Mode.ROOT) {
+            root.getChildren().remove(node);
+        } else {
+            layer.remove(node);
+        }
+    }
+
+    /**
+     * Take random nodes out of the scene and bring as many back.
+     *
+     * @return the time taken in nanoseconds
+     */
+    private long frame() {
+        long start = System.nanoTime();
+        for (int i = 0; i < changes; i++) {
+            int index = random.nextInt(shown.size());
+            Node node = shown.get(index);
+            shown.set(index, shown.get(shown.size() - 1));
+            shown.remove(shown.size() - 1);
+            hide(node);
+        }
+        for (int i = 0; i < changes; i++) {
+            show(hidden.remove(0));
+        }
+        layer.apply();
+        return System.nanoTime() - start;
+    }
+
+    private void measure() {
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            frame();
+        }
+        long[] times = new long[MEASURED_FRAMES];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = frame();
+        }
+        Arrays.sort(times);
+        System.out.printf("%-6s %d nodes in the root, %d changes per frame: median %6.1f us, p90 %6.1f us%n",
+                mode, root.getChildren().size(), 2 * changes,
+                times[times.length / 2] / 1e3, times[times.length * 9 / 10] / 1e3);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int stars = args.length > 0 ? Integer.parseInt(args[0]) : 6000;
+        int sprites = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+        int changes = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        Platform.startup(() -> {
+        });
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                for (Mode mode : Mode.values()) {
+                    new NodeLayerBenchmark(mode, stars, sprites, changes).measure();
+                }
+                done.complete(null);
+            } catch (RuntimeException e) {
+                done.completeExceptionally(e);
+            }
+        });
+        try {
+            done.get();
+        } finally {
+            Platform.exit();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package edu.vanier.ufo.benchmarks;
+
+import edu.vanier.ufo.helpers.ResourcesManager;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import javafx.application.Platform;
+import javafx.scene.Camera;
+import javafx.scene.Group;
+import javafx.scene.PerspectiveCamera;
+import javafx.scene.Scene;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * Compares the cost of picking the node under the mouse in a game scene:
+ * the map, the stars as circles, the sprites and the HUD, seen through the
+ * perspective camera of the game.
+ * <ul>
+ * <li>FLAT: every node is a child of the root pane, like GameWorld did;</li>
+ * <li>LAYERED: the nodes are in mouse-transparent layers, like
+ * GameWorld.setupLayers() does.</li>
+ * </ul>
+ * Each event is picked with the method JavaFX uses for the mouse events,
+ * Scene.test_pick(), at random points of the scene. Run it with:
+ * <pre>
+ *  ./gradlew :app:pickingBenchmark [--args="points stars sprites"]
+ * </pre>
+ *
+ * @author enyihou
+ */
+public class PickingBenchmark {
+
+    private static final double MAP_SIZE = 6000;
+    private static final double SCENE_SIZE = 1800;
+    private static final int HEARTS = 5;
+
+    private enum Mode {
+        FLAT, LAYERED
+    }
+
+    private final Scene scene;
+    private final Method pick;
+
+    private PickingBenchmark(Mode mode, int stars, int sprites) throws ReflectiveOperationException {
+        Random random = new Random(42);
+        Group background = new Group(new Rectangle(MAP_SIZE, MAP_SIZE, Color.MIDNIGHTBLUE));
+        for (int i = 0; i < stars; i++) {
+            background.getChildren().add(new Circle(random.nextDouble(MAP_SIZE), random.nextDouble(MAP_SIZE),
+                    random.nextDouble(0.5, 2), Color.WHITE));
+        }
+        Group actors = new Group();
+        Image invader = ResourcesManager.getImage(ResourcesManager.ENEMY1);
+        for (int i = 0; i < sprites; i++) {
+            ImageView view = new ImageView(invader);
+            view.setTranslateX(random.nextDouble(SCENE_SIZE));
+            view.setTranslateY(random.nextDouble(SCENE_SIZE));
+            actors.getChildren().add(view);
+        }
+        HBox hud = new HBox(new Rectangle(300, 20, Color.DARKRED));
+        Image heart = ResourcesManager.getImage(ResourcesManager.HEART);
+        for (int i = 0; i < HEARTS; i++) {
+            hud.getChildren().add(new ImageView(heart));
+        }
+        Group hudLayer = new Group(hud);
+
+        Pane root = new Pane();
+        List<Group> layers = List.of(background, actors, hudLayer);
+        if (mode == Mode.FLAT) {
+            for (Group layer : layers) {
+                root.getChildren().addAll(List.copyOf(layer.getChildren()));
+            }
+        } else {
+            for (Group layer : layers) {
+                layer.setMouseTransparent(true);
+                layer.setPickOnBounds(false);
+                layer.setManaged(false);
+            }
+            root.getChildren().addAll(layers);
+        }
+        scene = new Scene(root, SCENE_SIZE, SCENE_SIZE, Color.BLACK);
+        Camera camera = new PerspectiveCamera();
+        camera.setFarClip(10000);
+        camera.setNearClip(0.0001);
+        scene.setCamera(camera);
+        root.applyCss();
+        root.layout();
+        pick = Scene.class.getDeclaredMethod("test_pick", double.class, double.class);
+        pick.setAccessible(true);
+    }
+
+    /**
+     * @return the median time of a pick in nanoseconds
+     */
+    private long measure(int points) throws ReflectiveOperationException {
+        Random random = new Random(7);
+        for (int i = 0; i < points; i++) {
+            pick.invoke(scene, random.nextDouble(SCENE_SIZE), random.nextDouble(SCENE_SIZE));
+        }
+        long[] times = new long[points];
+        for (int i = 0; i < points; i++) {
+            double x = random.nextDouble(SCENE_SIZE);
+            double y = random.nextDouble(SCENE_SIZE);
+            long start = System.nanoTime();
+            pick.invoke(scene, x, y);
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        return times[points / 2];
+    }
+
+    private static void run(int points, int stars, int sprites) throws ReflectiveOperationException {
+        for (Mode mode : Mode.values()) {
+            PickingBenchmark benchmark = new PickingBenchmark(mode, stars, sprites);
+            System.out.printf("%-8s %d stars, %d sprites: median %6.2f us per pick over %d points%n",
+                    mode, stars, sprites, benchmark.measure(points) / 1e3, points);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int points = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int stars = args.length > 1 ? Integer.parseInt(args[1]) : 6000;
+        int sprites = args.length > 2 ? Integer.parseInt(args[2]) : 300;
+        Platform.startup(() -> {
+        });
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                run(points, stars, sprites);
+                done.complete(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                done.completeExceptionally(e);
+            }
+        });
+        try {
+            done.get();
+        } finally {
+            Platform.exit();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package edu.vanier.ufo.benchmarks;
+
+import edu.vanier.ufo.engine.EntityStore;
+import edu.vanier.ufo.engine.RenderSnapshot;
+import edu.vanier.ufo.game.Atom;
+import edu.vanier.ufo.game.Invader;
+import edu.vanier.ufo.game.Ship;
+import edu.vanier.ufo.game.SpriteImage;
+import edu.vanier.ufo.ui.CanvasSpriteRenderer;
+import edu.vanier.ufo.ui.NodeSpriteRenderer;
+import edu.vanier.ufo.ui.SceneMutationQueue;
+import edu.vanier.ufo.ui.SpriteRenderer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/**
+ * Finds how many moving sprites each sprite renderer shows at 60 frames per
+ * second. A frame moves the sprites, shows them with the renderer and draws
+ * the scene into an image with snapshot(), which renders it like a pulse
+ * does. The snapshot also reads the image back: the median frame without
+ * sprites is measured first and taken off the other frames.
+ *
+ * The sprite count is doubled until the sprites take more than 1/60 second
+ * per frame, then searched between the last two counts. Run it with:
+ * <pre>
+ *  ./gradlew :app:rendererBenchmark [--args="width height"]
+ * </pre>
+ *
+ * @author enyihou
+ */
+public class RendererBenchmark {
+
+    private static final double FRAME_NANOS = 1e9 / 60;
+    private static final int WARMUP_FRAMES = 60;
+    private static final int MEASURED_FRAMES = 120;
+
+    private final double width;
+    private final double height;
+    private final Random random = new Random(42);
+
+    private final EntityStore entities = new EntityStore();
+    private final Ship ship = new Ship(entities);
+    private final List<Atom> atoms = new ArrayList<>();
+    private final List<double[]> velocities = new ArrayList<>();
+    private final RenderSnapshot snapshot = new RenderSnapshot();
+
+    private final SceneMutationQueue mutations = new SceneMutationQueue();
+    private final SpriteRenderer renderer;
+    private final Group root = new Group();
+    private final WritableImage image;
+
+    private RendererBenchmark(Function<RendererBenchmark, SpriteRenderer> backend, double width, double height) {
+        this.width = width;
+        this.height = height;
+        renderer = backend.apply(this);
+        root.getChildren().add(renderer.getLayer());
+        new Scene(root, width, height, Color.BLACK);
+        image = new WritableImage((int) width, (int) height);
+        ship.placeAt(width / 2, height / 2);
+    }
+
+    /**
+     * Add or remove sprites to reach a count, four invaders for a missile.
+     */
+    private void setSpriteCount(int count) {
+        if (atoms.size() > count) {
+            atoms.subList(count, atoms.size()).clear();
+            velocities.subList(count, velocities.size()).clear();
+        }
+        while (atoms.size() < count) {
+            Atom atom = atoms.size() % 5 == 4
+                    ? new Atom(entities, SpriteImage.ROCKET_NORMAL)
+                    : new Invader(entities, SpriteImage.ENEMY1, 1);
+            atom.placeAt(random.nextDouble(width), random.nextDouble(height));
+            atom.setRotation(random.nextDouble(360));
+            atoms.add(atom);
+            velocities.add(new double[]{random.nextDouble(-4, 4), random.nextDouble(-4, 4), random.nextDouble(-3, 3)});
+        }
+    }
+
+    /**
+     * Move the sprites across the view, show them and render the scene.
+     *
+     * @return the time taken in nanoseconds
+     */
+    private long frame() {
+        long start = System.nanoTime();
+        snapshot.clear();
+        for (int i = 0; i < atoms.size(); i++) {
+            Atom atom = atoms.get(i);
+            double[] velocity = velocities.get(i);
+            atom.storePreviousState();
+            atom.setPosition(wrap(atom.getX() + velocity[0], width), wrap(atom.getY() + velocity[1], height));
+            atom.setRotation(atom.getRotation() + velocity[2]);
+            snapshot.add(atom);
+        }
+        snapshot.add(ship);
+        renderer.render(snapshot, 1, 0, 0, width, height);
+        mutations.apply();
+        root.snapshot(new SnapshotParameters(), image);
+        return System.nanoTime() - start;
+    }
+
+    private static double wrap(double value, double size) {
+        double wrapped = value % size;
+        return wrapped < 0 ? wrapped + size : wrapped;
+    }
+
+    /**
+     * @return the median time of a frame with a sprite count in nanoseconds
+     */
+    private long medianFrame(int count) {
+        setSpriteCount(count);
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            frame();
+        }
+        long[] times = new long[MEASURED_FRAMES];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = frame();
+        }
+        Arrays.sort(times);
+        return times[times.length / 2];
+    }
+
+    /**
+     * @return the most sprites shown in 1/60 second
+     */
+    private int maxSpriteCount() {
+        long empty = medianFrame(0);
+        int held = 0;
+        int count = 100;
+        while (medianFrame(count) - empty <= FRAME_NANOS) {
+            held = count;
+            count *= 2;
+        }
+        // Search within 3% of the count
+        while (count - held > Math.max(1, held / 32)) {
+            int middle = (held + count) / 2;
+            if (medianFrame(middle) - empty <= FRAME_NANOS) {
+                held = middle;
+            } else {
+                count = middle;
+            }
+        }
+        return held;
+    }
+
+    public static void main(String[] args) throws Exception {
+        double width = args.length > 1 ? Double.parseDouble(args[0]) : 1280;
+        double height = args.length > 1 ? Double.parseDouble(args[1]) : 720;
+        Platform.startup(() -> {
+        });
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                int nodes = new RendererBenchmark(
+                        (benchmark) -> new NodeSpriteRenderer(benchmark.ship, benchmark.mutations),
+                        width, height).maxSpriteCount();
+                System.out.printf("node per sprite: %d sprites at 60 FPS%n", nodes);
+                int canvas = new RendererBenchmark(
+                        (benchmark) -> new CanvasSpriteRenderer(benchmark.ship),
+                        width, height).maxSpriteCount();
+                System.out.printf("single canvas:   %d sprites at 60 FPS%n", canvas);
+                done.complete(null);
+            } catch (RuntimeException e) {
+                done.completeExceptionally(e);
+            }
+        });
+        try {
+            done.get();
+        } finally {
+            Platform.exit();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package edu.vanier.ufo.benchmarks;
+
+import edu.vanier.ufo.game.SpriteImage;
+import edu.vanier.ufo.helpers.ResourcesManager;
+import edu.vanier.ufo.helpers.RotationSheet;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import javafx.application.Platform;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.CacheHint;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/**
+ * Compares the ways of showing turning sprites: rotated nodes, rotated nodes
+ * cached with CacheHint.ROTATE, nodes showing a cell of a RotationSheet, and
+ * the same with rotated or copied drawings on a canvas. A frame turns every
+ * sprite and draws the scene into an image with snapshot(), which renders it
+ * like a pulse does; the median frame without sprites is taken off.
+ *
+ * Run it with:
+ * <pre>
+ *  ./gradlew :app:rotationBenchmark [--args="steps [count...]"]
+ * </pre>
+ *
+ * @author enyihou
+ */
+public class RotationBenchmark {
+
+    private static final double WIDTH = 1280;
+    private static final double HEIGHT = 720;
+    private static final int WARMUP_FRAMES = 60;
+    private static final int MEASURED_FRAMES = 120;
+
+    private enum Mode {
+        NODE_ROTATE, NODE_CACHE_ROTATE, NODE_SHEET, CANVAS_ROTATE, CANVAS_SHEET
+    }
+
+    private final Mode mode;
+    private final Image image;
+    private final RotationSheet sheet;
+    private final double[] x;
+    private final double[] y;
+    private final double[] rotation;
+    private final double[] speed;
+    private final ImageView[] views;
+    private final Canvas canvas = new Canvas(WIDTH, HEIGHT);
+    private final Group root = new Group();
+    private final WritableImage snapshot = new WritableImage((int) WIDTH, (int) HEIGHT);
+
+    private RotationBenchmark(Mode mode, Image image, RotationSheet sheet, int count) {
+        this.mode = mode;
+        this.image = image;
+        this.sheet = sheet;
+        Random random = new Random(42);
+        x = new double[count];
+        y = new double[count];
+        rotation = new double[count];
+        speed = new double[count];
+        views = new ImageView[count];
+        for (int i = 0; i < count; i++) {
+            x[i] = random.nextDouble(WIDTH - image.getWidth());
+            y[i] = random.nextDouble(HEIGHT - image.getHeight());
+            rotation[i] = random.nextDouble(360);
+            speed[i] = random.nextDouble(-3, 3);
+        }
+        if (mode == Mode.CANVAS_ROTATE || mode == Mode.CANVAS_SHEET) {
+            root.getChildren().add(canvas);
+        } else {
+            for (int i = 0; i < count; i++) {
+                ImageView view = new ImageView(mode == Mode.NODE_SHEET ? sheet.getImage() : image);
+                if (mode == Mode.NODE_CACHE_ROTATE) {
+                    view.setCache(true);
+                    view.setCacheHint(CacheHint.ROTATE);
+                }
+                views[i] = view;
+                root.getChildren().add(view);
+            }
+        }
+        new Scene(root, WIDTH, HEIGHT, Color.BLACK);
+    }
+
+    /**
+     * Turn the sprites and render the scene.
+     *
+     * @return the time taken in nanoseconds
+     */
+    private long frame() {
+        long start = System.nanoTime();
+        for (int i = 0; i < rotation.length; i++) {
+            rotation[i] += speed[i];
+        }
+        switch (mode) {
+            case NODE_ROTATE, NODE_CACHE_ROTATE -> {
+                for (int i = 0; i < views.length; i++) {
+                    views[i].setTranslateX(x[i]);
+                    views[i].setTranslateY(y[i]);
+                    views[i].setRotate(rotation[i]);
+                }
+            }
+            case NODE_SHEET -> {
+                for (int i = 0; i < views.length; i++) {
+                    int step = sheet.getStep(rotation[i]);
+                    views[i].setTranslateX(x[i] + sheet.getOffsetX(step));
+                    views[i].setTranslateY(y[i] + sheet.getOffsetY(step));
+                    views[i].setViewport(sheet.getViewport(step));
+                }
+            }
+            case CANVAS_ROTATE -> {
+                GraphicsContext graphics = canvas.getGraphicsContext2D();
+                graphics.clearRect(0, 0, WIDTH, HEIGHT);
+                double width = image.getWidth();
+                double height = image.getHeight();
+                for (int i = 0; i < rotation.length; i++) {
+                    double angle = Math.toRadians(rotation[i]);
+                    double cos = Math.cos(angle);
+                    double sin = Math.sin(angle);
+                    graphics.setTransform(cos, sin, -sin, cos, x[i] + width / 2, y[i] + height / 2);
+                    graphics.drawImage(image, -width / 2, -height / 2);
+                }
+                graphics.setTransform(1, 0, 0, 1, 0, 0);
+            }
+            case CANVAS_SHEET -> {
+                GraphicsContext graphics = canvas.getGraphicsContext2D();
+                graphics.clearRect(0, 0, WIDTH, HEIGHT);
+                for (int i = 0; i < rotation.length; i++) {
+                    int step = sheet.getStep(rotation[i]);
+                    Rectangle2D cell = sheet.getViewport(step);
+                    graphics.drawImage(sheet.getImage(),
+                            cell.getMinX(), cell.getMinY(), cell.getWidth(), cell.getHeight(),
+                            x[i] + sheet.getOffsetX(step), y[i] + sheet.getOffsetY(step),
+                            cell.getWidth(), cell.getHeight());
+                }
+            }
+        }
+        root.snapshot(new SnapshotParameters(), snapshot);
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * @return the median time of a frame in nanoseconds
+     */
+    private long medianFrame() {
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            frame();
+        }
+        long[] times = new long[MEASURED_FRAMES];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = frame();
+        }
+        Arrays.sort(times);
+        return times[times.length / 2];
+    }
+
+    private static void run(int steps, int[] counts) {
+        String path = SpriteImage.ENEMY1.getPath();
+        Image image = ResourcesManager.getImage(path);
+        long start = System.nanoTime();
+        RotationSheet sheet = RotationSheet.create(image, null, steps);
+        System.out.printf("%s turned to %d angles in %.1f ms, %d x %d sheet, %.1f MB%n", path, steps,
+                (System.nanoTime() - start) / 1e6, (int) sheet.getImage().getWidth(),
+                (int) sheet.getImage().getHeight(), sheet.getByteCount() / 1e6);
+        for (Mode mode : Mode.values()) {
+            long empty = new RotationBenchmark(mode, image, sheet, 0).medianFrame();
+            StringBuilder line = new StringBuilder(String.format("%-18s", mode));
+            for (int count : counts) {
+                long time = new RotationBenchmark(mode, image, sheet, count).medianFrame() - empty;
+                line.append(String.format("  %d sprites: %6.2f ms", count, time / 1e6));
+            }
+            System.out.println(line);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int steps = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int[] counts = args.length > 1
+                ? Arrays.stream(args, 1, args.length).mapToInt(Integer::parseInt).toArray()
+                : new int[]{100, 400};
+        Platform.startup(() -> {
+        });
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                run(steps, counts);
+                done.complete(null);
+            } catch (RuntimeException e) {
+                done.completeExceptionally(e);
+            }
+        });
+        try {
+            done.get();
+        } finally {
+            Platform.exit();
+        }
+    }
+}
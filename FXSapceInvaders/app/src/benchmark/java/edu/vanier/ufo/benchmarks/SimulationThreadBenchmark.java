@@ -0,0 +1,171 @@
+package edu.vanier.ufo.benchmarks;
+
+import edu.vanier.ufo.engine.FixedTimestep;
+import edu.vanier.ufo.engine.RenderSnapshot;
+import edu.vanier.ufo.engine.SimulationThread;
+import edu.vanier.ufo.engine.SnapshotBuffer;
+import edu.vanier.ufo.game.GameSimulation;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Compares the work left on the JavaFX thread when the simulation runs on it
+ * and when it runs on a SimulationThread. The main thread plays the JavaFX
+ * thread: it pulses at 60 Hz and does what a pulse of GameWorld does with the
+ * simulation, without rendering.
+ * <ul>
+ * <li>Single-threaded: run the steps due, then write the render
+ * snapshot.</li>
+ * <li>Threaded: read the last snapshot published by the simulation
+ * thread.</li>
+ * </ul>
+ * The spaceship fires twice per second, and a new game starts when one ends.
+ * For each mode it prints the work per pulse and how old the snapshot shown
+ * is. Run it with:
+ * <pre>
+ *  ./gradlew :app:simulationThreadBenchmark [--args="pulses level"]
+ * </pre>
+ *
+ * @author enyihou
+ */
+public class SimulationThreadBenchmark {
+
+    private static final int FPS = 60;
+    private static final long PULSE_NANOS = 1_000_000_000L / FPS;
+    private static final int MAX_STEPS_PER_PULSE = 5;
+    private static final int FIRE_INTERVAL = FPS / 2;
+    private static final int WARMUP_PULSES = 300;
+
+    private final int pulses;
+    private final int level;
+
+    // The work and the snapshot age of each measured pulse, in nanoseconds
+    private final long[] work;
+    private final long[] age;
+    private long droppedSteps;
+    private int games;
+
+    private SimulationThreadBenchmark(int pulses, int level) {
+        this.pulses = pulses;
+        this.level = level;
+        work = new long[pulses];
+        age = new long[pulses];
+    }
+
+    private GameSimulation newGame() {
+        GameSimulation simulation = new GameSimulation(FPS, level);
+        simulation.initialize();
+        games++;
+        return simulation;
+    }
+
+    /**
+     * Run the steps on the pulsing thread, like GameWorld does by default.
+     */
+    private void runSingleThreaded() {
+        GameSimulation simulation = newGame();
+        FixedTimestep timestep = new FixedTimestep(FPS, MAX_STEPS_PER_PULSE);
+        RenderSnapshot snapshot = new RenderSnapshot();
+        long next = System.nanoTime();
+        for (int pulse = -WARMUP_PULSES; pulse < pulses; pulse++) {
+            next = waitUntil(next + PULSE_NANOS);
+            if (simulation.isFinished()) {
+                simulation = newGame();
+            }
+            if (pulse % FIRE_INTERVAL == 0) {
+                simulation.fire();
+            }
+            long start = System.nanoTime();
+            int steps = timestep.advance(start);
+            for (int i = 0; i < steps; i++) {
+                simulation.step();
+            }
+            simulation.writeSnapshot(snapshot);
+            long end = System.nanoTime();
+            snapshot.setTime(end);
+            if (pulse >= 0) {
+                work[pulse] = end - start;
+                age[pulse] = System.nanoTime() - snapshot.getTime();
+            }
+        }
+        droppedSteps = timestep.getDroppedSteps();
+    }
+
+    /**
+     * Run the steps on a SimulationThread and only read the snapshots on the
+     * pulsing thread, like GameWorld does in the threaded mode.
+     */
+    private void runThreaded() {
+        SnapshotBuffer snapshots = new SnapshotBuffer();
+        GameSimulation simulation = newGame();
+        SimulationThread thread = new SimulationThread(simulation, snapshots);
+        thread.start();
+        long next = System.nanoTime();
+        for (int pulse = -WARMUP_PULSES; pulse < pulses; pulse++) {
+            next = waitUntil(next + PULSE_NANOS);
+            if (simulation.isFinished()) {
+                thread.stop();
+                droppedSteps += thread.getDroppedSteps();
+                simulation = newGame();
+                thread = new SimulationThread(simulation, snapshots);
+                thread.start();
+            }
+            if (pulse % FIRE_INTERVAL == 0) {
+                GameSimulation game = simulation;
+                game.post(game::fire);
+            }
+            long start = System.nanoTime();
+            RenderSnapshot snapshot = snapshots.read();
+            long end = System.nanoTime();
+            if (pulse >= 0) {
+                work[pulse] = end - start;
+                age[pulse] = end - snapshot.getTime();
+            }
+        }
+        thread.stop();
+        droppedSteps += thread.getDroppedSteps();
+    }
+
+    /**
+     * Wait for the next pulse.
+     *
+     * @return the time of the pulse, or the current time if the pulse is
+     * late by more than a pulse
+     */
+    private static long waitUntil(long deadline) {
+        long now;
+        while ((now = System.nanoTime()) < deadline) {
+            LockSupport.parkNanos(deadline - now);
+        }
+        return now - deadline > PULSE_NANOS ? now : deadline;
+    }
+
+    private void print(String mode) {
+        long[] sortedWork = work.clone();
+        long[] sortedAge = age.clone();
+        Arrays.sort(sortedWork);
+        Arrays.sort(sortedAge);
+        System.out.printf("%-16s work per pulse %6.1f us avg %6.1f us p99, "
+                + "snapshot age %5.2f ms avg %5.2f ms p99, %d dropped steps, %d games%n",
+                mode, Arrays.stream(work).average().orElse(0) / 1e3, percentile(sortedWork, 0.99) / 1e3,
+                Arrays.stream(age).average().orElse(0) / 1e6, percentile(sortedAge, 0.99) / 1e6,
+                droppedSteps, games);
+        droppedSteps = 0;
+        games = 0;
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))];
+    }
+
+    public static void main(String[] args) {
+        int pulses = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        int level = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        System.out.printf("level %d, %d pulses at %d Hz%n", level, pulses, FPS);
+        SimulationThreadBenchmark benchmark = new SimulationThreadBenchmark(pulses, level);
+        benchmark.runSingleThreaded();
+        benchmark.print("single-threaded:");
+        benchmark.runThreaded();
+        benchmark.print("threaded:");
+    }
+}
@@ -0,0 +1,192 @@
+package edu.vanier.ufo.benchmarks;
+
+import edu.vanier.ufo.game.Map;
+import edu.vanier.ufo.game.StarField;
+import edu.vanier.ufo.ui.StarTileLayer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import javafx.application.Platform;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+
+/**
+ * Compares the stars of the map shown as one circle node each, like MapView
+ * did, with the stars drawn into the tiles of a StarTileLayer. For each way
+ * it measures the time the JavaFX thread takes to create the stars, then
+ * renders the view of a camera crossing the map with snapshot(). The tiles
+ * are drawn on the background threads; the time until the first view is
+ * drawn is measured too. Run it with:
+ * <pre>
+ *  ./gradlew :app:starfieldBenchmark [--args="frames"]
+ * </pre>
+ *
+ * @author enyihou
+ */
+public class StarfieldBenchmark {
+
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 720;
+    private static final int WARMUP_FRAMES = 60;
+
+    /**
+     * The move of the camera at each frame, in pixels.
+     */
+    private static final double MOVE_X = 6;
+    private static final double MOVE_Y = 3;
+
+    private static final Color[] COLORS = {
+        Color.AQUA, Color.AQUAMARINE, Color.BLUEVIOLET, Color.TEAL, Color.WHITESMOKE, Color.BISQUE,
+        Color.DARKGOLDENROD
+    };
+
+    private enum Mode {
+        CIRCLES, TILES
+    }
+
+    private final Mode mode;
+    private final Group world = new Group();
+    private final Group root = new Group(world);
+    private final SnapshotParameters parameters = new SnapshotParameters();
+    private final WritableImage snapshot = new WritableImage(WIDTH, HEIGHT);
+    private StarTileLayer tiles;
+    private double viewX = -WIDTH / 2.0;
+    private double viewY = -HEIGHT / 2.0;
+
+    // The time taken by the updates of the tiles
+    private long updateNanos;
+
+    private StarfieldBenchmark(Mode mode) {
+        this.mode = mode;
+        parameters.setFill(Color.BLACK);
+        parameters.setViewport(new Rectangle2D(0, 0, WIDTH, HEIGHT));
+        new Scene(root, WIDTH, HEIGHT, Color.BLACK);
+    }
+
+    /**
+     * Create the stars, on the JavaFX thread.
+     */
+    private void createStars(StarField field) {
+        if (mode == Mode.CIRCLES) {
+            for (int i = 0; i < field.getCount(); i++) {
+                Circle star = new Circle(field.getRadius(i), COLORS[field.getColorIndex(i)]);
+                star.setTranslateX(field.getX(i));
+                star.setTranslateY(field.getY(i));
+                world.getChildren().add(star);
+            }
+        } else {
+            int[] colors = new int[COLORS.length];
+            for (int i = 0; i < colors.length; i++) {
+                colors[i] = 0xff000000
+                        | (int) Math.round(COLORS[i].getRed() * 255) << 16
+                        | (int) Math.round(COLORS[i].getGreen() * 255) << 8
+                        | (int) Math.round(COLORS[i].getBlue() * 255);
+            }
+            tiles = new StarTileLayer(field, colors, Map.getMAP_RADIUS());
+            world.getChildren().add(tiles);
+        }
+        moveCamera();
+    }
+
+    private void moveCamera() {
+        world.setTranslateX(-viewX);
+        world.setTranslateY(-viewY);
+        if (tiles != null) {
+            long start = System.nanoTime();
+            tiles.update(viewX, viewY, WIDTH, HEIGHT);
+            updateNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * @return true once every tile in view is drawn
+     */
+    private boolean isViewDrawn() {
+        int columns = (int) Math.floor((viewX + WIDTH) / StarTileLayer.TILE_SIZE)
+                - (int) Math.floor(viewX / StarTileLayer.TILE_SIZE) + 1;
+        int rows = (int) Math.floor((viewY + HEIGHT) / StarTileLayer.TILE_SIZE)
+                - (int) Math.floor(viewY / StarTileLayer.TILE_SIZE) + 1;
+        return tiles.getChildren().stream().filter(Node::isVisible).count() >= columns * rows;
+    }
+
+    /**
+     * Move the camera and render the view.
+     *
+     * @return the time taken in nanoseconds
+     */
+    private long frame() {
+        long start = System.nanoTime();
+        viewX += MOVE_X;
+        viewY += MOVE_Y;
+        moveCamera();
+        root.snapshot(parameters, snapshot);
+        return System.nanoTime() - start;
+    }
+
+    private static void run(Mode mode, int frames) throws Exception {
+        StarField field = new StarField(new Random(42), StarField.STAR_COUNT, Map.getMAP_RADIUS(), COLORS.length);
+        StarfieldBenchmark benchmark = onFxThread(() -> new StarfieldBenchmark(mode));
+        long start = System.nanoTime();
+        onFxThread(() -> {
+            benchmark.createStars(field);
+            return null;
+        });
+        long startup = System.nanoTime() - start;
+        StringBuilder line = new StringBuilder(String.format("%-8s startup %6.1f ms", mode, startup / 1e6));
+        if (mode == Mode.TILES) {
+            while (!onFxThread(benchmark::isViewDrawn)) {
+                Thread.sleep(1);
+            }
+            line.append(String.format(", first view drawn %5.1f ms later", (System.nanoTime() - start - startup) / 1e6));
+        }
+
+        // One frame per pulse, so that the drawn tiles are shown in between
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            onFxThread(benchmark::frame);
+        }
+        benchmark.updateNanos = 0;
+        long[] times = new long[frames];
+        for (int i = 0; i < frames; i++) {
+            times[i] = onFxThread(benchmark::frame);
+        }
+        Arrays.sort(times);
+        line.append(String.format(", render median %5.2f ms p90 %5.2f ms",
+                times[frames / 2] / 1e6, times[frames * 9 / 10] / 1e6));
+        if (mode == Mode.TILES) {
+            line.append(String.format(", tile update %5.1f us per frame", benchmark.updateNanos / 1e3 / frames));
+        }
+        System.out.println(line);
+    }
+
+    private static <T> T onFxThread(Callable<T> action) throws Exception {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                result.complete(action.call());
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result.get();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        Platform.startup(() -> {
+        });
+        try {
+            for (Mode mode : Mode.values()) {
+                run(mode, frames);
+            }
+        } finally {
+            Platform.exit();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package edu.vanier.ufo.benchmarks;
+
+import edu.vanier.ufo.game.SpriteImage;
+import edu.vanier.ufo.helpers.ResourcesManager;
+import edu.vanier.ufo.helpers.TintVariants;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import javafx.application.Platform;
+import javafx.scene.CacheHint;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.effect.ColorAdjust;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+
+/**
+ * Compares the ways of showing invaders in random colors while they turn:
+ * <ul>
+ * <li>EFFECT: each node has its own ColorAdjust;</li>
+ * <li>EFFECT_CACHED: the same, the nodes cached with CacheHint.SPEED, like
+ * SpriteView did;</li>
+ * <li>VARIANTS: each node shows a variant of the shared TintVariants
+ * sheet.</li>
+ * </ul>
+ * Like SpriteView, each invader is a group of its image and of its hidden
+ * colliding circle. A frame turns every invader and draws the scene into an
+ * image with snapshot(); the median frame without invaders is taken off. The
+ * heap taken by each invader is measured once the frames are drawn. Run it
+ * with:
+ * <pre>
+ *  ./gradlew :app:tintBenchmark [--args="count"]
+ * </pre>
+ *
+ * @author enyihou
+ */
+public class TintBenchmark {
+
+    private static final double WIDTH = 1280;
+    private static final double HEIGHT = 720;
+    private static final int WARMUP_FRAMES = 60;
+    private static final int MEASURED_FRAMES = 120;
+
+    private enum Mode {
+        EFFECT, EFFECT_CACHED, VARIANTS
+    }
+
+    private final double[] rotation;
+    private final double[] speed;
+    private final Group[] invaders;
+    private final Group root = new Group();
+
+    // Shared by every mode, so that it is not counted in the heap of the
+    // invaders
+    private final WritableImage snapshot;
+
+    private TintBenchmark(Mode mode, Image image, TintVariants variants, WritableImage snapshot, int count) {
+        this.snapshot = snapshot;
+        Random random = new Random(42);
+        rotation = new double[count];
+        speed = new double[count];
+        invaders = new Group[count];
+        for (int i = 0; i < count; i++) {
+            rotation[i] = random.nextDouble(360);
+            speed[i] = random.nextDouble(-3, 3);
+            ImageView view = new ImageView();
+            if (mode == Mode.VARIANTS) {
+                view.setImage(variants.getImage());
+                view.setViewport(variants.getViewport(random.nextInt(TintVariants.VARIANT_COUNT)));
+            } else {
+                view.setImage(image);
+                view.setEffect(new ColorAdjust(random.nextDouble(), random.nextDouble(),
+                        random.nextDouble() - 0.5, 0.5));
+            }
+            Circle hitBounds = new Circle(image.getWidth() / 2);
+            hitBounds.setOpacity(0);
+            Group invader = new Group(view, hitBounds);
+            if (mode == Mode.EFFECT_CACHED) {
+                invader.setCache(true);
+                invader.setCacheHint(CacheHint.SPEED);
+            }
+            invader.setTranslateX(random.nextDouble(WIDTH - image.getWidth()));
+            invader.setTranslateY(random.nextDouble(HEIGHT - image.getHeight()));
+            invaders[i] = invader;
+            root.getChildren().add(invader);
+        }
+        new Scene(root, WIDTH, HEIGHT, Color.BLACK);
+    }
+
+    /**
+     * Turn the invaders and render the scene.
+     *
+     * @return the time taken in nanoseconds
+     */
+    private long frame() {
+        long start = System.nanoTime();
+        for (int i = 0; i < invaders.length; i++) {
+            rotation[i] += speed[i];
+            invaders[i].setRotate(rotation[i]);
+        }
+        root.snapshot(new SnapshotParameters(), snapshot);
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * @return the median time of a frame in nanoseconds
+     */
+    private long medianFrame() {
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            frame();
+        }
+        long[] times = new long[MEASURED_FRAMES];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = frame();
+        }
+        Arrays.sort(times);
+        return times[times.length / 2];
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void run(int count) {
+        String path = SpriteImage.ENEMY1.getPath();
+        Image image = ResourcesManager.getImage(path);
+        TintVariants variants = ResourcesManager.getTintVariants(path);
+        WritableImage snapshot = new WritableImage((int) WIDTH, (int) HEIGHT);
+        for (Mode mode : Mode.values()) {
+            long empty = new TintBenchmark(mode, image, variants, snapshot, 0).medianFrame();
+            long before = usedHeap();
+            TintBenchmark benchmark = new TintBenchmark(mode, image, variants, snapshot, count);
+            long time = benchmark.medianFrame() - empty;
+            long heap = usedHeap() - before;
+            System.out.printf("%-14s %d invaders: %6.2f ms per frame, %5.1f KB heap per invader%n",
+                    mode, count, time / 1e6, heap / 1024.0 / count);
+            // Keep the invaders alive until their heap is measured
+            benchmark.root.getChildren().clear();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        Platform.startup(() -> {
+        });
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                run(count);
+                done.complete(null);
+            } catch (RuntimeException e) {
+                done.completeExceptionally(e);
+            }
+        });
+        try {
+            done.get();
+        } finally {
+            Platform.exit();
+        }
+    }
+}
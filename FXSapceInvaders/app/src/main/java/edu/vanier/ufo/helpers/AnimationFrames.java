@@ -0,0 +1,168 @@
+package edu.vanier.ufo.helpers;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+/**
+ * The frames of an animated GIF, decoded once and shared by every node
+ * playing the animation. A JavaFX Image of a GIF plays its animation once
+ * from its creation, so it has to be decoded again for each node. Here each
+ * node picks the frame to show from the time since it started playing.
+ *
+ * @author enyihou
+ */
+public class AnimationFrames {
+
+    private static final String GIF_METADATA = "javax_imageio_gif_image_1.0";
+
+    /**
+     * The delay of a frame when the GIF gives none, like web browsers.
+     */
+    private static final long DEFAULT_DELAY = 100_000_000L;
+
+    private final Image[] frames;
+
+    // When each frame ends, in nanoseconds since the start of the animation
+    private final long[] frameEnds;
+
+    private final double width;
+    private final double height;
+
+    private AnimationFrames(Image[] frames, long[] frameEnds, double width, double height) {
+        this.frames = frames;
+        this.frameEnds = frameEnds;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Decode every frame of an animated GIF. The frames are composed as a
+     * browser shows them, following the position and the disposal method of
+     * each frame.
+     *
+     * @param path the resource path of the GIF
+     * @return the decoded frames
+     */
+    public static AnimationFrames load(String path) {
+        try (InputStream in = AnimationFrames.class.getResourceAsStream(path);
+                ImageInputStream stream = ImageIO.createImageInputStream(in)) {
+            ImageReader reader = ImageIO.getImageReadersByFormatName("gif").next();
+            reader.setInput(stream);
+            int count = reader.getNumImages(true);
+            int width = reader.getWidth(0);
+            int height = reader.getHeight(0);
+            for (int i = 1; i < count; i++) {
+                width = Math.max(width, reader.getWidth(i));
+                height = Math.max(height, reader.getHeight(i));
+            }
+
+            Image[] frames = new Image[count];
+            long[] frameEnds = new long[count];
+            int[] canvas = new int[width * height];
+            long end = 0;
+            for (int i = 0; i < count; i++) {
+                IIOMetadataNode metadata = (IIOMetadataNode) reader.getImageMetadata(i).getAsTree(GIF_METADATA);
+                IIOMetadataNode descriptor = (IIOMetadataNode) metadata.getElementsByTagName("ImageDescriptor").item(0);
+                IIOMetadataNode control = (IIOMetadataNode) metadata.getElementsByTagName("GraphicControlExtension").item(0);
+                int left = Integer.parseInt(descriptor.getAttribute("imageLeftPosition"));
+                int top = Integer.parseInt(descriptor.getAttribute("imageTopPosition"));
+                String disposal = control == null ? "none" : control.getAttribute("disposalMethod");
+                long delay = control == null ? 0 : Integer.parseInt(control.getAttribute("delayTime")) * 10_000_000L;
+
+                // Draw the frame over the previous ones
+                int[] previous = disposal.equals("restoreToPrevious") ? canvas.clone() : null;
+                BufferedImage frame = reader.read(i);
+                int frameWidth = Math.min(frame.getWidth(), width - left);
+                int frameHeight = Math.min(frame.getHeight(), height - top);
+                for (int y = 0; y < frameHeight; y++) {
+                    for (int x = 0; x < frameWidth; x++) {
+                        int argb = frame.getRGB(x, y);
+                        if ((argb >>> 24) != 0) {
+                            canvas[(top + y) * width + left + x] = argb;
+                        }
+                    }
+                }
+                WritableImage image = new WritableImage(width, height);
+                image.getPixelWriter().setPixels(0, 0, width, height,
+                        PixelFormat.getIntArgbInstance(), canvas, 0, width);
+                frames[i] = image;
+                end += delay > 0 ? delay : DEFAULT_DELAY;
+                frameEnds[i] = end;
+
+                // Prepare the canvas for the next frame
+                if (disposal.equals("restoreToBackgroundColor")) {
+                    for (int y = 0; y < frameHeight; y++) {
+                        int start = (top + y) * width + left;
+                        Arrays.fill(canvas, start, start + frameWidth, 0);
+                    }
+                } else if (previous != null) {
+                    canvas = previous;
+                }
+            }
+            reader.dispose();
+            return new AnimationFrames(frames, frameEnds, width, height);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param elapsed the time since the animation started in nanoseconds
+     * @return the index of the frame shown at this time, -1 once the
+     * animation is over
+     */
+    public int getFrameIndex(long elapsed) {
+        for (int i = 0; i < frameEnds.length; i++) {
+            if (elapsed < frameEnds[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param index the index of a frame
+     * @return the composed frame
+     */
+    public Image getFrame(int index) {
+        return frames[index];
+    }
+
+    /**
+     * @return the number of frames
+     */
+    public int getFrameCount() {
+        return frames.length;
+    }
+
+    /**
+     * @return how long the animation plays in nanoseconds
+     */
+    public long getDuration() {
+        return frameEnds[frameEnds.length - 1];
+    }
+
+    /**
+     * @return the width of the frames
+     */
+    public double getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the height of the frames
+     */
+    public double getHeight() {
+        return height;
+    }
+}
@@ -57,8 +57,7 @@ public class HomePageController {
 
         String path = ResourcesManager.LEVELS_LIST[currentChosenLevel.get() - 1];
         System.out.println("Current path: " + path);
-        Image image = new Image(getClass().getResource(path).toExternalForm());
-        imageview.setImage(image);
+        imageview.setImage(ResourcesManager.getImage(path));
 
     }
 
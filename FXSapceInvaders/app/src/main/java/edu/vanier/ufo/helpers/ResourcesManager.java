@@ -1,9 +1,23 @@
 package edu.vanier.ufo.helpers;
 
+import edu.vanier.ufo.game.SpriteImage;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
 
 /**
  * A resource manager providing useful resource definitions used in this game.
+ * It also owns the decoded images: each image is decoded once and shared by
+ * every node showing it.
  *
  * @author Sleiman
  */
@@ -13,6 +27,37 @@ public class ResourcesManager {
      * Used to control the speed of the game.
      */
     public static final int FRAMES_PER_SECOND = 65;
+
+    /**
+     * Run the simulation on its own thread instead of the JavaFX application
+     * thread. Enabled with -Dufo.threadedSimulation=true.
+     */
+    public static final boolean THREADED_SIMULATION = Boolean.getBoolean("ufo.threadedSimulation");
+
+    /**
+     * Show the sprites from a single texture atlas instead of one image each.
+     * Enabled with -Dufo.textureAtlas=true.
+     */
+    public static final boolean TEXTURE_ATLAS = Boolean.getBoolean("ufo.textureAtlas");
+
+    /**
+     * The number of star layers scrolling slower than the map behind its
+     * stars, for a parallax effect. Set with -Dufo.parallaxLayers=2.
+     */
+    public static final int PARALLAX_LAYERS = Integer.getInteger("ufo.parallaxLayers", 0);
+
+    /**
+     * Draw the sprites on a single canvas instead of a node each. Enabled
+     * with -Dufo.canvasRenderer=true.
+     */
+    public static final boolean CANVAS_RENDERER = Boolean.getBoolean("ufo.canvasRenderer");
+
+    /**
+     * The number of angles the sprite images are turned to beforehand, see
+     * RotationSheet, 0 to rotate the sprites while rendering them. Set with
+     * -Dufo.rotationSteps=64.
+     */
+    public static final int ROTATION_STEPS = Integer.getInteger("ufo.rotationSteps", 0);
     private static final String RESOURCES_FOLDER = "";
     private static final String IMAGES_FOLDER = RESOURCES_FOLDER + "/images/";
     private static final String SOUNDS_FOLDER = RESOURCES_FOLDER + "/sounds/";
@@ -22,9 +67,6 @@ public class ResourcesManager {
     private static final String ENDSCREEN_IMAGES = IMAGES_FOLDER + "endscreen/";
 
     private static final String ALLY_IMAGES = IMAGES_FOLDER + "ally/";
-    private static final String ALLY_SHIP_IMAGES = ALLY_IMAGES + "ship/";
-    private static final String ALLY_MISSILE_IMAGES = ALLY_IMAGES + "missile/";
-    private static final String ENEMY_IMAGES = IMAGES_FOLDER + "enemy/";
 
     // Title image.
     public static final String TITLE = IMAGES_FOLDER + "title.jpg";
@@ -35,23 +77,24 @@ public class ResourcesManager {
     public static final String INTERMEDIATE_LEVEL = LEVEL_IMAGES + "intermediate.png";
     public static final String ADVANCED_LEVEL = LEVEL_IMAGES + "advanced.png";
 
-    // Ally images.
-    public static final String SPACE_SHIP1 = ALLY_SHIP_IMAGES + "level1.png";
-    public static final String SPACE_SHIP2 = ALLY_SHIP_IMAGES + "level2.png";
-    public static final String SPACE_SHIP3 = ALLY_SHIP_IMAGES + "level3.png";
+    // Ally images. The sprite images are defined with their size in
+    // SpriteImage.
+    public static final String SPACE_SHIP1 = SpriteImage.SPACE_SHIP1.getPath();
+    public static final String SPACE_SHIP2 = SpriteImage.SPACE_SHIP2.getPath();
+    public static final String SPACE_SHIP3 = SpriteImage.SPACE_SHIP3.getPath();
     public static final String HEART = ALLY_IMAGES + "heart.png";
 
     // Enemy Images.
-    public static final String BOSS = ENEMY_IMAGES + "boss.png";
-    public static final String ENEMY1 = ENEMY_IMAGES + "enemy1.png";
-    public static final String ENEMY2 = ENEMY_IMAGES + "enemy2.png";
-    public static final String ENEMY3 = ENEMY_IMAGES + "enemy3.png";
+    public static final String BOSS = SpriteImage.BOSS.getPath();
+    public static final String ENEMY1 = SpriteImage.ENEMY1.getPath();
+    public static final String ENEMY2 = SpriteImage.ENEMY2.getPath();
+    public static final String ENEMY3 = SpriteImage.ENEMY3.getPath();
 
     // Rocket images
-    public static final String ROCKET_HUGE = ALLY_MISSILE_IMAGES + "huge.png";
-    public static final String ROCKET_MEDIUM = ALLY_MISSILE_IMAGES + "medium.png";
-    public static final String ROCKET_NORMAL = ALLY_MISSILE_IMAGES + "normal.png";
-    public static final String ROCKET_ULTIMATE = ALLY_MISSILE_IMAGES + "ultimate.png";
+    public static final String ROCKET_HUGE = SpriteImage.ROCKET_HUGE.getPath();
+    public static final String ROCKET_MEDIUM = SpriteImage.ROCKET_MEDIUM.getPath();
+    public static final String ROCKET_NORMAL = SpriteImage.ROCKET_NORMAL.getPath();
+    public static final String ROCKET_ULTIMATE = SpriteImage.ROCKET_ULTIMATE.getPath();
 
     // End screen images
     public static final String VICTORY = ENDSCREEN_IMAGES + "victory.png";
@@ -81,4 +124,234 @@ public class ResourcesManager {
     public static final String[] LEVELS_LIST = {ENTRY_LEVEL, BASIC_LEVEL, INTERMEDIATE_LEVEL, ADVANCED_LEVEL};
     public static final String[] SOUND_LEVELS_LIST = {LEVEL1, LEVEL2, LEVEL3, LEVEL4};
 
+    /**
+     * The width of the texture atlas, wide enough for a row of enemies.
+     */
+    private static final int ATLAS_WIDTH = 512;
+
+    /**
+     * The decoded images by their resource path.
+     */
+    private static final ConcurrentHashMap<String, Image> images = new ConcurrentHashMap<>();
+
+    /**
+     * The decoded frames of the animated images by their resource path.
+     */
+    private static final ConcurrentHashMap<String, AnimationFrames> animations = new ConcurrentHashMap<>();
+
+    /**
+     * The part of its image showing each sprite, by resource path.
+     */
+    private static final ConcurrentHashMap<String, Rectangle2D> spriteBounds = new ConcurrentHashMap<>();
+
+    /**
+     * The recoloured copies of the invader images, by resource path.
+     */
+    private static final ConcurrentHashMap<String, TintVariants> tintVariants = new ConcurrentHashMap<>();
+
+    /**
+     * The sprite images turned to ROTATION_STEPS angles, by resource path
+     * and tint variant, made in the background on first use.
+     */
+    private static final ConcurrentHashMap<String, CompletableFuture<RotationSheet>> rotationSheets = new ConcurrentHashMap<>();
+
+    /**
+     * The texture atlas of the sprites, packed on first use.
+     */
+    private static volatile TextureAtlas atlas;
+
+    /**
+     * The threads decoding the images in the background.
+     */
+    private static final ExecutorService loader = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)), (task) -> {
+                Thread thread = new Thread(task, "image-loader");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * @return the threads decoding and rendering images in the background
+     */
+    public static Executor getBackgroundExecutor() {
+        return loader;
+    }
+
+    /**
+     * Returns the decoded image of a resource, decoding it on the first call
+     * only.
+     *
+     * @param path the resource path of the image
+     * @return the shared decoded image
+     */
+    public static Image getImage(String path) {
+        return images.computeIfAbsent(path,
+                (key) -> new Image(ResourcesManager.class.getResource(key).toExternalForm()));
+    }
+
+    /**
+     * Returns the frames of an animated GIF, decoding them on the first call
+     * only. Every node playing the animation shares them.
+     *
+     * @param path the resource path of the animated GIF
+     * @return the shared decoded frames
+     */
+    public static AnimationFrames getAnimation(String path) {
+        return animations.computeIfAbsent(path, AnimationFrames::load);
+    }
+
+    /**
+     * Decode the images of the game on background threads, so that nothing
+     * is decoded when a level starts or a level preview is shown. The sprite
+     * images are packed into the texture atlas if it is enabled, and the
+     * colors of the invaders are made.
+     *
+     * @return completes when every image is decoded
+     */
+    public static CompletableFuture<Void> preloadImages() {
+        LinkedHashSet<String> paths = new LinkedHashSet<>();
+        for (String path : LEVELS_LIST) {
+            paths.add(path);
+        }
+        paths.add(HEART);
+        paths.add(VICTORY);
+        paths.add(GAME_OVER);
+        if (!TEXTURE_ATLAS) {
+            for (SpriteImage sprite : SpriteImage.values()) {
+                paths.add(sprite.getPath());
+            }
+        }
+
+        String[] invaders = {BOSS, ENEMY1, ENEMY2, ENEMY3};
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[paths.size() + 2 + invaders.length];
+        int i = 0;
+        for (String path : paths) {
+            tasks[i++] = CompletableFuture.runAsync(() -> getImage(path), loader);
+        }
+        tasks[i++] = CompletableFuture.runAsync(() -> getAnimation(ROCKET_EXPLOSION), loader);
+        tasks[i++] = CompletableFuture.runAsync(() -> {
+            if (TEXTURE_ATLAS) {
+                getAtlas();
+            }
+        }, loader);
+        for (String path : invaders) {
+            tasks[i++] = CompletableFuture.runAsync(() -> getTintVariants(path), loader);
+        }
+        return CompletableFuture.allOf(tasks);
+    }
+
+    /**
+     * Returns the texture atlas of the sprite images, packing it on the first
+     * call. The images are decoded for the packing only, they are not kept
+     * in the cache.
+     *
+     * @return the texture atlas of the sprites
+     */
+    public static TextureAtlas getAtlas() {
+        TextureAtlas packed = atlas;
+        if (packed == null) {
+            synchronized (ResourcesManager.class) {
+                packed = atlas;
+                if (packed == null) {
+                    LinkedHashMap<String, Image> sources = new LinkedHashMap<>();
+                    for (SpriteImage sprite : SpriteImage.values()) {
+                        sources.put(sprite.getPath(),
+                                new Image(ResourcesManager.class.getResource(sprite.getPath()).toExternalForm()));
+                    }
+                    packed = new TextureAtlas(sources, ATLAS_WIDTH);
+                    atlas = packed;
+                }
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * Returns the image showing a sprite and the part of it to show: the
+     * texture atlas and the viewport of the sprite if the atlas is enabled,
+     * else the image of the sprite and no viewport.
+     *
+     * @param path the resource path of the sprite image
+     * @return the viewport of the sprite in the atlas, or null to show the
+     * whole image
+     */
+    public static Rectangle2D getSpriteViewport(String path) {
+        return TEXTURE_ATLAS ? getAtlas().getViewport(path) : null;
+    }
+
+    /**
+     * @param path the resource path of the sprite image
+     * @return the image showing the sprite, the texture atlas if it is
+     * enabled and the sprite is packed
+     */
+    public static Image getSpriteImage(String path) {
+        if (TEXTURE_ATLAS && getAtlas().getViewport(path) != null) {
+            return getAtlas().getImage();
+        }
+        return getImage(path);
+    }
+
+    /**
+     * @param path the resource path of the sprite image
+     * @return the part of getSpriteImage() showing the sprite: its viewport
+     * in the atlas, or the whole image
+     */
+    public static Rectangle2D getSpriteBounds(String path) {
+        return spriteBounds.computeIfAbsent(path, (key) -> {
+            Rectangle2D viewport = getSpriteViewport(key);
+            if (viewport != null) {
+                return viewport;
+            }
+            Image image = getImage(key);
+            return new Rectangle2D(0, 0, image.getWidth(), image.getHeight());
+        });
+    }
+
+    /**
+     * Returns the recoloured copies of an invader image, making them on the
+     * first call only. The invaders showing the image share them instead of
+     * each applying its own color effect.
+     *
+     * @param path the resource path of the invader image
+     * @return the shared colors of the invader
+     */
+    public static TintVariants getTintVariants(String path) {
+        return tintVariants.computeIfAbsent(path,
+                (key) -> TintVariants.create(getSpriteImage(key), getSpriteViewport(key), new Random()));
+    }
+
+    /**
+     * Returns a sprite image turned to ROTATION_STEPS angles. The first call
+     * starts turning it on the background threads and returns null, like
+     * every call until it is done: the sprite is rotated while rendering it
+     * meanwhile.
+     *
+     * @param path the resource path of the sprite image
+     * @return the shared turned image, or null if it is not made yet
+     */
+    public static RotationSheet getRotationSheet(String path) {
+        return getRotationSheet(path, () -> RotationSheet.create(
+                getSpriteImage(path), getSpriteViewport(path), ROTATION_STEPS));
+    }
+
+    /**
+     * Returns a tint variant of an invader image turned to ROTATION_STEPS
+     * angles, made in the background like getRotationSheet(path).
+     *
+     * @param path the resource path of the invader image
+     * @param variant the index of the tint variant
+     * @return the shared turned image, or null if it is not made yet
+     */
+    public static RotationSheet getRotationSheet(String path, int variant) {
+        return getRotationSheet(path + "#" + variant, () -> {
+            TintVariants variants = getTintVariants(path);
+            return RotationSheet.create(variants.getImage(), variants.getViewport(variant), ROTATION_STEPS);
+        });
+    }
+
+    private static RotationSheet getRotationSheet(String key, Supplier<RotationSheet> maker) {
+        return rotationSheets.computeIfAbsent(key, (k) -> CompletableFuture.supplyAsync(maker, loader))
+                .getNow(null);
+    }
+
 }
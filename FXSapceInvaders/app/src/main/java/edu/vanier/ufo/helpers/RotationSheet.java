@@ -0,0 +1,206 @@
+package edu.vanier.ufo.helpers;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+
+/**
+ * A sprite image turned to a fixed number of angles, in a grid of square
+ * cells in a single sheet. A sprite is shown turned by picking the cell of
+ * the nearest angle instead of rotating its node or its drawing, so the
+ * image is only copied, never transformed, when it is rendered.
+ *
+ * The cells are laid in a grid of squares as wide as the diagonal of the
+ * image, and each one is cropped to the visible pixels of its angle, so that
+ * no more pixels are copied than needed. The sheets are made on any thread,
+ * see ResourcesManager.getRotationSheet().
+ *
+ * @author enyihou
+ */
+public class RotationSheet {
+
+    private final Image sheet;
+    private final Rectangle2D[] cells;
+
+    // Where each cell is from the top left corner of the sprite image
+    private final double[] offsetX;
+    private final double[] offsetY;
+
+    private RotationSheet(Image sheet, Rectangle2D[] cells, double[] offsetX, double[] offsetY) {
+        this.sheet = sheet;
+        this.cells = cells;
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+    }
+
+    /**
+     * Turn a sprite image to evenly spaced angles, the first one being 0.
+     * The pixels are sampled bilinearly.
+     *
+     * @param image the image holding the sprite
+     * @param viewport the part of the image showing the sprite, or null for
+     * the whole image
+     * @param steps the number of angles
+     * @return the turned sprite
+     */
+    public static RotationSheet create(Image image, Rectangle2D viewport, int steps) {
+        int left = viewport == null ? 0 : (int) viewport.getMinX();
+        int top = viewport == null ? 0 : (int) viewport.getMinY();
+        int width = (int) (viewport == null ? image.getWidth() : viewport.getWidth());
+        int height = (int) (viewport == null ? image.getHeight() : viewport.getHeight());
+
+        int[] source = new int[width * height];
+        image.getPixelReader().getPixels(left, top, width, height,
+                PixelFormat.getIntArgbPreInstance(), source, 0, width);
+
+        int side = (int) Math.ceil(Math.hypot(width, height)) + 1;
+        int columns = (int) Math.ceil(Math.sqrt(steps));
+        int rows = (steps + columns - 1) / columns;
+        WritableImage sheet = new WritableImage(columns * side, rows * side);
+        PixelWriter writer = sheet.getPixelWriter();
+        Rectangle2D[] cells = new Rectangle2D[steps];
+        double[] offsetX = new double[steps];
+        double[] offsetY = new double[steps];
+        int[] pixels = new int[side * side];
+        for (int step = 0; step < steps; step++) {
+            double angle = Math.toRadians(step * 360.0 / steps);
+            turn(source, width, height, pixels, side, Math.cos(angle), Math.sin(angle));
+            int cellX = (step % columns) * side;
+            int cellY = (step / columns) * side;
+            writer.setPixels(cellX, cellY, side, side, PixelFormat.getIntArgbPreInstance(), pixels, 0, side);
+
+            // Crop the cell to its visible pixels
+            int minX = side;
+            int minY = side;
+            int maxX = -1;
+            int maxY = -1;
+            for (int y = 0; y < side; y++) {
+                for (int x = 0; x < side; x++) {
+                    if (pixels[y * side + x] != 0) {
+                        minX = Math.min(minX, x);
+                        maxX = Math.max(maxX, x);
+                        minY = Math.min(minY, y);
+                        maxY = Math.max(maxY, y);
+                    }
+                }
+            }
+            if (maxX < 0) {
+                minX = 0;
+                minY = 0;
+                maxX = 0;
+                maxY = 0;
+            }
+            cells[step] = new Rectangle2D(cellX + minX, cellY + minY, maxX - minX + 1, maxY - minY + 1);
+            offsetX[step] = (width - side) / 2.0 + minX;
+            offsetY[step] = (height - side) / 2.0 + minY;
+        }
+        return new RotationSheet(sheet, cells, offsetX, offsetY);
+    }
+
+    /**
+     * Draw an image turned clockwise around its center into the center of a
+     * square cell. Each pixel of the cell is turned back onto the image and
+     * sampled between its four nearest pixels.
+     */
+    private static void turn(int[] source, int width, int height, int[] cell, int side, double cos, double sin) {
+        double center = side / 2.0;
+        for (int y = 0; y < side; y++) {
+            double dy = y + 0.5 - center;
+            for (int x = 0; x < side; x++) {
+                double dx = x + 0.5 - center;
+                double sourceX = cos * dx + sin * dy + width / 2.0 - 0.5;
+                double sourceY = -sin * dx + cos * dy + height / 2.0 - 0.5;
+                cell[y * side + x] = sample(source, width, height, sourceX, sourceY);
+            }
+        }
+    }
+
+    /**
+     * @return the premultiplied pixel at a point of the image, transparent
+     * outside of it
+     */
+    private static int sample(int[] source, int width, int height, double x, double y) {
+        int x0 = (int) Math.floor(x);
+        int y0 = (int) Math.floor(y);
+        if (x0 < -1 || y0 < -1 || x0 >= width || y0 >= height) {
+            return 0;
+        }
+        double fx = x - x0;
+        double fy = y - y0;
+        int topLeft = pixel(source, width, height, x0, y0);
+        int topRight = pixel(source, width, height, x0 + 1, y0);
+        int bottomLeft = pixel(source, width, height, x0, y0 + 1);
+        int bottomRight = pixel(source, width, height, x0 + 1, y0 + 1);
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            double top = ((topLeft >>> shift) & 0xff) * (1 - fx) + ((topRight >>> shift) & 0xff) * fx;
+            double bottom = ((bottomLeft >>> shift) & 0xff) * (1 - fx) + ((bottomRight >>> shift) & 0xff) * fx;
+            result |= (int) Math.round(top * (1 - fy) + bottom * fy) << shift;
+        }
+        return result;
+    }
+
+    private static int pixel(int[] source, int width, int height, int x, int y) {
+        return x < 0 || y < 0 || x >= width || y >= height ? 0 : source[y * width + x];
+    }
+
+    /**
+     * The index of the angle nearest to a rotation.
+     *
+     * @param rotation the rotation in degrees, clockwise
+     * @param steps the number of angles
+     * @return the index of the angle, from 0 to steps - 1
+     */
+    public static int stepOf(double rotation, int steps) {
+        return Math.floorMod(Math.round(rotation * steps / 360), steps);
+    }
+
+    /**
+     * @return the sheet holding every angle
+     */
+    public Image getImage() {
+        return sheet;
+    }
+
+    /**
+     * @param rotation the rotation of the sprite in degrees, clockwise
+     * @return the index of the angle nearest to the rotation
+     */
+    public int getStep(double rotation) {
+        return stepOf(rotation, cells.length);
+    }
+
+    /**
+     * @param step the index of an angle
+     * @return the cell of the sheet showing the sprite at the angle
+     */
+    public Rectangle2D getViewport(int step) {
+        return cells[step];
+    }
+
+    /**
+     * @param step the index of an angle
+     * @return the X coordinate of the cell from the left of the sprite
+     * image, negative when the turned sprite is wider than the image
+     */
+    public double getOffsetX(int step) {
+        return offsetX[step];
+    }
+
+    /**
+     * @param step the index of an angle
+     * @return the Y coordinate of the cell from the top of the sprite image
+     */
+    public double getOffsetY(int step) {
+        return offsetY[step];
+    }
+
+    /**
+     * @return the size of the sheet in bytes, once uploaded as a texture
+     */
+    public long getByteCount() {
+        return 4L * (long) sheet.getWidth() * (long) sheet.getHeight();
+    }
+}
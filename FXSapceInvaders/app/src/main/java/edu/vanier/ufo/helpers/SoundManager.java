@@ -1,4 +1,4 @@
-package edu.vanier.ufo.engine;
+package edu.vanier.ufo.helpers;
 
 import javafx.scene.media.AudioClip;
 
@@ -0,0 +1,90 @@
+package edu.vanier.ufo.helpers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+
+/**
+ * Small images packed into one image. Each packed image is shown by setting
+ * its viewport on an ImageView showing the atlas, so every sprite shares the
+ * same texture.
+ *
+ * The images are packed on shelves: they are sorted from the tallest to the
+ * shortest and placed from left to right, a new shelf starting when a row is
+ * full. A transparent pixel is kept around each image so that filtering never
+ * picks the pixels of a neighbour.
+ *
+ * @author enyihou
+ */
+public class TextureAtlas {
+
+    /**
+     * Transparent pixels kept between two images.
+     */
+    private static final int PADDING = 1;
+
+    private final WritableImage image;
+    private final HashMap<String, Rectangle2D> viewports = new HashMap<>();
+
+    /**
+     * Pack images into an atlas.
+     *
+     * @param images the decoded images by their resource path
+     * @param width the width of the atlas, at least the width of the widest
+     * image
+     */
+    public TextureAtlas(Map<String, Image> images, int width) {
+        List<String> paths = new ArrayList<>(images.keySet());
+        paths.sort((a, b) -> Double.compare(images.get(b).getHeight(), images.get(a).getHeight()));
+
+        // Place each image and find the height of the atlas
+        HashMap<String, int[]> places = new HashMap<>();
+        int x = PADDING;
+        int y = PADDING;
+        int shelfHeight = 0;
+        for (String path : paths) {
+            Image source = images.get(path);
+            int w = (int) source.getWidth();
+            int h = (int) source.getHeight();
+            if (x + w + PADDING > width) {
+                x = PADDING;
+                y += shelfHeight + PADDING;
+                shelfHeight = 0;
+            }
+            places.put(path, new int[]{x, y});
+            viewports.put(path, new Rectangle2D(x, y, w, h));
+            x += w + PADDING;
+            shelfHeight = Math.max(shelfHeight, h);
+        }
+
+        // Copy the pixels of each image to its place
+        image = new WritableImage(width, y + shelfHeight + PADDING);
+        for (String path : paths) {
+            Image source = images.get(path);
+            int[] place = places.get(path);
+            image.getPixelWriter().setPixels(place[0], place[1],
+                    (int) source.getWidth(), (int) source.getHeight(),
+                    source.getPixelReader(), 0, 0);
+        }
+    }
+
+    /**
+     * @return the image holding every packed image
+     */
+    public Image getImage() {
+        return image;
+    }
+
+    /**
+     * @param path the resource path of a packed image
+     * @return the rectangle of the image in the atlas, null if it is not
+     * packed
+     */
+    public Rectangle2D getViewport(String path) {
+        return viewports.get(path);
+    }
+}
@@ -0,0 +1,143 @@
+package edu.vanier.ufo.helpers;
+
+import java.util.Random;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/**
+ * A fixed palette of recoloured copies of a sprite image, side by side in a
+ * single sheet. The colours are adjusted once, pixel by pixel, like a
+ * ColorAdjust effect would do at each frame, so the nodes showing the
+ * variants need no effect. Each sprite always shows the same variant.
+ *
+ * The variants are made on any thread, see
+ * ResourcesManager.getTintVariants().
+ *
+ * @author enyihou
+ */
+public class TintVariants {
+
+    /**
+     * The number of variants of an image.
+     */
+    public static final int VARIANT_COUNT = 16;
+
+    private final Image sheet;
+    private final Rectangle2D[] viewports = new Rectangle2D[VARIANT_COUNT];
+
+    private TintVariants(Image sheet, double width, double height) {
+        this.sheet = sheet;
+        for (int i = 0; i < VARIANT_COUNT; i++) {
+            viewports[i] = new Rectangle2D(i * width, 0, width, height);
+        }
+    }
+
+    /**
+     * Recolour a sprite image with random adjustments, spread like the ones
+     * of ColorAdjust(Math.random(), Math.random(), Math.random() - 0.5, 0.5).
+     *
+     * @param image the image holding the sprite
+     * @param viewport the part of the image showing the sprite, or null for
+     * the whole image
+     * @param random the randomizer
+     * @return the variants of the sprite
+     */
+    public static TintVariants create(Image image, Rectangle2D viewport, Random random) {
+        int left = viewport == null ? 0 : (int) viewport.getMinX();
+        int top = viewport == null ? 0 : (int) viewport.getMinY();
+        int width = (int) (viewport == null ? image.getWidth() : viewport.getWidth());
+        int height = (int) (viewport == null ? image.getHeight() : viewport.getHeight());
+
+        int[] source = new int[width * height];
+        image.getPixelReader().getPixels(left, top, width, height,
+                PixelFormat.getIntArgbInstance(), source, 0, width);
+
+        WritableImage sheet = new WritableImage(width * VARIANT_COUNT, height);
+        PixelWriter writer = sheet.getPixelWriter();
+        int[] pixels = new int[width * height];
+        for (int variant = 0; variant < VARIANT_COUNT; variant++) {
+            double hue = random.nextDouble();
+            double saturation = random.nextDouble();
+            double brightness = random.nextDouble() - 0.5;
+            for (int i = 0; i < source.length; i++) {
+                pixels[i] = adjust(source[i], hue, saturation, brightness, 0.5);
+            }
+            writer.setPixels(variant * width, 0, width, height,
+                    PixelFormat.getIntArgbInstance(), pixels, 0, width);
+        }
+        return new TintVariants(sheet, width, height);
+    }
+
+    /**
+     * Adjust the colour of a pixel the way the ColorAdjust effect does: the
+     * contrast first, then the hue, the saturation and the brightness.
+     *
+     * @param argb the non premultiplied ARGB pixel
+     * @param hue the hue adjustment, from -1 to 1
+     * @param saturation the saturation adjustment, from -1 to 1
+     * @param brightness the brightness adjustment, from -1 to 1
+     * @param contrast the contrast adjustment, from -1 to 1
+     * @return the adjusted pixel
+     */
+    static int adjust(int argb, double hue, double saturation, double brightness, double contrast) {
+        int alpha = argb >>> 24;
+        if (alpha == 0) {
+            return argb;
+        }
+        double factor = contrast > 0 ? 1 + contrast * 3 : 1 + contrast;
+        Color color = Color.color(
+                clamp((((argb >> 16) & 0xff) / 255.0 - 0.5) * factor + 0.5),
+                clamp((((argb >> 8) & 0xff) / 255.0 - 0.5) * factor + 0.5),
+                clamp(((argb & 0xff) / 255.0 - 0.5) * factor + 0.5));
+        Color adjusted = Color.hsb(
+                color.getHue() + hue * 180,
+                scale(color.getSaturation(), saturation),
+                scale(color.getBrightness(), brightness));
+        return alpha << 24
+                | (int) Math.round(adjusted.getRed() * 255) << 16
+                | (int) Math.round(adjusted.getGreen() * 255) << 8
+                | (int) Math.round(adjusted.getBlue() * 255);
+    }
+
+    /**
+     * Move a component toward 1 for a positive adjustment, toward 0 for a
+     * negative one.
+     */
+    private static double scale(double value, double adjustment) {
+        return adjustment > 0 ? value + (1 - value) * adjustment : value * (1 + adjustment);
+    }
+
+    private static double clamp(double value) {
+        return Math.max(0, Math.min(1, value));
+    }
+
+    /**
+     * @return the sheet holding every variant
+     */
+    public Image getImage() {
+        return sheet;
+    }
+
+    /**
+     * @param variant the index of a variant
+     * @return the part of the sheet showing the variant
+     */
+    public Rectangle2D getViewport(int variant) {
+        return viewports[variant];
+    }
+
+    /**
+     * The variant shown by a sprite, the same for the whole life of the
+     * sprite object, pooled or not.
+     *
+     * @param sprite the sprite
+     * @return the index of its variant
+     */
+    public static int variantOf(Object sprite) {
+        return Math.floorMod(System.identityHashCode(sprite), VARIANT_COUNT);
+    }
+}
@@ -0,0 +1,186 @@
+package edu.vanier.ufo.ui;
+
+import edu.vanier.ufo.engine.RenderSnapshot;
+import edu.vanier.ufo.engine.Sprite;
+import edu.vanier.ufo.game.Invader;
+import edu.vanier.ufo.helpers.ResourcesManager;
+import edu.vanier.ufo.helpers.RotationSheet;
+import edu.vanier.ufo.helpers.TintVariants;
+import java.util.HashMap;
+import java.util.Map;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Group;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+
+/**
+ * Draws every sprite on a single canvas covering the view, so that the scene
+ * holds one node whatever the number of sprites. The canvas is cleared and
+ * drawn again at each pulse, each sprite in the view being a rotated
+ * drawImage() of the shared sprite images.
+ *
+ * The invaders are drawn from the recoloured copies of their image, see
+ * TintVariants, so no color is applied while drawing. When the sprite images
+ * are turned beforehand, see RotationSheet, the sprites are copied from their
+ * sheet without rotating the drawing.
+ *
+ * @author enyihou
+ */
+public class CanvasSpriteRenderer implements SpriteRenderer {
+
+    private final Canvas canvas = new Canvas();
+    private final Group layer = new Group(canvas);
+
+    private final Sprite front;
+
+    /**
+     * The rotation sheets already made, by image path and tint variant. The
+     * sprites that are not tinted use the first one. A sheet is asked to the
+     * ResourcesManager until it is made, then read from here.
+     */
+    private final Map<String, RotationSheet[]> rotationSheets = new HashMap<>();
+
+    private int spriteCount;
+    private int culledCount;
+
+    /**
+     * @param front the sprite drawn over the others, like the spaceship. Its
+     * colliding circle is drawn as its shield.
+     */
+    public CanvasSpriteRenderer(Sprite front) {
+        this.front = front;
+        canvas.setManaged(false);
+        layer.setManaged(false);
+    }
+
+    @Override
+    public Group getLayer() {
+        return layer;
+    }
+
+    @Override
+    public void render(RenderSnapshot snapshot, double alpha, double viewX, double viewY, double width, double height) {
+        if (width > 0 && height > 0 && (canvas.getWidth() != width || canvas.getHeight() != height)) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+        }
+        canvas.setTranslateX(viewX);
+        canvas.setTranslateY(viewY);
+        GraphicsContext graphics = canvas.getGraphicsContext2D();
+        graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+
+        int frontIndex = -1;
+        spriteCount = snapshot.getCount();
+        culledCount = 0;
+        for (int i = 0; i < snapshot.getCount(); i++) {
+            if (!SpriteRenderer.isInView(snapshot, i, alpha, viewX, viewY, width, height)) {
+                culledCount++;
+            } else if (snapshot.getSprite(i) == front) {
+                frontIndex = i;
+            } else {
+                draw(graphics, snapshot, i, alpha, viewX, viewY);
+            }
+        }
+        if (frontIndex >= 0) {
+            draw(graphics, snapshot, frontIndex, alpha, viewX, viewY);
+        }
+        graphics.setTransform(1, 0, 0, 1, 0, 0);
+    }
+
+    /**
+     * Draw a sprite rotated around the center of its image, or its cell of
+     * the nearest angle in its rotation sheet.
+     */
+    private void draw(GraphicsContext graphics, RenderSnapshot snapshot, int i, double alpha,
+            double viewX, double viewY) {
+        String path = snapshot.getImagePath(i);
+        if (path == null) {
+            return;
+        }
+        Sprite sprite = snapshot.getSprite(i);
+        Rectangle2D bounds = ResourcesManager.getSpriteBounds(path);
+        double width = bounds.getWidth();
+        double height = bounds.getHeight();
+        double rotation = snapshot.getRenderRotation(i, alpha);
+        double angle = Math.toRadians(rotation);
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        double centerX = snapshot.getRenderX(i, alpha) - viewX + width / 2;
+        double centerY = snapshot.getRenderY(i, alpha) - viewY + height / 2;
+        RotationSheet rotations = rotationSheet(sprite, path);
+        if (rotations != null) {
+            graphics.setTransform(1, 0, 0, 1, centerX, centerY);
+            int step = rotations.getStep(rotation);
+            Rectangle2D cell = rotations.getViewport(step);
+            graphics.drawImage(rotations.getImage(),
+                    cell.getMinX(), cell.getMinY(), cell.getWidth(), cell.getHeight(),
+                    rotations.getOffsetX(step) - width / 2, rotations.getOffsetY(step) - height / 2,
+                    cell.getWidth(), cell.getHeight());
+        } else if (sprite instanceof Invader) {
+            graphics.setTransform(cos, sin, -sin, cos, centerX, centerY);
+            TintVariants variants = ResourcesManager.getTintVariants(path);
+            Rectangle2D viewport = variants.getViewport(TintVariants.variantOf(sprite));
+            graphics.drawImage(variants.getImage(),
+                    viewport.getMinX(), viewport.getMinY(), width, height,
+                    -width / 2, -height / 2, width, height);
+        } else {
+            graphics.setTransform(cos, sin, -sin, cos, centerX, centerY);
+            graphics.drawImage(ResourcesManager.getSpriteImage(path),
+                    bounds.getMinX(), bounds.getMinY(), width, height,
+                    -width / 2, -height / 2, width, height);
+        }
+
+        double shieldOpacity = sprite == front ? SpriteView.shieldOpacity(snapshot.getEffectLevel(i)) : 0;
+        if (shieldOpacity > 0) {
+            double radius = snapshot.getCollisionRadius(i);
+            double x = snapshot.getCollisionOffsetX(i) - width / 2;
+            double y = snapshot.getCollisionOffsetY(i) - height / 2;
+            if (rotations != null) {
+                // The drawing is not rotated, turn the center of the shield
+                double turnedX = cos * x - sin * y;
+                y = sin * x + cos * y;
+                x = turnedX;
+            }
+            double left = x - radius;
+            double top = y - radius;
+            graphics.setGlobalAlpha(shieldOpacity);
+            graphics.setFill(SpriteView.SHIELD_FILL);
+            graphics.fillOval(left, top, 2 * radius, 2 * radius);
+            graphics.setStroke(SpriteView.SHIELD_STROKE);
+            graphics.strokeOval(left, top, 2 * radius, 2 * radius);
+            graphics.setGlobalAlpha(1);
+        }
+    }
+
+    /**
+     * @return the rotation sheet of a sprite, or null to rotate the drawing
+     */
+    private RotationSheet rotationSheet(Sprite sprite, String path) {
+        if (ResourcesManager.ROTATION_STEPS == 0) {
+            return null;
+        }
+        RotationSheet[] sheets = rotationSheets.get(path);
+        if (sheets == null) {
+            sheets = new RotationSheet[TintVariants.VARIANT_COUNT];
+            rotationSheets.put(path, sheets);
+        }
+        boolean tinted = sprite instanceof Invader;
+        int variant = tinted ? TintVariants.variantOf(sprite) : 0;
+        if (sheets[variant] == null) {
+            sheets[variant] = tinted
+                    ? ResourcesManager.getRotationSheet(path, variant)
+                    : ResourcesManager.getRotationSheet(path);
+        }
+        return sheets[variant];
+    }
+
+    @Override
+    public int getSpriteCount() {
+        return spriteCount;
+    }
+
+    @Override
+    public int getCulledCount() {
+        return culledCount;
+    }
+}
@@ -0,0 +1,122 @@
+package edu.vanier.ufo.ui;
+
+import edu.vanier.ufo.engine.ObjectPool;
+import edu.vanier.ufo.helpers.AnimationFrames;
+import edu.vanier.ufo.helpers.ResourcesManager;
+import java.util.ArrayDeque;
+
+/**
+ * Plays the visual effects of the game in their own layer. An effect is
+ * shown for the length of its animation, then its nodes go back to a pool
+ * and leave the scene. At most MAX_EFFECTS are played at once: a new effect
+ * beyond the cap replaces the oldest one, so the number of nodes in the
+ * layer stays bounded however long the game is played.
+ *
+ * All the methods are called from the JavaFX application thread.
+ *
+ * @author enyihou
+ */
+public class EffectManager {
+
+    /**
+     * Maximum number of effects played at once.
+     */
+    public static final int MAX_EFFECTS = 24;
+
+    /**
+     * The size in which explosions are shown.
+     */
+    static final double EXPLOSION_SIZE = 150;
+
+    /**
+     * The node holding the played effects.
+     */
+    private final NodeLayer layer = new NodeLayer();
+
+    /**
+     * The nodes of the explosions, and the played ones from the oldest to the
+     * newest.
+     */
+    private final ObjectPool<ExplosionView> explosionPool = new ObjectPool<>(ExplosionView::new, ExplosionView::reset);
+    private final ArrayDeque<ExplosionView> explosions = new ArrayDeque<>();
+
+    // The effects cut short because of the cap
+    private long replacedCount;
+
+    public EffectManager() {
+        layer.setMouseTransparent(true);
+    }
+
+    /**
+     * Play an explosion centered on a point.
+     *
+     * @param x the X coordinate of the center
+     * @param y the Y coordinate of the center
+     * @param now the current time, from System.nanoTime()
+     */
+    public void explode(double x, double y, long now) {
+        if (explosions.size() >= MAX_EFFECTS) {
+            recycle(explosions.poll());
+            replacedCount++;
+        }
+        AnimationFrames frames = ResourcesManager.getAnimation(ResourcesManager.ROCKET_EXPLOSION);
+        // Centered as if it fitted in a square of EXPLOSION_SIZE
+        double scale = Math.min(EXPLOSION_SIZE / frames.getWidth(), EXPLOSION_SIZE / frames.getHeight());
+        ExplosionView explosion = explosionPool.obtain();
+        explosion.show(frames, x - frames.getWidth() * scale / 2, y - frames.getHeight() * scale / 2, now);
+        explosions.add(explosion);
+        layer.add(explosion.getNode());
+    }
+
+    /**
+     * Show the current frame of each effect and recycle the effects whose
+     * animation is over.
+     *
+     * @param now the current time, from System.nanoTime()
+     */
+    public void update(long now) {
+        // The effects end in the order they started
+        while (!explosions.isEmpty() && !explosions.peek().update(now)) {
+            recycle(explosions.poll());
+        }
+        for (ExplosionView explosion : explosions) {
+            explosion.update(now);
+        }
+    }
+
+    private void recycle(ExplosionView explosion) {
+        layer.remove(explosion.getNode());
+        explosionPool.free(explosion);
+    }
+
+    /**
+     * Stop every effect.
+     */
+    public void clear() {
+        while (!explosions.isEmpty()) {
+            recycle(explosions.poll());
+        }
+    }
+
+    /**
+     * @return the node holding the played effects, whose changes are applied
+     * with the other layers of the scene
+     */
+    public NodeLayer getLayer() {
+        return layer;
+    }
+
+    /**
+     * @return the number of effects played
+     */
+    public int getActiveCount() {
+        return explosions.size();
+    }
+
+    /**
+     * @return the number of effects cut short because of the cap
+     */
+    public long getReplacedCount() {
+        return replacedCount;
+    }
+}
@@ -0,0 +1,77 @@
+package edu.vanier.ufo.ui;
+
+import edu.vanier.ufo.helpers.AnimationFrames;
+import javafx.scene.Group;
+import javafx.scene.image.ImageView;
+
+/**
+ * The nodes playing an explosion. They are kept in a pool by the
+ * EffectManager and play the next explosions once the animation is over.
+ *
+ * @author enyihou
+ */
+public class ExplosionView {
+
+    private final ImageView animation = new ImageView();
+    private final Group node = new Group(animation);
+
+    private AnimationFrames frames;
+
+    // When the animation started, from System.nanoTime(), and its shown frame
+    private long start;
+    private int frame = -1;
+
+    /**
+     * Start playing an explosion.
+     *
+     * @param frames the frames of the animation
+     * @param x the X coordinate of the node
+     * @param y the Y coordinate of the node
+     * @param start when the animation starts, from System.nanoTime()
+     */
+    public void show(AnimationFrames frames, double x, double y, long start) {
+        this.frames = frames;
+        this.start = start;
+        node.setTranslateX(x);
+        node.setTranslateY(y);
+        showFrame(0);
+    }
+
+    /**
+     * Show the frame of the current time.
+     *
+     * @param now the current time, from System.nanoTime()
+     * @return false once the animation is over
+     */
+    public boolean update(long now) {
+        int index = frames.getFrameIndex(now - start);
+        if (index < 0) {
+            return false;
+        }
+        showFrame(index);
+        return true;
+    }
+
+    private void showFrame(int index) {
+        if (index != frame) {
+            frame = index;
+            animation.setImage(frames.getFrame(index));
+        }
+    }
+
+    /**
+     * Forget the animation, called when the view goes back to its pool.
+     */
+    public void reset() {
+        animation.setImage(null);
+        frames = null;
+        frame = -1;
+    }
+
+    /**
+     * @return the node playing the explosion
+     */
+    public Group getNode() {
+        return node;
+    }
+}
@@ -1,80 +1,200 @@
 package edu.vanier.ufo.ui;
 
+import edu.vanier.ufo.engine.FixedTimestep;
+import edu.vanier.ufo.engine.FrameProfiler;
+import edu.vanier.ufo.engine.GameListener;
+import edu.vanier.ufo.engine.InputState;
+import edu.vanier.ufo.engine.RenderSnapshot;
+import edu.vanier.ufo.engine.SimulationThread;
+import edu.vanier.ufo.engine.SnapshotBuffer;
+import edu.vanier.ufo.engine.Sprite;
+import edu.vanier.ufo.game.Control;
+import edu.vanier.ufo.game.GameSimulation;
+import edu.vanier.ufo.game.Ship;
+import edu.vanier.ufo.helpers.HomePageController;
 import edu.vanier.ufo.helpers.ResourcesManager;
-import edu.vanier.ufo.engine.*;
-import edu.vanier.ufo.game.*;
+import edu.vanier.ufo.helpers.SoundManager;
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
-import javafx.beans.binding.Bindings;
-import javafx.beans.property.SimpleDoubleProperty;
-import javafx.beans.property.DoubleProperty;
-import javafx.scene.input.KeyCode;
 import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 
-import java.net.MalformedURLException;
-import java.net.URISyntaxException;
-import java.util.Random;
-import java.util.Timer;
-import java.util.TimerTask;
-import javafx.geometry.Bounds;
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import javafx.geometry.Pos;
+import javafx.scene.CacheHint;
 import javafx.scene.Camera;
+import javafx.scene.Group;
 import javafx.scene.PerspectiveCamera;
+import javafx.scene.control.Alert;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseButton;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
-import javafx.scene.shape.Circle;
-import javafx.scene.shape.Shape;
+import javafx.scene.media.MediaPlayer;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 
 /**
- * This is a simple game world simulating a bunch of spheres looking like atomic
- * particles colliding with each other. The user will navigate his/her ship with
- * WASD keys to thrust and use the primary mouse click to fire. The user
+ * The JavaFX presentation of the game. The rules are simulated by a
+ * GameSimulation, this class drives it from a JavaFX Game Loop and shows its
+ * sprites with a SpriteRenderer, a node per sprite or a single canvas:
+ * <pre>
+ *  <b>initialize()</b> - Initialize the game world.
+ *  <b>beginGameLoop()</b> - Creates a JavaFX AnimationTimer object.
+ *  <b>renderSprites()</b> - Shows the sprite objects.
+ * </pre>
+ * Each pulse runs as many simulation steps as needed to catch up with the
+ * real time, then renders the sprites between the two last steps. In the
+ * threaded mode, the simulation runs on a SimulationThread instead and each
+ * pulse only shows the last render snapshot it published. The user
+ * will navigate his/her ship with WASD keys to thrust and use the primary
+ * mouse click to fire.
  *
  * @author cdea
  */
-public class GameWorld extends GameEngine {
+public class GameWorld implements GameListener {
 
-    // Randomizer for later use
-    private static final Random randomizer = new Random();
+    /**
+     * Maximum number of simulation steps run in a single pulse.
+     */
+    private static final int MAX_STEPS_PER_PULSE = 5;
+
+    /**
+     * The simulated game.
+     */
+    private final GameSimulation simulation;
 
-    private static final Timer timer = new Timer();
+    /**
+     * Turns the time between pulses into simulation steps.
+     */
+    private final FixedTimestep timestep;
 
-    /*
-     * Number of generated Invaders
-     * Minimum spawn distance from the spaceShip
+    /**
+     * If the simulation runs on its own thread.
+     */
+    private final boolean threaded;
+
+    /**
+     * The thread running the simulation and the snapshots it publishes, in
+     * the threaded mode.
+     */
+    private SimulationThread simulationThread;
+    private final SnapshotBuffer snapshots = new SnapshotBuffer();
+
+    /**
+     * The snapshot filled after the steps of each pulse, when the simulation
+     * runs on the JavaFX application thread.
+     */
+    private final RenderSnapshot snapshot = new RenderSnapshot();
+
+    /**
+     * Events of the simulation thread waiting to be handled on the JavaFX
+     * application thread.
+     */
+    private final Queue<Runnable> pendingEvents = new ConcurrentLinkedQueue<>();
+
+    /**
+     * How often the profiler overlay is refreshed in nanoseconds.
+     */
+    private static final long OVERLAY_REFRESH = 500_000_000L;
+
+    /**
+     * The overlay showing the figures of the profiler, toggled with F3.
+     */
+    private final ProfilerOverlay profilerOverlay = new ProfilerOverlay();
+
+    // When the last pulse started and the overlay was refreshed
+    private long lastPulse = -1;
+    private long lastOverlayRefresh;
+
+    // The dropped steps counted one second ago, and when
+    private long droppedStepsMark;
+    private long droppedStepsMarkTime;
+    private long droppedPerSecond;
+
+    // The pulses and the input events counted one second ago, and the input
+    // events per pulse over the last second
+    private long pulseCount;
+    private long pulseMark;
+    private long recordedInputMark;
+    private long coalescedInputMark;
+    private double inputPerPulse;
+    private double coalescedInputPerPulse;
+
+    // The number of nodes in the scene, counted every second, and its peak
+    private int nodeCount;
+    private int peakNodeCount;
+
+    /**
+     * The AnimationTimer used to create the gameLoop.
+     */
+    private AnimationTimer gameLoop;
+
+    /**
+     * Title in the application window.
      */
-    private static final int SAFETY_REGION_RADIUS = 2000;
+    private final String windowTitle;
+
+    /**
+     * The JavaFX Scene as the game surface
+     */
+    private Scene gameSurface;
+
+    /**
+     * Root node of the gameSurface.
+     */
+    private Pane sceneNode;
+
+    /**
+     * Plays the explosions.
+     */
+    private final EffectManager effects = new EffectManager();
+
+    /**
+     * Applies the changes of the node layers, the ones of the sprites and
+     * of the effects, once per pulse.
+     */
+    private final SceneMutationQueue sceneMutations = new SceneMutationQueue();
+
+    /**
+     * Shows the sprites, the spaceship over the other sprites.
+     */
+    private final SpriteRenderer sprites;
+
+    /**
+     * The layers of the scene from the back to the front, with the sprites
+     * and the effects layer between them and the HUD. See setupLayers().
+     */
+    private final Group background = new Group();
+    private final Group hudLayer = new Group();
+
     private final int level;
 
     private Stage primaryStage;
 
-    /*
-     * Returns the boolean of approximative equal.
-     * The interval of accepted error is TOLERANCE.
-     */
-    private static final double TOLERANCE = 0.1;
+    private MapView map;
 
-    public static boolean approxEqual(final double d1, final double d2) {
-        return Math.abs(d1 - d2) < TOLERANCE;
-    }
+    private Camera camera;
+
+    protected MediaPlayer gameMusic;
 
     /*
-     * Stores the relative value of mouseX and mouseY to the current Screen.
-     * It is updated at each SpaceShip Movement and Mouse Movement.
+     * The game statistics shown in the HUD, copied from the simulation at
+     * each pulse.
      */
-    private final DoubleProperty mouseX = new SimpleDoubleProperty();
-    private final DoubleProperty mouseY = new SimpleDoubleProperty();
-
-    private final Ship spaceShip = new Ship();
-    private Map map;
+    private final IntegerProperty gameScore = new SimpleIntegerProperty(0);
+    private final IntegerProperty gameProgress = new SimpleIntegerProperty(0);
+    private final IntegerProperty shipHealth = new SimpleIntegerProperty(0);
 
     /**
      * The HUD Hbox that displays the game statistic at the top of the screen.
@@ -88,12 +208,198 @@ public class GameWorld extends GameEngine {
      * @param level
      */
     public GameWorld(int fps, String title, int level) {
-        super(fps, title);
+        this(fps, title, level, ResourcesManager.THREADED_SIMULATION, ResourcesManager.CANVAS_RENDERER);
+    }
+
+    /**
+     *
+     * @param fps   the fps at which the game refreshes
+     * @param title
+     * @param level
+     * @param threaded if the simulation runs on its own thread
+     * @param canvas if the sprites are drawn on a single canvas instead of
+     * a node each
+     */
+    public GameWorld(int fps, String title, int level, boolean threaded, boolean canvas) {
         this.level = level;
-        this.numberOfInvaders = 12 + 3 * this.level;
+        this.threaded = threaded;
+        this.windowTitle = title;
+        this.simulation = new GameSimulation(fps, level);
+        simulation.setListener(this);
+        sprites = canvas
+                ? new CanvasSpriteRenderer(simulation.getSpaceShip())
+                : new NodeSpriteRenderer(simulation.getSpaceShip(), sceneMutations);
+        sceneMutations.register(effects.getLayer());
+        timestep = new FixedTimestep(fps, MAX_STEPS_PER_PULSE);
+        SoundManager.setSoundPoolThread(500);
+        // create and set timeline for the game loop
+        buildAndSetGameLoop();
+
+    }
+
+    /**
+     * Builds and sets the game loop ready to be started. Each pulse runs the
+     * simulation steps due since the last pulse and renders the sprites.
+     */
+    private void buildAndSetGameLoop() {
+
+        gameLoop = new AnimationTimer() {
+
+            @Override
+            public void handle(long now) {
+
+                long start = System.nanoTime();
+                if (lastPulse >= 0) {
+                    simulation.getProfiler().record(FrameProfiler.Phase.FRAME, start - lastPulse);
+                }
+                lastPulse = start;
+
+                Runnable event;
+                while ((event = pendingEvents.poll()) != null) {
+                    event.run();
+                }
+
+                if (threaded) {
+                    RenderSnapshot latest = snapshots.read();
+                    double alpha = (System.nanoTime() - latest.getTime()) / (double) timestep.getStepNanos();
+                    renderSprites(latest, Math.max(0, Math.min(1, alpha)));
+                } else {
+                    int steps = timestep.advance(now);
+                    for (int i = 0; i < steps; i++) {
+                        simulation.step();
+                    }
+                    long snapshotStart = System.nanoTime();
+                    simulation.writeSnapshot(snapshot);
+                    simulation.getProfiler().record(FrameProfiler.Phase.SNAPSHOT, System.nanoTime() - snapshotStart);
+                    renderSprites(snapshot, timestep.getAlpha());
+                }
+                if (camera != null) {
+                    map.update(camera.getTranslateX(), camera.getTranslateY(),
+                            primaryStage.getWidth(), primaryStage.getHeight());
+                }
+                effects.update(start);
+                sceneMutations.apply();
+                simulation.getProfiler().record(FrameProfiler.Phase.PULSE, System.nanoTime() - start);
+                refreshProfilerOverlay(start);
+            }
+        };
+    }
+
+    /**
+     * Refresh the profiler overlay twice per second if it is shown. The
+     * dropped steps and the input events are counted over the last second. The nodes of the scene
+     * are counted every second even if the overlay is hidden, so that their
+     * peak over a whole game is known.
+     *
+     * @param now the start of the pulse, from System.nanoTime()
+     */
+    private void refreshProfilerOverlay(long now) {
+        pulseCount++;
+        if (now - droppedStepsMarkTime >= 1_000_000_000L) {
+            InputState<Control> input = simulation.getInput();
+            long pulses = Math.max(1, pulseCount - pulseMark);
+            inputPerPulse = (double) (input.getRecordedCount() - recordedInputMark) / pulses;
+            coalescedInputPerPulse = (double) (input.getCoalescedCount() - coalescedInputMark) / pulses;
+            pulseMark = pulseCount;
+            recordedInputMark = input.getRecordedCount();
+            coalescedInputMark = input.getCoalescedCount();
+            long dropped = threaded && simulationThread != null
+                    ? simulationThread.getDroppedSteps() : timestep.getDroppedSteps();
+            droppedPerSecond = dropped - droppedStepsMark;
+            droppedStepsMark = dropped;
+            droppedStepsMarkTime = now;
+            nodeCount = ProfilerOverlay.countNodes(getSceneNodes());
+            peakNodeCount = Math.max(peakNodeCount, nodeCount);
+        }
+        if (profilerOverlay.isVisible() && now - lastOverlayRefresh >= OVERLAY_REFRESH) {
+            lastOverlayRefresh = now;
+            profilerOverlay.update(simulation.getProfiler(), sprites.getSpriteCount(),
+                    sprites.getCulledCount(),
+                    nodeCount, peakNodeCount, sceneMutations.getLastMutationCount(),
+                    sceneMutations.getPeakMutationCount(), effects.getActiveCount(), droppedPerSecond,
+                    inputPerPulse, coalescedInputPerPulse);
+        }
+    }
+
+    /**
+     * Moves the camera over the spaceship, shows each sprite of a snapshot
+     * between its state at the start of the last step and its state at the
+     * end of it, and updates the HUD.
+     *
+     * @param snapshot the render snapshot to show
+     * @param alpha how far the real time is between the last step and the
+     * next one, from 0 to 1
+     */
+    private void renderSprites(RenderSnapshot snapshot, double alpha) {
+        placeCamera(snapshot, alpha);
+        sprites.render(snapshot, alpha, camera.getTranslateX(), camera.getTranslateY(),
+                primaryStage.getWidth(), primaryStage.getHeight());
+
+        gameScore.set(snapshot.getStat(GameSimulation.STAT_SCORE));
+        gameProgress.set(snapshot.getStat(GameSimulation.STAT_PROGRESS));
+        shipHealth.set(snapshot.getStat(GameSimulation.STAT_HEALTH));
+    }
 
-        setDefaultRocket();
+    /**
+     * Center the camera on the spaceship of a snapshot. The camera stays
+     * where it is once the spaceship left the game.
+     *
+     * @param snapshot the render snapshot to show
+     * @param alpha how far the real time is between the last step and the
+     * next one, from 0 to 1
+     */
+    private void placeCamera(RenderSnapshot snapshot, double alpha) {
+        Ship spaceShip = simulation.getSpaceShip();
+        for (int i = 0; i < snapshot.getCount(); i++) {
+            if (snapshot.getSprite(i) == spaceShip && snapshot.getImagePath(i) != null) {
+                Rectangle2D bounds = ResourcesManager.getSpriteBounds(snapshot.getImagePath(i));
+                camera.setTranslateX(snapshot.getRenderX(i, alpha)
+                        + bounds.getWidth() / 2 - primaryStage.getWidth() / 2);
+                camera.setTranslateY(snapshot.getRenderY(i, alpha)
+                        + bounds.getHeight() / 2 - primaryStage.getHeight() / 2);
+                return;
+            }
+        }
+    }
 
+    /**
+     * Run an input command on the simulation. In the threaded mode it is
+     * handed to the simulation thread.
+     *
+     * @param command the command to run
+     */
+    private void command(Runnable command) {
+        if (threaded) {
+            simulation.post(command);
+        } else {
+            command.run();
+        }
+    }
+
+    /**
+     * Handle an event of the simulation on the JavaFX application thread.
+     *
+     * @param event the handling of the event
+     */
+    private void onFxThread(Runnable event) {
+        if (threaded) {
+            pendingEvents.add(event);
+        } else {
+            event.run();
+        }
+    }
+
+    /**
+     * Kicks off (plays) the AnimationTimer that simply runs indefinitely with
+     * each pulse running the simulation and showing the sprites.
+     */
+    public void beginGameLoop() {
+        timestep.reset();
+        if (threaded) {
+            simulationThread = new SimulationThread(simulation, snapshots);
+            simulationThread.start();
+        }
+        gameLoop.start();
     }
 
     /**
@@ -101,49 +407,46 @@ public class GameWorld extends GameEngine {
      *
      * @param primaryStage The game window or primary stage.
      */
-    @Override
     public void initialize(final Stage primaryStage) {
 
         this.primaryStage = primaryStage;
 
         // Sets the window title
-        primaryStage.setTitle(getWindowTitle());
+        primaryStage.setTitle(windowTitle);
 
         // primary stage limit size
         primaryStage.setMinWidth(700);
         primaryStage.setMinHeight(500);
 
-        // Create the scene
+        // Create the scene, made of layers
         setSceneNodes(new Pane());
         setGameSurface(new Scene(getSceneNodes(), 1800, 1800));
-        // getSceneNodes().setCache(true);
-        // getSceneNodes().setPrefWidth(2000);
-        // getSceneNodes().setCacheHint(CacheHint.SPEED);
-        //
-
-        // Load css stylesheet
-        // Generate invaders of
-        // Generate Camera
-        Camera cam = createCamera();
-        getGameSurface().setCamera(cam);
-
-        // Create HUD
-        createHUD(cam);
+        setupLayers();
+        getSceneNodes().getChildren().addAll(background, sprites.getLayer(), effects.getLayer(), hudLayer);
 
         // Change the background of the main scene.
         getGameSurface().setFill(Color.BLACK);
         primaryStage.setScene(getGameSurface());
 
         // Generate Map
-        map = new Map(getSceneNodes());
-        getSceneNodes().getChildren().add(0, map);
+        map = new MapView(background);
+        background.getChildren().add(0, map);
 
         // Setup Game input
         setupInput(primaryStage);
 
-        getSpriteManager().cleanupSprites();
-        getSpriteManager().addSprites(spaceShip);
-        getSceneNodes().getChildren().add(spaceShip.getNode());
+        // Generate Camera
+        camera = createCamera();
+        getGameSurface().setCamera(camera);
+
+        // Add the spaceship and show it
+        simulation.initialize();
+        simulation.writeSnapshot(snapshot);
+        renderSprites(snapshot, 1);
+        sceneMutations.apply();
+
+        // Create HUD
+        createHUD(camera);
 
         loadSoundSource();
 
@@ -154,6 +457,26 @@ public class GameWorld extends GameEngine {
 
     }
 
+    /**
+     * Set up the layers of the scene. None of them takes mouse input, the
+     * input handlers are on the scene: the mouse events are therefore picked
+     * against the root alone instead of every star tile and sprite. The layers are
+     * not laid out by the root.
+     *
+     * The layers are not cached themselves. The background already shows
+     * its stars as images, see MapView, and the sprites and the effects
+     * change at each pulse. The sprite nodes are cached one by one,
+     * see SpriteView, and the HUD nodes, which only move with the camera,
+     * are cached in createHUD().
+     */
+    private void setupLayers() {
+        for (Group layer : List.of(background, sprites.getLayer(), effects.getLayer(), hudLayer)) {
+            layer.setMouseTransparent(true);
+            layer.setPickOnBounds(false);
+            layer.setManaged(false);
+        }
+    }
+
     private void loadSoundSource() {
         try {
             SoundManager.loadSoundEffects("explosion",
@@ -179,7 +502,8 @@ public class GameWorld extends GameEngine {
     }
 
     /**
-     * Create a perspective camera that follows the position of the spaceship
+     * Create a perspective camera. It follows the position of the spaceship,
+     * see placeCamera().
      *
      * @return the created camera
      */
@@ -187,38 +511,9 @@ public class GameWorld extends GameEngine {
         Camera camera = new PerspectiveCamera();
         camera.setFarClip(10000);
         camera.setNearClip(0.0001);
-
-        camera.translateXProperty().bind(
-                spaceShip.getNode().translateXProperty().subtract(
-                        primaryStage.widthProperty().divide(2))
-                        .add(spaceShip.getNode().getBoundsInLocal().getWidth() / 2));
-        camera.translateYProperty().bind(
-                spaceShip.getNode().translateYProperty().subtract(
-                        primaryStage.heightProperty().divide(2))
-                        .add(spaceShip.getNode().getBoundsInLocal().getHeight() / 2));
-
         return camera;
     }
 
-    /**
-     * Set the default rocket of the spaceship depending on the current level
-     */
-    private void setDefaultRocket() {
-        if (this.level == 1) {
-            this.spaceShip.setKeyCode(KeyCode.NUMPAD1);
-        }
-        if (this.level == 2) {
-            this.spaceShip.setKeyCode(KeyCode.NUMPAD2);
-        }
-        if (this.level == 3) {
-            this.spaceShip.setKeyCode(KeyCode.NUMPAD3);
-        }
-        if (this.level == 4) {
-            this.spaceShip.setKeyCode(KeyCode.NUMPAD4);
-        }
-
-    }
-
     /**
      * Creates a HUD at the top of the screen by binding its position to the
      * relative position of the camera.
@@ -238,7 +533,7 @@ public class GameWorld extends GameEngine {
 
         Label currentProgress = new Label();
         currentProgress.textProperty().bind(gameProgress.asString().concat(" invaders eliminated"));
-        Label objectiveLabel = new Label(this.numberOfInvaders + " invaders to kill");
+        Label objectiveLabel = new Label(simulation.getNumberOfInvaders() + " invaders to kill");
 
         fontLabel(currentProgress);
 
@@ -251,14 +546,13 @@ public class GameWorld extends GameEngine {
 
         ImageView heartView = new ImageView();
         heartView.setOpacity(0.6);
-        Image heartImage = new Image(getClass().getResource(ResourcesManager.HEART).toExternalForm());
-        heartView.setImage(heartImage);
+        heartView.setImage(ResourcesManager.getImage(ResourcesManager.HEART));
         heartView.setFitHeight(50);
         heartView.setPreserveRatio(true);
         Label heartCount = new Label();
         heartCount.setFont(new Font(20));
         heartCount.setTextFill(Color.WHITE);
-        heartCount.textProperty().bind(spaceShip.getHealth().asString());
+        heartCount.textProperty().bind(shipHealth.asString());
 
         health.getChildren().addAll(heartView, heartCount);
 
@@ -274,13 +568,22 @@ public class GameWorld extends GameEngine {
         HUD.translateYProperty()
                 .bind(cam.translateYProperty());
 
-        getSceneNodes().getChildren().add(HUD);
+        hudLayer.getChildren().add(HUD);
+        HUD.setCache(true);
+        HUD.setCacheHint(CacheHint.SPEED);
         HUD.spacingProperty().bind(primaryStage.widthProperty().divide(5));
         HUD.translateXProperty().bind(cam.translateXProperty());
         HUD.translateYProperty().bind(cam.translateYProperty());
 
         HUD.prefWidthProperty().bind(primaryStage.widthProperty());
         levelLabel.setRotate(0.000000001);
+
+        // The profiler overlay stays under the HUD
+        profilerOverlay.translateXProperty().bind(cam.translateXProperty().add(10));
+        profilerOverlay.translateYProperty().bind(cam.translateYProperty().add(HUD.getPrefHeight() + 10));
+        profilerOverlay.setCache(true);
+        profilerOverlay.setCacheHint(CacheHint.SPEED);
+        hudLayer.getChildren().add(profilerOverlay);
     }
 
     /**
@@ -296,373 +599,229 @@ public class GameWorld extends GameEngine {
     }
 
     /**
-     * Sets up all inputs of the user. Set the spaceship rotation to follow the
-     * mouse. Set the mouse inputs for shooting Set the keyboard inputs for
-     * changing weapons, activating shield, and handle ship movement.
+     * Sets up all inputs of the user. The events are recorded in the input
+     * state of the simulation, which samples them once per step: the cursor
+     * the spaceship follows, the clicks shooting, the keys changing weapons,
+     * activating the shield and moving the spaceship. The F3 key toggles the
+     * profiler overlay.
      *
      * @param primaryStage The primary stage (app window).
      */
     private void setupInput(Stage primaryStage) {
-        GameWorld world = this;
-
-        // Set the rotation of the ship to follow the mouse
-        spaceShip.getNode().rotateProperty().bind(Bindings.createDoubleBinding(() -> {
-
-            return Math.atan2(
-                    mouseY.getValue() - (spaceShip.getNode().getTranslateY()
-                            + spaceShip.getNode().getBoundsInLocal().getHeight() / 2),
-                    mouseX.getValue() - spaceShip.getNode().getTranslateX()
-                            - spaceShip.getNode().getBoundsInLocal().getWidth() / 2)
-                    * 180 / Math.PI;
-        }, mouseX, mouseY, spaceShip.getNode().translateXProperty(), spaceShip.getNode().translateYProperty()));
-
-        primaryStage.getScene().setOnMouseMoved((event) -> {
-
-            if (!world.isFinished()) {
-                mouseX.set(event.getX());
-                mouseY.set(event.getY());
-            }
-
-        });
+        InputState<Control> input = simulation.getInput();
 
-        primaryStage.getScene().setOnMouseDragged((event) -> {
-            if (!world.isFinished()) {
-                mouseX.set(event.getX());
-                mouseY.set(event.getY());
-            }
-        });
+        primaryStage.getScene().setOnMouseMoved((event) -> input.moveCursor(event.getX(), event.getY()));
+        primaryStage.getScene().setOnMouseDragged((event) -> input.moveCursor(event.getX(), event.getY()));
 
         // Set the mouse event to handle shooting
         primaryStage.getScene().setOnMouseClicked((e) -> {
             if (e.getButton() == MouseButton.PRIMARY) {
-
-                if (!world.isFinished()) {
-                    if (spaceShip.isCanFire()) {
-
-                        for (int i = 0; i < level; i++) {
-                            Missile missile = spaceShip.fire(i + 1, level);
-                            getSpriteManager().addSprites(missile);
-                            getSceneNodes().getChildren().add(missile.getNode());
-                            missile.getNode().setTranslateX(
-                                    spaceShip.getCenterX() - missile.getNode().getBoundsInLocal().getWidth() / 2);
-                            missile.getNode().setTranslateY(
-                                    spaceShip.getCenterY() - missile.getNode().getBoundsInLocal().getHeight() / 2);
-
-                            spaceShip.setCanFire(false);
-                            timer.schedule(new TimerTask() {
-                                @Override
-                                public void run() {
-                                    spaceShip.setCanFire(true);
-                                }
-
-                            }, (long) (500 / spaceShip.getFireSpeed()));
-                        }
-
-                    }
-                    spaceShip.getNode().toFront();
-
-                }
+                input.trigger(Control.FIRE);
             }
         });
 
         primaryStage.getScene().setOnKeyPressed((var e) -> {
-
-            // set the keyboard event to activate shield
-            if (!world.isFinished()) {
-                if (e.getCode() == KeyCode.SPACE) {
-                    if (spaceShip.isShieldAvailable()) {
-
-                        spaceShip.activateShield();
-                        spaceShip.setShieldAvailable(false);
-
-                        timer.schedule(new TimerTask() {
-                            @Override
-                            public void run() {
-                                spaceShip.setShieldAvailable(true);
-                            }
-                        }, (long) (spaceShip.getShieldCoolDown()));
-                        return;
-
-                    }
-                }
-
-                // set the keyboard event to change weapons
-                if (e.getCode() == KeyCode.DIGIT1) {
-                    spaceShip.changeWeapon(e.getCode());
-                }
-                if (e.getCode() == KeyCode.DIGIT2) {
-                    spaceShip.changeWeapon(e.getCode());
-                }
-                if (e.getCode() == KeyCode.DIGIT3) {
-                    spaceShip.changeWeapon(e.getCode());
-                }
-                if (e.getCode() == KeyCode.DIGIT4) {
-                    spaceShip.changeWeapon(e.getCode());
-                }
-
-                // Set the keyboard event to handle space movement
-                if (e.getCode() == KeyCode.W) {
-                    spaceShip.setwPressed(true);
-                }
-                if (e.getCode() == KeyCode.A) {
-                    spaceShip.setaPressed(true);
-                }
-                if (e.getCode() == KeyCode.S) {
-                    spaceShip.setsPressed(true);
-                }
-                if (e.getCode() == KeyCode.D) {
-                    spaceShip.setdPressed(true);
+            switch (e.getCode()) {
+                case F3 -> profilerOverlay.setVisible(!profilerOverlay.isVisible());
+                case SPACE -> input.trigger(Control.SHIELD);
+                case DIGIT1 -> input.trigger(Control.WEAPON_NORMAL);
+                case DIGIT2 -> input.trigger(Control.WEAPON_MEDIUM);
+                case DIGIT3 -> input.trigger(Control.WEAPON_HUGE);
+                case DIGIT4 -> input.trigger(Control.WEAPON_ULTIMATE);
+                case W -> input.press(Control.UP);
+                case A -> input.press(Control.LEFT);
+                case S -> input.press(Control.DOWN);
+                case D -> input.press(Control.RIGHT);
+                default -> {
                 }
             }
         });
 
         // Handle when user release a key
         primaryStage.getScene().setOnKeyReleased((var e) -> {
-
-            if (e.getCode() == KeyCode.W) {
-                spaceShip.setwPressed(false);
-            }
-            if (e.getCode() == KeyCode.A) {
-                spaceShip.setaPressed(false);
-            }
-            if (e.getCode() == KeyCode.S) {
-                spaceShip.setsPressed(false);
-            }
-            if (e.getCode() == KeyCode.D) {
-                spaceShip.setdPressed(false);
+            switch (e.getCode()) {
+                case W -> input.release(Control.UP);
+                case A -> input.release(Control.LEFT);
+                case S -> input.release(Control.DOWN);
+                case D -> input.release(Control.RIGHT);
+                default -> {
+                }
             }
-
         });
 
     }
 
     /**
-     * This method generate an invader according to the level and set its
-     * location to a random position that is outside the safe region, which is
-     * the region where the ship spawns.
+     * Show an explosion where a sprite imploded. The node of the sprite is
+     * removed with the next render snapshot.
+     *
+     * @param sprite the imploding sprite
+     * @param xCoord the X coordinate of the explosion
+     * @param yCoord the Y coordinate of the explosion
      */
-    public void spawnInvaders() {
-
-        Invader invader;
+    @Override
+    public void explosion(Sprite sprite, double xCoord, double yCoord) {
+        onFxThread(() -> showExplosion(xCoord, yCoord));
+    }
 
-        switch (level) {
-            case 4 -> {
-                invader = new Invader(spaceShip, ResourcesManager.BOSS, level);
-                invader.setPoint(500);
-                invader.setHealth(2000);
-            }
-            case 3 -> {
-                invader = new Invader(spaceShip, ResourcesManager.ENEMY3, level);
-                invader.setPoint(100);
-                invader.setHealth(1000);
-            }
-            case 2 -> {
-                invader = new Invader(spaceShip, ResourcesManager.ENEMY2, level);
-                invader.setPoint(50);
-                invader.setHealth(500);
-            }
-            default -> {
-                invader = new Invader(spaceShip, ResourcesManager.ENEMY1, level);
-                invader.setPoint(20);
-                invader.setHealth(200);
+    /**
+     * Show an explosion.
+     *
+     * @param xCoord the X coordinate of the explosion
+     * @param yCoord the Y coordinate of the explosion
+     */
+    private void showExplosion(double xCoord, double yCoord) {
+        // The explosions out of sight are not played
+        double width = primaryStage.getWidth();
+        double height = primaryStage.getHeight();
+        if (width > 0 && height > 0) {
+            double x = camera.getTranslateX();
+            double y = camera.getTranslateY();
+            double reach = EffectManager.EXPLOSION_SIZE / 2;
+            if (xCoord + reach < x || xCoord - reach > x + width
+                    || yCoord + reach < y || yCoord - reach > y + height) {
+                return;
             }
         }
-
-        getSpriteManager().addInvader(invader);
-
-        int rangeOfSpawn = (Map.getMAP_RADIUS());
-
-        int randomXPos;
-        int randomYPos;
-        double distanceX;
-        double distanceY;
-        do {
-            randomXPos = randomizer.nextInt(-rangeOfSpawn, rangeOfSpawn);
-            randomYPos = randomizer.nextInt(-rangeOfSpawn, rangeOfSpawn);
-
-            distanceX = randomXPos - spaceShip.getCenterX();
-            distanceY = randomYPos - spaceShip.getCenterY();
-
-        } while (randomXPos * randomXPos + randomYPos * randomYPos > Map.getMAP_RADIUS() * Map.getMAP_RADIUS()
-                || distanceX * distanceX + distanceY * distanceY < SAFETY_REGION_RADIUS * SAFETY_REGION_RADIUS);
-
-        invader.getNode().setTranslateX(randomXPos);
-        invader.getNode().setTranslateY(randomYPos);
-        getSceneNodes().getChildren().add(invader.getNode());
-        getSpriteManager().addSprites(invader);
-
+        effects.explode(xCoord, yCoord, System.nanoTime());
     }
 
     /**
-     * Remove Missiles after their life expectancy is over. Handle cursor
-     * according to the camera translation Handle the spaceship or missile if it
-     * is getting out of the map.
+     * Play a sound of the game.
      *
-     * @param sprite - The handled sprite
+     * @param id the identifier of the sound
      */
     @Override
-    protected void handleUpdate(Sprite sprite) {
+    public void soundPlayed(String id) {
+        SoundManager.playSound(id);
+    }
 
-        handleOutOfMap(sprite);
+    /**
+     * Handle the end of the game based on the result of the game.
+     *
+     * @param isVictory the result of the game. True if victory and false if
+     * defeat.
+     */
+    @Override
+    public void gameFinished(boolean isVictory) {
+        onFxThread(() -> showEndOfGame(isVictory));
+    }
 
-        if (!this.isFinished()) {
-            sprite.update();
-        }
-        if (sprite instanceof Missile) {
-            removeMissiles((Missile) sprite);
-        }
-        if (sprite instanceof Ship) {
-            handleCursor();
+    /**
+     * Tell the user if he won or lost, then go back to the home page.
+     *
+     * @param isVictory the result of the game. True if victory and false if
+     * defeat.
+     */
+    private void showEndOfGame(boolean isVictory) {
+
+        this.gameMusic.stop();
+        // The alert in which it will tell the user if he lost or he won.
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+
+        // If the user won
+        if (isVictory) {
+            ImageView victoryImageView = new ImageView(ResourcesManager.getImage(ResourcesManager.VICTORY));
+            victoryImageView.setFitWidth(100);
+            victoryImageView.setPreserveRatio(true);
+            alert.setGraphic(victoryImageView);
+            alert.setHeaderText("Congratulation!");
+            alert.setTitle("Victory!");
+            alert.setContentText("You won the game, try another level!");
+
+        // If the user lost
+        } else {
+            ImageView defeatImageView = new ImageView(ResourcesManager.getImage(ResourcesManager.GAME_OVER));
+            defeatImageView.setFitWidth(100);
+            defeatImageView.setPreserveRatio(true);
+            alert.setGraphic(defeatImageView);
+            alert.setHeaderText("Unfortunately You Lost.");
+            alert.setTitle("Defeat...");
+            alert.setContentText("Try again with another level!");
         }
+        primaryStage.setFullScreen(false);
+        
+        //Handle if the user closes the alert. Go back to home page to let the user
+        //choose another level
+        alert.setOnCloseRequest((e) -> {
+            try {
+                this.shutdown();
+                FXMLLoader loader = new FXMLLoader(getClass().getResource(("/fxml/homepage.fxml")));
+                loader.setController(new HomePageController());
+                Pane pane = loader.load();
+
+                primaryStage.setScene(new Scene(pane));
+            } catch (IOException ex) {
+            }
+        });
+        alert.show();
 
     }
 
     /**
-     * Handle a specific sprite to prevent it from going out of the map
-     * 
-     * if the sprite is a missile or an invader, it implodes.
-     * if the sprite is the spaceship, it will set its velocity's direction
-     * toward the center of the map
+     * Returns the game's window title.
      *
-     * @param sprite the sprite that is getting handled
+     * @return String The game's window title.
      */
-    private void handleOutOfMap(Sprite sprite) {
-
-        Circle collidingNode = sprite.getCollidingNode();
-        Bounds bound = collidingNode.getBoundsInLocal();
-
-        if (!approxEqual(bound.getHeight(), Shape.intersect(collidingNode, map).getBoundsInLocal().getHeight())
-                || !approxEqual(bound.getWidth(), Shape.intersect(collidingNode, map).getBoundsInLocal().getWidth())) {
-
-            if (sprite instanceof Missile) {
-                Missile missile = (Missile) (sprite);
-                missile.implode(this, missile.getCenterX(), missile.getCenterY());
-                missile.handleDeath(this);
-            }
+    public String getWindowTitle() {
+        return windowTitle;
+    }
 
-            if (sprite instanceof Ship) {
-                double angle = Math.atan2(sprite.getNode().getTranslateY(), sprite.getNode().getTranslateX());
-                sprite.setVelocity(-Math.cos(angle), Math.sin(angle));
-            }
-            if (sprite instanceof Invader invader) {
-                invader.implode(this, invader.getCenterX(), invader.getCenterY());
-                this.getSpriteManager().addSpritesToBeRemoved(invader);
-                this.getSpriteManager().removeInvader(invader);
-            }
-        }
+    /**
+     * 
+     * @return the scene nodes of this game world containing all the added nodes.
+     */
+    public Pane getSceneNodes() {
+        return this.sceneNode;
     }
 
     /**
-     * Update the mouse position according to the spaceship velocity
+     * set the scene node.
+     * @param sceneNode the scene node to set
      */
-    private void handleCursor() {
-        mouseX.set(mouseX.get() + spaceShip.getVelocityX());
-        mouseY.set(mouseY.get() - spaceShip.getVelocityY());
+    public void setSceneNodes(Pane sceneNode) {
+        this.sceneNode = sceneNode;
     }
 
     /**
-     * Remove a specific missile if its life expectancy is over.
+     * Returns the JavaFX Scene. This is called the game surface to allow the
+     * developer to add JavaFX Node objects onto the Scene.
      *
-     * @param missile the missile that is handled.
+     * @return Scene The JavaFX scene graph.
      */
-    private void removeMissiles(Missile missile) {
-        if (missile.getDurationCounter() > Atom.getLIFE_EXPECTENCY()) {
-            getSpriteManager().addSpritesToBeRemoved(missile);
-            missile.implode(this, missile.getCenterX(), missile.getCenterY());
-        }
+    public Scene getGameSurface() {
+        return gameSurface;
     }
 
     /**
-     * Overridden method that checks the collision between two sprites
+     * Sets the JavaFX Scene. This is called the game surface to allow the
+     * developer to add JavaFX Node objects onto the Scene.
      *
-     * @param spriteA the first sprite to be checked
-     * @param spriteB the second sprite to be checked
-     * @return if the two checked sprites collide with each other
+     * @param gameSurface The main game surface (JavaFX Scene).
      */
-    @Override
-    protected boolean checkCollision(Sprite spriteA, Sprite spriteB) {
-        // TODO: implement collision detection here.
-        Shape shape = Shape.intersect(spriteA.getCollidingNode(), spriteB.getCollidingNode());
-        return shape.getBoundsInLocal().getWidth() > -1;
+    protected void setGameSurface(Scene gameSurface) {
+        this.gameSurface = gameSurface;
     }
 
     /**
-     * Overridden method that handles the collision between two sprites.
-     * If an invader collides with a missile, it loses health, and it implodes
-     * if its health is lower than 0.
-     * 
-     * If an invader collides with the spaceship, the spaceship loses 1 heart
-     * and the invader implodes.
-     * 
-     * If the number of invaders on the field added with the eliminated number
-     * of invaders is less than the total number of invaders of the level, spawn
-     * a new invader.
+     * @return the simulated game
      */
-    @Override
-    protected void handleCollision() {
-
-        getSpriteManager().resetCollisionsToCheck();
-        for (Sprite spriteA : getSpriteManager().getCollisionsToCheck()) {
-            for (Sprite spriteB : getSpriteManager().getAllSprites()) {
-                if (checkCollision(spriteA, spriteB)) {
-
-                    Shape intersect = Shape.intersect(spriteA.getCollidingNode(), spriteB.getCollidingNode());
-                    if (spriteA instanceof Missile && (spriteB instanceof Invader)) {
-
-                        Missile missile = ((Missile) spriteA);
-                        Invader invader = ((Invader) spriteB);
-                        missile.implode(this, intersect.getBoundsInParent().getCenterX(),
-                                intersect.getBoundsInParent().getCenterY());
-
-                        if (!invader.isIsDead()) {
-                            invader.setHealth(invader.getHealth().get() - missile.getDamage());
-
-                            if (invader.getHealth().get() < 0) {
-                                getSpriteManager().removeInvader(invader);
-                                invader.implode(this, invader.getCenterX(), invader.getCenterY());
-                                getSpriteManager().addSpritesToBeRemoved(invader);
-                                gameScore.set(gameScore.get() + invader.getPoint());
-                                gameProgress.set(gameProgress.get() + 1);
-                                invader.setIsDead(true);
-
-                            }
-                        }
-                        getSpriteManager().addSpritesToBeRemoved(missile);
-
-                    } else if (spriteA instanceof Ship ship) {
-                        if ((spriteB instanceof Invader invader)) {
-
-                            if (!ship.isShieldOn()) {
-                                ship.damaged();
-                            } else {
-                                ship.setShieldOn(false);
-                                ship.getShieldFade().jumpTo(ship.getShieldFade().getDuration());
-                                ship.getCollidingNode().setOpacity(0);
-
-                            }
-                            invader.implode(this, intersect.getBoundsInParent().getCenterX(),
-                                    intersect.getBoundsInParent().getCenterY());
-                            getSpriteManager().addSpritesToBeRemoved(spriteB);
-                            getSpriteManager().removeInvader((Invader) spriteB);
-
-                            if (ship.getHealth().get() == 0) {
-                                ship.isDead = true;
-                                defeat();
-                            }
-
-                        }
-                    }
-
-                }
-            }
-        }
-        if (gameProgress.get() + getSpriteManager().getInvaders().size() < numberOfInvaders
-                && (getSpriteManager().getInvaders().size() < 9)) {
-            this.spawnInvaders();
+    public GameSimulation getSimulation() {
+        return simulation;
+    }
 
+    /**
+     * Stop threads and stop media from playing. Clear all sprites to allow the
+     * user play a new level with new sprites
+     */
+    public void shutdown() {
+        if (simulationThread != null) {
+            simulationThread.stop();
         }
-        if (getSpriteManager().getInvaders().isEmpty()) {
-            victory();
-        }
+        simulation.shutdown();
+        effects.clear();
+        // Stop the game's animation
+        gameLoop.stop();
+        SoundManager.shutdown();
     }
 }
@@ -0,0 +1,103 @@
+package edu.vanier.ufo.ui;
+
+import edu.vanier.ufo.game.Map;
+import edu.vanier.ufo.game.StarField;
+import edu.vanier.ufo.helpers.ResourcesManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import javafx.scene.Group;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+
+/**
+ * The node showing the map and its stars.
+ *
+ * @author enyihou
+ */
+public class MapView extends Circle {
+
+    /**
+     * The color of the map
+     */
+    private static final Color MAP__COLOR = Color.valueOf("0F193B");
+
+    /**
+     * The possible colors for the stars
+     */
+    private static final ArrayList<Color> POSSIBLE_COLORS = new ArrayList<>(
+            Arrays.asList(
+                    new Color[]{
+                        Color.AQUA,
+                        Color.AQUAMARINE,
+                        Color.BLUEVIOLET,
+                        Color.TEAL,
+                        Color.WHITESMOKE,
+                        Color.BISQUE,
+                        Color.DARKGOLDENROD
+                    }));
+
+    /**
+     * The number of stars in a tile of a parallax layer
+     */
+    private static final int PARALLAX_STAR_COUNT = 40;
+
+    private final Random random = new Random();
+
+    private final ParallaxStarLayer[] parallaxLayers = new ParallaxStarLayer[ResourcesManager.PARALLAX_LAYERS];
+
+    private StarTileLayer stars;
+
+    /**
+     *
+     * @param layer the layer of the scene in which the stars will be generated
+     */
+    public MapView(Group layer) {
+        super(Map.getMAP_RADIUS(), MAP__COLOR);
+        generateStars(layer);
+    }
+
+    /**
+     * Generate random stars at different location of the map with different
+     * colors. Their placement is computed by StarField, and they are drawn
+     * into tiles by StarTileLayer. The parallax layers, if any, are put
+     * behind them, the farthest first.
+     * @param layer the layer of the scene in which the stars are generated
+     */
+    private void generateStars(Group layer) {
+        int[] colors = new int[POSSIBLE_COLORS.size()];
+        for (int i = 0; i < colors.length; i++) {
+            Color color = POSSIBLE_COLORS.get(i);
+            colors[i] = 0xff000000
+                    | (int) Math.round(color.getRed() * 255) << 16
+                    | (int) Math.round(color.getGreen() * 255) << 8
+                    | (int) Math.round(color.getBlue() * 255);
+        }
+        for (int i = parallaxLayers.length - 1; i >= 0; i--) {
+            // Each layer is twice as far as the previous one: slower, with
+            // smaller stars
+            double speed = Math.pow(0.5, i + 1);
+            parallaxLayers[i] = new ParallaxStarLayer(speed, PARALLAX_STAR_COUNT, 2 * speed, colors, random);
+            layer.getChildren().add(parallaxLayers[i]);
+        }
+        StarField field = new StarField(random, StarField.STAR_COUNT, Map.getMAP_RADIUS(), colors.length);
+        stars = new StarTileLayer(field, colors, Map.getMAP_RADIUS());
+        layer.getChildren().add(stars);
+    }
+
+    /**
+     * Show the stars seen through the camera.
+     *
+     * @param viewX the X coordinate of the top left corner of the view
+     * @param viewY the Y coordinate of the top left corner of the view
+     * @param width the width of the view
+     * @param height the height of the view
+     */
+    public void update(double viewX, double viewY, double width, double height) {
+        for (ParallaxStarLayer parallaxLayer : parallaxLayers) {
+            parallaxLayer.update(viewX, viewY, width, height);
+        }
+        stars.update(viewX, viewY, width, height);
+    }
+
+}
@@ -0,0 +1,181 @@
+package edu.vanier.ufo.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.collections.ObservableList;
+import javafx.scene.Group;
+import javafx.scene.Node;
+
+/**
+ * A layer of the scene whose nodes are added and removed in batches. The
+ * additions and removals are queued, then applied together by apply(), once
+ * per pulse, so that the children of the layer only change a few times per
+ * pulse whatever the number of nodes coming and going.
+ *
+ * The order of the nodes in the layer is not kept: a removed node is
+ * replaced by one of the last nodes, so that no node is shifted and no node
+ * is searched for. The nodes of a layer must therefore not be reordered by
+ * other means, like toFront(). A node belongs to a single layer.
+ *
+ * All the methods are called from the JavaFX application thread.
+ *
+ * @author enyihou
+ */
+public class NodeLayer extends Group {
+
+    /**
+     * The key of the state of a node in its properties, see state().
+     */
+    private static final String STATE_KEY = NodeLayer.class.getName();
+
+    // The state of a node: its index in the layer, or -1, and its queued
+    // change
+    private static final int INDEX = 0;
+    private static final int PENDING = 1;
+
+    private static final int NONE = 0;
+    private static final int ADD = 1;
+    private static final int REMOVE = 2;
+    private static final int REMOVING = 3;
+
+    private final List<Node> toAdd = new ArrayList<>();
+    private final List<Node> toRemove = new ArrayList<>();
+
+    // The indices emptied by the removals, and the last nodes filling them
+    private int[] holes = new int[16];
+    private final List<Node> survivors = new ArrayList<>();
+
+    public NodeLayer() {
+        setManaged(false);
+        setAutoSizeChildren(false);
+    }
+
+    /**
+     * Add a node to the layer with the next apply(). A node waiting to be
+     * removed stays in the layer.
+     *
+     * @param node the node to add
+     */
+    public void add(Node node) {
+        int[] state = state(node);
+        if (state[PENDING] == REMOVE) {
+            state[PENDING] = NONE;
+        } else if (state[INDEX] < 0 && state[PENDING] == NONE) {
+            state[PENDING] = ADD;
+            toAdd.add(node);
+        }
+    }
+
+    /**
+     * Remove a node from the layer with the next apply(). A node waiting to
+     * be added is not added.
+     *
+     * @param node the node to remove
+     */
+    public void remove(Node node) {
+        int[] state = state(node);
+        if (state[PENDING] == ADD) {
+            state[PENDING] = NONE;
+        } else if (state[INDEX] >= 0 && state[PENDING] == NONE) {
+            state[PENDING] = REMOVE;
+            toRemove.add(node);
+        }
+    }
+
+    /**
+     * Apply the queued removals, then the queued additions.
+     *
+     * @return the number of nodes added and removed
+     */
+    public int apply() {
+        return applyRemovals() + applyAdditions();
+    }
+
+    /**
+     * Remove the nodes at the end of the children at once, then put the
+     * remaining last nodes in the places of the other removed ones.
+     */
+    private int applyRemovals() {
+        ObservableList<Node> children = getChildren();
+        // A node queued again after a cancelled removal is listed twice
+        int count = 0;
+        for (int i = 0; i < toRemove.size(); i++) {
+            int[] state = state(toRemove.get(i));
+            if (state[PENDING] == REMOVE) {
+                state[PENDING] = REMOVING;
+                count++;
+            }
+        }
+        if (count == 0) {
+            toRemove.clear();
+            return 0;
+        }
+
+        int tail = children.size() - count;
+        int holeCount = 0;
+        if (holes.length < count) {
+            holes = new int[count];
+        }
+        for (int i = 0; i < toRemove.size(); i++) {
+            int[] state = state(toRemove.get(i));
+            if (state[PENDING] == REMOVING) {
+                if (state[INDEX] < tail) {
+                    holes[holeCount++] = state[INDEX];
+                }
+                state[INDEX] = -1;
+                state[PENDING] = NONE;
+            }
+        }
+        toRemove.clear();
+
+        for (int i = tail; i < children.size(); i++) {
+            Node node = children.get(i);
+            if (state(node)[INDEX] >= 0) {
+                survivors.add(node);
+            }
+        }
+        children.remove(tail, children.size());
+        for (int i = 0; i < holeCount; i++) {
+            Node node = survivors.get(i);
+            children.set(holes[i], node);
+            state(node)[INDEX] = holes[i];
+        }
+        survivors.clear();
+        return count;
+    }
+
+    private int applyAdditions() {
+        int size = getChildren().size();
+        int count = 0;
+        for (int i = 0; i < toAdd.size(); i++) {
+            Node node = toAdd.get(i);
+            int[] state = state(node);
+            if (state[PENDING] == ADD) {
+                state[PENDING] = NONE;
+                state[INDEX] = size + count;
+                toAdd.set(count++, node);
+            }
+        }
+        if (count > 0) {
+            getChildren().addAll(toAdd.subList(0, count));
+        }
+        toAdd.clear();
+        return count;
+    }
+
+    /**
+     * The state of a node is kept in its properties. It is created on the
+     * first use of the node, then only changed.
+     *
+     * @param node a node of the layer
+     * @return the state of the node
+     */
+    private static int[] state(Node node) {
+        int[] state = (int[]) node.getProperties().get(STATE_KEY);
+        if (state == null) {
+            state = new int[]{-1, NONE};
+            node.getProperties().put(STATE_KEY, state);
+        }
+        return state;
+    }
+}
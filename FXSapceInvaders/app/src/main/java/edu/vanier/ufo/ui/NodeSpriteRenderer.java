@@ -0,0 +1,116 @@
+package edu.vanier.ufo.ui;
+
+import edu.vanier.ufo.engine.RenderSnapshot;
+import edu.vanier.ufo.engine.Sprite;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import javafx.scene.Group;
+
+/**
+ * Shows each sprite with its own nodes, see SpriteView. Nodes are created for
+ * the new sprites and removed for the sprites that left the game, their
+ * layers apply these changes at the end of the pulse. The nodes of the
+ * sprites out of the view are hidden and not updated.
+ *
+ * @author enyihou
+ */
+public class NodeSpriteRenderer implements SpriteRenderer {
+
+    /**
+     * The nodes showing each sprite in play.
+     */
+    private final LinkedHashMap<Sprite, SpriteView> spriteViews = new LinkedHashMap<>();
+
+    /**
+     * The nodes of the sprites that left the game. The sprites are pooled by
+     * the simulation, their nodes are shown again when they come back.
+     */
+    private final HashMap<Sprite, SpriteView> retiredViews = new HashMap<>();
+
+    /**
+     * The layers of the sprite nodes, the front sprite over the other
+     * sprites.
+     */
+    private final NodeLayer actors = new NodeLayer();
+    private final NodeLayer frontLayer = new NodeLayer();
+    private final Group layer = new Group(actors, frontLayer);
+
+    private final Sprite front;
+
+    /**
+     * Counts the pulses to find the views of removed sprites.
+     */
+    private long pulse;
+
+    private int culledCount;
+
+    /**
+     * @param front the sprite shown over the others, like the spaceship
+     * @param mutations applies the changes of the layers of the sprites
+     */
+    public NodeSpriteRenderer(Sprite front, SceneMutationQueue mutations) {
+        this.front = front;
+        mutations.register(actors);
+        mutations.register(frontLayer);
+    }
+
+    @Override
+    public Group getLayer() {
+        return layer;
+    }
+
+    @Override
+    public void render(RenderSnapshot snapshot, double alpha, double viewX, double viewY, double width, double height) {
+        pulse++;
+        culledCount = 0;
+        for (int i = 0; i < snapshot.getCount(); i++) {
+            Sprite sprite = snapshot.getSprite(i);
+            SpriteView view = spriteViews.get(sprite);
+            if (view == null) {
+                view = retiredViews.remove(sprite);
+                if (view == null) {
+                    view = new SpriteView(sprite);
+                }
+                spriteViews.put(sprite, view);
+                layerOf(sprite).add(view.getNode());
+            }
+            boolean shown = SpriteRenderer.isInView(snapshot, i, alpha, viewX, viewY, width, height);
+            view.setShown(shown);
+            if (shown) {
+                view.render(snapshot, i, alpha);
+            } else {
+                culledCount++;
+            }
+            view.setSeenPulse(pulse);
+        }
+
+        Iterator<SpriteView> views = spriteViews.values().iterator();
+        while (views.hasNext()) {
+            SpriteView view = views.next();
+            if (view.getSeenPulse() != pulse) {
+                layerOf(view.getSprite()).remove(view.getNode());
+                views.remove();
+                retiredViews.put(view.getSprite(), view);
+            }
+        }
+    }
+
+    /**
+     * @param sprite a sprite in play
+     * @return the layer showing the node of the sprite
+     */
+    private NodeLayer layerOf(Sprite sprite) {
+        return sprite == front ? frontLayer : actors;
+    }
+
+    @Override
+    public int getSpriteCount() {
+        return spriteViews.size();
+    }
+
+    @Override
+    public int getCulledCount() {
+        return culledCount;
+    }
+}
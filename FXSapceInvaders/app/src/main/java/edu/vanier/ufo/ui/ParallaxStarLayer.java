@@ -0,0 +1,99 @@
+package edu.vanier.ufo.ui;
+
+import edu.vanier.ufo.helpers.ResourcesManager;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+/**
+ * A layer of distant stars scrolling slower than the map. The stars are
+ * drawn once, in the background, into a single tile repeated over the view:
+ * the stars crossing an edge of the tile are drawn again on the other side,
+ * so that the tiles join without seams.
+ *
+ * All the methods are called from the JavaFX application thread.
+ *
+ * @author enyihou
+ */
+public class ParallaxStarLayer extends Group {
+
+    private static final int TILE_SIZE = StarTileLayer.TILE_SIZE;
+
+    private final double speed;
+    private final WritableImage image = new WritableImage(TILE_SIZE, TILE_SIZE);
+
+    /**
+     * @param speed how fast the layer scrolls compared to the map, between 0
+     * and 1
+     * @param count the number of stars in a tile
+     * @param maxRadius the radius of the largest star
+     * @param colors the colors of the stars, as opaque ARGB values
+     * @param random the randomizer
+     */
+    public ParallaxStarLayer(double speed, int count, double maxRadius, int[] colors, Random random) {
+        this.speed = speed;
+        setManaged(false);
+        setAutoSizeChildren(false);
+        setVisible(false);
+        long seed = random.nextLong();
+        CompletableFuture.supplyAsync(() -> render(new Random(seed), count, maxRadius, colors),
+                ResourcesManager.getBackgroundExecutor())
+                .thenAcceptAsync(pixels -> {
+                    image.getPixelWriter().setPixels(0, 0, TILE_SIZE, TILE_SIZE,
+                            PixelFormat.getIntArgbPreInstance(), pixels, 0, TILE_SIZE);
+                    setVisible(true);
+                }, Platform::runLater);
+    }
+
+    /**
+     * Draw the stars of the tile. Called on a background thread.
+     */
+    private static int[] render(Random random, int count, double maxRadius, int[] colors) {
+        int[] pixels = new int[TILE_SIZE * TILE_SIZE];
+        for (int i = 0; i < count; i++) {
+            double x = random.nextDouble(TILE_SIZE);
+            double y = random.nextDouble(TILE_SIZE);
+            double radius = random.nextDouble(maxRadius / 4, maxRadius);
+            int color = colors[random.nextInt(colors.length)];
+            for (int dy = -TILE_SIZE; dy <= TILE_SIZE; dy += TILE_SIZE) {
+                for (int dx = -TILE_SIZE; dx <= TILE_SIZE; dx += TILE_SIZE) {
+                    StarTileLayer.drawStar(pixels, TILE_SIZE, x + dx, y + dy, radius, color);
+                }
+            }
+        }
+        return pixels;
+    }
+
+    /**
+     * Cover the view with the tile, shifted by the scrolling of the layer.
+     *
+     * @param viewX the X coordinate of the top left corner of the view
+     * @param viewY the Y coordinate of the top left corner of the view
+     * @param width the width of the view
+     * @param height the height of the view
+     */
+    public void update(double viewX, double viewY, double width, double height) {
+        int columns = (int) Math.ceil(width / TILE_SIZE) + 1;
+        int rows = (int) Math.ceil(height / TILE_SIZE) + 1;
+        while (getChildren().size() < columns * rows) {
+            getChildren().add(new ImageView(image));
+        }
+        // The layer moves by (1 - speed) of the camera, the tiles are placed
+        // from the first one left of the view
+        double left = viewX * (1 - speed) + Math.floor(viewX * speed / TILE_SIZE) * TILE_SIZE;
+        double top = viewY * (1 - speed) + Math.floor(viewY * speed / TILE_SIZE) * TILE_SIZE;
+        for (int i = 0; i < getChildren().size(); i++) {
+            ImageView view = (ImageView) getChildren().get(i);
+            boolean used = i < columns * rows;
+            view.setVisible(used);
+            if (used) {
+                view.setTranslateX(left + (i % columns) * TILE_SIZE);
+                view.setTranslateY(top + (i / columns) * TILE_SIZE);
+            }
+        }
+    }
+}
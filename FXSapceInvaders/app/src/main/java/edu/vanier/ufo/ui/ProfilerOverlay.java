@@ -0,0 +1,84 @@
+package edu.vanier.ufo.ui;
+
+import edu.vanier.ufo.engine.FrameProfiler;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+/**
+ * An overlay showing the time spent in each phase of the game loop, with the
+ * number of sprites shown and culled out of the view, the number of scene
+ * nodes and its peak, the nodes added and removed in the last pulse and their
+ * peak, the number of played effects and the steps dropped per second. It is
+ * shown next to the HUD and toggled by the user.
+ *
+ * @author enyihou
+ */
+public class ProfilerOverlay extends VBox {
+
+    private final Label text = new Label();
+
+    public ProfilerOverlay() {
+        text.setFont(Font.font("Monospaced", 13));
+        text.setTextFill(Color.LIGHTGREEN);
+        getChildren().add(text);
+        setStyle("-fx-background-color: rgba(0, 0, 0, 0.6); -fx-padding: 6;");
+        setMouseTransparent(true);
+        setVisible(false);
+    }
+
+    /**
+     * Show the figures of the profiler.
+     *
+     * @param profiler the profiler of the game loop
+     * @param sprites the number of sprites in play
+     * @param culled the number of sprites out of the view
+     * @param nodes the number of nodes in the scene
+     * @param peakNodes the highest number of nodes in the scene
+     * @param mutations the nodes added and removed in the last pulse
+     * @param peakMutations the most nodes added and removed in a pulse
+     * @param effects the number of played effects
+     * @param droppedPerSecond the steps dropped during the last second
+     * @param input the input events recorded per frame
+     * @param coalescedInput the input events per frame merged into another
+     */
+    public void update(FrameProfiler profiler, int sprites, int culled, int nodes, int peakNodes,
+            int mutations, int peakMutations, int effects, long droppedPerSecond,
+            double input, double coalescedInput) {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("%-10s %8s %8s %8s%n", "phase (ms)", "min", "avg", "p99"));
+        for (FrameProfiler.Phase phase : FrameProfiler.Phase.values()) {
+            builder.append(String.format("%-10s %8.3f %8.3f %8.3f%n",
+                    phase.name().toLowerCase(),
+                    profiler.getMin(phase) / 1e6,
+                    profiler.getAverage(phase) / 1e6,
+                    profiler.getPercentile(phase, 99) / 1e6));
+        }
+        builder.append(String.format("sprites %d  visible %d  culled %d%n",
+                sprites, sprites - culled, culled));
+        builder.append(String.format("nodes %d (peak %d)%n", nodes, peakNodes));
+        builder.append(String.format("mutations/pulse %d (peak %d)%n", mutations, peakMutations));
+        builder.append(String.format("effects %d/%d  dropped/s %d%n", effects, EffectManager.MAX_EFFECTS, droppedPerSecond));
+        builder.append(String.format("input/frame %.1f  coalesced %.1f", input, coalescedInput));
+        text.setText(builder.toString());
+    }
+
+    /**
+     * Count a node and all its descendants.
+     *
+     * @param node the root of the counted nodes
+     * @return the number of nodes
+     */
+    public static int countNodes(Node node) {
+        int count = 1;
+        if (node instanceof Parent parent) {
+            for (Node child : parent.getChildrenUnmodifiable()) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+}
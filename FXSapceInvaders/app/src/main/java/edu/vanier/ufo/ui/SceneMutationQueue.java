@@ -0,0 +1,71 @@
+package edu.vanier.ufo.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies the queued changes of the node layers of the scene once per pulse,
+ * and counts them. The sprites, the effects and the other dynamic nodes are
+ * only added to and removed from their NodeLayer, never directly to the
+ * scene.
+ *
+ * All the methods are called from the JavaFX application thread.
+ *
+ * @author enyihou
+ */
+public class SceneMutationQueue {
+
+    private final List<NodeLayer> layers = new ArrayList<>();
+
+    // The nodes added and removed by the last apply(), the most by a single
+    // apply() and since the start
+    private int lastMutationCount;
+    private int peakMutationCount;
+    private long totalMutationCount;
+
+    /**
+     * Apply the changes of a layer with the others.
+     *
+     * @param layer the layer to apply
+     */
+    public void register(NodeLayer layer) {
+        layers.add(layer);
+    }
+
+    /**
+     * Apply the queued changes of every layer.
+     *
+     * @return the number of nodes added and removed
+     */
+    public int apply() {
+        int count = 0;
+        for (int i = 0; i < layers.size(); i++) {
+            count += layers.get(i).apply();
+        }
+        lastMutationCount = count;
+        peakMutationCount = Math.max(peakMutationCount, count);
+        totalMutationCount += count;
+        return count;
+    }
+
+    /**
+     * @return the number of nodes added and removed by the last apply()
+     */
+    public int getLastMutationCount() {
+        return lastMutationCount;
+    }
+
+    /**
+     * @return the most nodes added and removed by a single apply()
+     */
+    public int getPeakMutationCount() {
+        return peakMutationCount;
+    }
+
+    /**
+     * @return the number of nodes added and removed since the start
+     */
+    public long getTotalMutationCount() {
+        return totalMutationCount;
+    }
+}
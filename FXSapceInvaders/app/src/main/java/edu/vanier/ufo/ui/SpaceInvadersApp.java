@@ -1,7 +1,8 @@
 package edu.vanier.ufo.ui;
 
-import edu.vanier.ufo.engine.GameEngine;
+import edu.vanier.ufo.ui.GameWorld;
 import edu.vanier.ufo.helpers.HomePageController;
+import edu.vanier.ufo.helpers.ResourcesManager;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
@@ -22,7 +23,7 @@ public class SpaceInvadersApp extends Application {
     /**
      * The game engine
      */
-    GameEngine gameWorld;
+    GameWorld gameWorld;
 
     public static void main(String[] args) {
         launch(args);
@@ -31,6 +32,9 @@ public class SpaceInvadersApp extends Application {
     @Override
     public void start(Stage primaryStage) throws IOException, URISyntaxException {
 
+        // Decode the images while the home page is shown
+        ResourcesManager.preloadImages();
+
         System.out.println(getClass().getResource(("/fxml/homepage.fxml")).toURI().toURL());
         // Load the homepage fxml file into the scene
         FXMLLoader loader = new FXMLLoader(getClass().getResource(("/fxml/homepage.fxml")).toURI().toURL());
@@ -0,0 +1,84 @@
+package edu.vanier.ufo.ui;
+
+import edu.vanier.ufo.engine.RenderSnapshot;
+import edu.vanier.ufo.helpers.ResourcesManager;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Group;
+
+/**
+ * Shows the sprites of the render snapshots. The sprites are shown either
+ * with a few nodes each, see NodeSpriteRenderer, or all drawn on a single
+ * canvas, see CanvasSpriteRenderer. The sprites out of the view are culled:
+ * they are neither drawn nor synced with the scene.
+ *
+ * All the methods are called from the JavaFX application thread.
+ *
+ * @author enyihou
+ */
+public interface SpriteRenderer {
+
+    /**
+     * @return the layer of the scene showing the sprites
+     */
+    Group getLayer();
+
+    /**
+     * Show the sprites of a snapshot seen through the view, between their
+     * state at the start of the last step and their state at the end of it.
+     *
+     * @param snapshot the render snapshot to show
+     * @param alpha how far the real time is between the last step and the
+     * next one, from 0 to 1
+     * @param viewX the X coordinate of the top left corner of the view
+     * @param viewY the Y coordinate of the top left corner of the view
+     * @param width the width of the view
+     * @param height the height of the view
+     */
+    void render(RenderSnapshot snapshot, double alpha, double viewX, double viewY, double width, double height);
+
+    /**
+     * @return the number of sprites in the last rendered snapshot, shown or
+     * culled
+     */
+    int getSpriteCount();
+
+    /**
+     * @return the number of sprites out of the view in the last rendered
+     * snapshot
+     */
+    int getCulledCount();
+
+    /**
+     * Tell if a sprite of a snapshot can be seen through the view. The
+     * sprite is taken as a circle around the center of its image, large
+     * enough for any rotation and for its colliding circle. A view without
+     * size, like the one of a window not shown yet, sees every sprite.
+     *
+     * @param snapshot the render snapshot
+     * @param i the index of the sprite in the snapshot
+     * @param alpha how far the real time is between the last step and the
+     * next one, from 0 to 1
+     * @param viewX the X coordinate of the top left corner of the view
+     * @param viewY the Y coordinate of the top left corner of the view
+     * @param width the width of the view
+     * @param height the height of the view
+     * @return if the sprite is in the view
+     */
+    static boolean isInView(RenderSnapshot snapshot, int i, double alpha,
+            double viewX, double viewY, double width, double height) {
+        String path = snapshot.getImagePath(i);
+        if (path == null || !(width > 0 && height > 0)) {
+            return true;
+        }
+        Rectangle2D bounds = ResourcesManager.getSpriteBounds(path);
+        double halfWidth = bounds.getWidth() / 2;
+        double halfHeight = bounds.getHeight() / 2;
+        double reach = Math.max(Math.hypot(halfWidth, halfHeight),
+                Math.hypot(snapshot.getCollisionOffsetX(i) - halfWidth, snapshot.getCollisionOffsetY(i) - halfHeight)
+                + snapshot.getCollisionRadius(i));
+        double x = snapshot.getRenderX(i, alpha) + halfWidth;
+        double y = snapshot.getRenderY(i, alpha) + halfHeight;
+        return x + reach >= viewX && x - reach <= viewX + width
+                && y + reach >= viewY && y - reach <= viewY + height;
+    }
+}
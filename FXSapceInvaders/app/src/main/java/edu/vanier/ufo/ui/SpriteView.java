@@ -0,0 +1,192 @@
+package edu.vanier.ufo.ui;
+
+import edu.vanier.ufo.engine.RenderSnapshot;
+import edu.vanier.ufo.engine.Sprite;
+import edu.vanier.ufo.game.Invader;
+import edu.vanier.ufo.game.Ship;
+import edu.vanier.ufo.helpers.ResourcesManager;
+import edu.vanier.ufo.helpers.RotationSheet;
+import edu.vanier.ufo.helpers.TintVariants;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Group;
+import javafx.scene.image.ImageView;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+
+/**
+ * The nodes showing a sprite: its image and its colliding circle. The
+ * colliding circle is only visible as the shield of the spaceship.
+ *
+ * @author enyihou
+ */
+public class SpriteView {
+
+    /**
+     * The colors of the shield of the spaceship.
+     */
+    static final Color SHIELD_STROKE = Color.AQUA;
+    static final Color SHIELD_FILL = Color.CHARTREUSE;
+
+    private final Sprite sprite;
+    private final Group flipBook = new Group();
+    private final ImageView imageView = new ImageView();
+    private final Circle hitBounds = new Circle();
+    private String imagePath;
+
+    // The image of the sprite turned beforehand, null to rotate the nodes
+    private RotationSheet rotations;
+
+    // The last pulse in which the sprite was in the render snapshot
+    private long seenPulse;
+
+    /**
+     * Create the nodes of a sprite. Only the type of the sprite is read, its
+     * state comes from the render snapshots.
+     *
+     * @param sprite the sprite to show
+     */
+    public SpriteView(Sprite sprite) {
+        this.sprite = sprite;
+        hitBounds.setOpacity(0);
+        if (sprite instanceof Ship) {
+            hitBounds.setStroke(SHIELD_STROKE);
+            hitBounds.setFill(SHIELD_FILL);
+        }
+        flipBook.getChildren().addAll(imageView, hitBounds);
+        flipBook.setManaged(false);
+        flipBook.setAutoSizeChildren(false);
+    }
+
+    /**
+     * Show the image of the sprite again if it changed, and place the
+     * colliding circle. The images are shared, decoded once by the
+     * ResourcesManager. An invader shows one of the recoloured copies of its
+     * image, always the same one.
+     *
+     * When the images are turned beforehand, the image is shown from its
+     * rotation sheet as soon as the sheet is made.
+     *
+     * @param snapshot the render snapshot
+     * @param i the index of the sprite in the snapshot
+     */
+    private void updateImage(RenderSnapshot snapshot, int i) {
+        String path = snapshot.getImagePath(i);
+        if (path != null && !path.equals(imagePath)) {
+            imagePath = path;
+            rotations = null;
+            imageView.setLayoutX(0);
+            imageView.setLayoutY(0);
+            if (sprite instanceof Invader) {
+                TintVariants variants = ResourcesManager.getTintVariants(imagePath);
+                imageView.setImage(variants.getImage());
+                imageView.setViewport(variants.getViewport(TintVariants.variantOf(sprite)));
+            } else {
+                imageView.setImage(ResourcesManager.getSpriteImage(imagePath));
+                imageView.setViewport(ResourcesManager.getSpriteViewport(imagePath));
+            }
+        }
+        if (rotations == null && imagePath != null && ResourcesManager.ROTATION_STEPS > 0) {
+            rotations = sprite instanceof Invader
+                    ? ResourcesManager.getRotationSheet(imagePath, TintVariants.variantOf(sprite))
+                    : ResourcesManager.getRotationSheet(imagePath);
+            if (rotations != null) {
+                imageView.setImage(rotations.getImage());
+                flipBook.setRotate(0);
+            }
+        }
+        hitBounds.setRadius(snapshot.getCollisionRadius(i));
+    }
+
+    /**
+     * Place the colliding circle of a sprite shown from its rotation sheet.
+     * The nodes are not rotated, so the circle is turned around the center
+     * of the image here.
+     */
+    private void turnHitBounds(RenderSnapshot snapshot, int i, double rotation) {
+        Rectangle2D bounds = ResourcesManager.getSpriteBounds(imagePath);
+        double width = bounds.getWidth();
+        double height = bounds.getHeight();
+        double x = snapshot.getCollisionOffsetX(i) - width / 2;
+        double y = snapshot.getCollisionOffsetY(i) - height / 2;
+        double angle = Math.toRadians(rotation);
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        hitBounds.setCenterX(cos * x - sin * y + width / 2);
+        hitBounds.setCenterY(sin * x + cos * y + height / 2);
+    }
+
+    /**
+     * Show or hide the nodes of the sprite, like when it leaves the view.
+     * The visibility is only changed if it differs, so a hidden sprite costs
+     * nothing to the scene.
+     *
+     * @param shown if the nodes are shown
+     */
+    public void setShown(boolean shown) {
+        if (flipBook.isVisible() != shown) {
+            flipBook.setVisible(shown);
+        }
+    }
+
+    /**
+     * Shows the sprite on its nodes, between its state at the start of the
+     * last step and its state at the end of it.
+     *
+     * @param snapshot the render snapshot
+     * @param i the index of the sprite in the snapshot
+     * @param alpha how far the real time is between the last step and the
+     * next one, from 0 to 1
+     */
+    public void render(RenderSnapshot snapshot, int i, double alpha) {
+        updateImage(snapshot, i);
+        double rotation = snapshot.getRenderRotation(i, alpha);
+        flipBook.setTranslateX(snapshot.getRenderX(i, alpha));
+        flipBook.setTranslateY(snapshot.getRenderY(i, alpha));
+        if (rotations != null) {
+            int step = rotations.getStep(rotation);
+            imageView.setViewport(rotations.getViewport(step));
+            imageView.setLayoutX(rotations.getOffsetX(step));
+            imageView.setLayoutY(rotations.getOffsetY(step));
+            turnHitBounds(snapshot, i, rotation);
+        } else {
+            flipBook.setRotate(rotation);
+            hitBounds.setCenterX(snapshot.getCollisionOffsetX(i));
+            hitBounds.setCenterY(snapshot.getCollisionOffsetY(i));
+        }
+        if (sprite instanceof Ship) {
+            hitBounds.setOpacity(shieldOpacity(snapshot.getEffectLevel(i)));
+        }
+    }
+
+    /**
+     * The shield slowly fades with time.
+     *
+     * @param shieldLevel the level of the shield, from 0 to 1
+     * @return the opacity of the shield
+     */
+    static double shieldOpacity(double shieldLevel) {
+        return shieldLevel > 0 ? 0.1 + 0.4 * shieldLevel : 0;
+    }
+
+    public long getSeenPulse() {
+        return seenPulse;
+    }
+
+    public void setSeenPulse(long seenPulse) {
+        this.seenPulse = seenPulse;
+    }
+
+    /**
+     * @return the node showing the sprite
+     */
+    public Group getNode() {
+        return flipBook;
+    }
+
+    /**
+     * @return the shown sprite
+     */
+    public Sprite getSprite() {
+        return sprite;
+    }
+}
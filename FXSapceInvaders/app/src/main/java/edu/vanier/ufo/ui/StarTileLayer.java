@@ -0,0 +1,308 @@
+package edu.vanier.ufo.ui;
+
+import edu.vanier.ufo.game.StarField;
+import edu.vanier.ufo.helpers.ResourcesManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+/**
+ * The stars of the map drawn into square tiles instead of a node per star.
+ * Only the tiles under the camera are shown: a tile coming into view is
+ * drawn on a background thread, then copied into its image on the JavaFX
+ * application thread. The tiles leaving the view are hidden and reused, so
+ * the number of nodes and images only depends on the size of the view.
+ *
+ * All the methods are called from the JavaFX application thread.
+ *
+ * @author enyihou
+ */
+public class StarTileLayer extends Group {
+
+    /**
+     * The size of a tile in pixels.
+     */
+    public static final int TILE_SIZE = 512;
+
+    private final StarField stars;
+    private final int[] colors;
+
+    // The first tile column and row over the map, the number of tiles on a
+    // side, and the stars touching each tile. The stars are sorted in tiles
+    // on a background thread, the tiles are drawn once it is done.
+    private final int firstTile;
+    private final int tileCount;
+    private volatile int[][] starsOfTile;
+
+    private final List<Tile> tiles = new ArrayList<>();
+
+    // The shown columns and rows, empty before the first update()
+    private int minColumn = 1;
+    private int maxColumn;
+    private int minRow = 1;
+    private int maxRow;
+
+    // The time spent drawing the tiles in the background and the number of
+    // drawn tiles
+    private volatile long drawNanos;
+    private volatile int drawnCount;
+
+    /**
+     * @param stars the stars of the map
+     * @param colors the colors of the stars, as opaque ARGB values
+     * @param mapRadius the radius of the map, centered on the origin
+     */
+    public StarTileLayer(StarField stars, int[] colors, double mapRadius) {
+        this.stars = stars;
+        this.colors = colors;
+        double maxStarRadius = 0;
+        for (int i = 0; i < stars.getCount(); i++) {
+            maxStarRadius = Math.max(maxStarRadius, stars.getRadius(i));
+        }
+        double reach = mapRadius + maxStarRadius + 1;
+        firstTile = (int) Math.floor(-reach / TILE_SIZE);
+        tileCount = (int) Math.floor(reach / TILE_SIZE) - firstTile + 1;
+        setManaged(false);
+        setAutoSizeChildren(false);
+        CompletableFuture.runAsync(this::sortStars, ResourcesManager.getBackgroundExecutor())
+                .thenRunAsync(this::refresh, Platform::runLater);
+    }
+
+    /**
+     * Show the tiles seen through the camera.
+     *
+     * @param viewX the X coordinate of the top left corner of the view
+     * @param viewY the Y coordinate of the top left corner of the view
+     * @param width the width of the view
+     * @param height the height of the view
+     */
+    public void update(double viewX, double viewY, double width, double height) {
+        int left = Math.max(firstTile, (int) Math.floor(viewX / TILE_SIZE));
+        int right = Math.min(firstTile + tileCount - 1, (int) Math.floor((viewX + width) / TILE_SIZE));
+        int top = Math.max(firstTile, (int) Math.floor(viewY / TILE_SIZE));
+        int bottom = Math.min(firstTile + tileCount - 1, (int) Math.floor((viewY + height) / TILE_SIZE));
+        if (left != minColumn || right != maxColumn || top != minRow || bottom != maxRow) {
+            minColumn = left;
+            maxColumn = right;
+            minRow = top;
+            maxRow = bottom;
+            refresh();
+        }
+    }
+
+    /**
+     * Hide the tiles out of view, then give a tile to each place in view
+     * without one.
+     */
+    private void refresh() {
+        if (starsOfTile == null) {
+            return;
+        }
+        for (Tile tile : tiles) {
+            if (tile.used && !isShown(tile.column, tile.row)) {
+                tile.used = false;
+                tile.view.setVisible(false);
+            }
+        }
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                if (starsOfTile[index(column, row)].length > 0 && find(column, row) == null) {
+                    Tile tile = obtain();
+                    tile.used = true;
+                    tile.column = column;
+                    tile.row = row;
+                    draw(tile);
+                }
+            }
+        }
+    }
+
+    private boolean isShown(int column, int row) {
+        return column >= minColumn && column <= maxColumn && row >= minRow && row <= maxRow;
+    }
+
+    private Tile find(int column, int row) {
+        for (Tile tile : tiles) {
+            if (tile.used && tile.column == column && tile.row == row) {
+                return tile;
+            }
+        }
+        return null;
+    }
+
+    private Tile obtain() {
+        for (Tile tile : tiles) {
+            if (!tile.used) {
+                return tile;
+            }
+        }
+        Tile tile = new Tile();
+        tiles.add(tile);
+        getChildren().add(tile.view);
+        return tile;
+    }
+
+    /**
+     * Draw a tile in the background, unless it is already being drawn: it is
+     * then drawn again once done if it was moved in the meantime.
+     */
+    private void draw(Tile tile) {
+        tile.view.setVisible(false);
+        if (tile.drawing) {
+            return;
+        }
+        tile.drawing = true;
+        int column = tile.column;
+        int row = tile.row;
+        CompletableFuture.runAsync(() -> render(tile.pixels, column, row), ResourcesManager.getBackgroundExecutor())
+                .thenRunAsync(() -> {
+                    tile.drawing = false;
+                    if (!tile.used) {
+                        return;
+                    }
+                    if (tile.column != column || tile.row != row) {
+                        draw(tile);
+                        return;
+                    }
+                    tile.image.getPixelWriter().setPixels(0, 0, TILE_SIZE, TILE_SIZE,
+                            PixelFormat.getIntArgbPreInstance(), tile.pixels, 0, TILE_SIZE);
+                    tile.view.setTranslateX(column * (double) TILE_SIZE);
+                    tile.view.setTranslateY(row * (double) TILE_SIZE);
+                    tile.view.setVisible(true);
+                }, Platform::runLater);
+    }
+
+    /**
+     * Draw the stars touching a tile. Called on a background thread.
+     */
+    private void render(int[] pixels, int column, int row) {
+        long start = System.nanoTime();
+        Arrays.fill(pixels, 0);
+        double originX = column * (double) TILE_SIZE;
+        double originY = row * (double) TILE_SIZE;
+        for (int i : starsOfTile[index(column, row)]) {
+            drawStar(pixels, TILE_SIZE, stars.getX(i) - originX, stars.getY(i) - originY,
+                    stars.getRadius(i), colors[stars.getColorIndex(i)]);
+        }
+        drawNanos += System.nanoTime() - start;
+        drawnCount++;
+    }
+
+    /**
+     * Sort the stars in the tiles they touch. Called on a background thread.
+     */
+    private void sortStars() {
+        int[] counts = new int[tileCount * tileCount];
+        for (int pass = 0; pass < 2; pass++) {
+            int[][] sorted = pass == 0 ? null : new int[counts.length][];
+            if (sorted != null) {
+                for (int i = 0; i < counts.length; i++) {
+                    sorted[i] = new int[counts[i]];
+                    counts[i] = 0;
+                }
+            }
+            for (int i = 0; i < stars.getCount(); i++) {
+                double reach = stars.getRadius(i) + 1;
+                int left = (int) Math.floor((stars.getX(i) - reach) / TILE_SIZE);
+                int right = (int) Math.floor((stars.getX(i) + reach) / TILE_SIZE);
+                int top = (int) Math.floor((stars.getY(i) - reach) / TILE_SIZE);
+                int bottom = (int) Math.floor((stars.getY(i) + reach) / TILE_SIZE);
+                for (int row = top; row <= bottom; row++) {
+                    for (int column = left; column <= right; column++) {
+                        int tile = index(column, row);
+                        if (sorted != null) {
+                            sorted[tile][counts[tile]] = i;
+                        }
+                        counts[tile]++;
+                    }
+                }
+            }
+            if (sorted != null) {
+                starsOfTile = sorted;
+            }
+        }
+    }
+
+    private int index(int column, int row) {
+        return (row - firstTile) * tileCount + column - firstTile;
+    }
+
+    /**
+     * Draw an antialiased disc over premultiplied ARGB pixels.
+     *
+     * @param pixels the premultiplied ARGB pixels, row by row
+     * @param size the width and height of the pixels
+     * @param x the X coordinate of the center
+     * @param y the Y coordinate of the center
+     * @param radius the radius of the disc
+     * @param color the opaque ARGB color of the disc
+     */
+    static void drawStar(int[] pixels, int size, double x, double y, double radius, int color) {
+        int left = Math.max(0, (int) Math.floor(x - radius - 1));
+        int right = Math.min(size - 1, (int) Math.ceil(x + radius + 1));
+        int top = Math.max(0, (int) Math.floor(y - radius - 1));
+        int bottom = Math.min(size - 1, (int) Math.ceil(y + radius + 1));
+        int red = (color >> 16) & 0xff;
+        int green = (color >> 8) & 0xff;
+        int blue = color & 0xff;
+        for (int py = top; py <= bottom; py++) {
+            double dy = py + 0.5 - y;
+            for (int px = left; px <= right; px++) {
+                double dx = px + 0.5 - x;
+                // The part of the pixel covered by the disc, approximated
+                // from the distance of its center to the edge
+                double coverage = Math.min(1, radius + 0.5 - Math.sqrt(dx * dx + dy * dy));
+                if (coverage <= 0) {
+                    continue;
+                }
+                int i = py * size + px;
+                int dst = pixels[i];
+                double keep = 1 - coverage;
+                int a = (int) (255 * coverage + ((dst >>> 24) & 0xff) * keep);
+                int r = (int) (red * coverage + ((dst >> 16) & 0xff) * keep);
+                int g = (int) (green * coverage + ((dst >> 8) & 0xff) * keep);
+                int b = (int) (blue * coverage + (dst & 0xff) * keep);
+                pixels[i] = (a << 24) | (r << 16) | (g << 8) | b;
+            }
+        }
+    }
+
+    /**
+     * @return the number of tiles drawn since the start
+     */
+    public int getDrawnCount() {
+        return drawnCount;
+    }
+
+    /**
+     * @return the time spent drawing the tiles in the background in
+     * nanoseconds
+     */
+    public long getDrawNanos() {
+        return drawNanos;
+    }
+
+    /**
+     * A tile image and its node. The pixels are drawn in the background,
+     * then copied into the image.
+     */
+    private static class Tile {
+
+        private final int[] pixels = new int[TILE_SIZE * TILE_SIZE];
+        private final WritableImage image = new WritableImage(TILE_SIZE, TILE_SIZE);
+        private final ImageView view = new ImageView(image);
+
+        private int column;
+        private int row;
+
+        // If the tile is shown or waiting to be, and if it is being drawn
+        private boolean used;
+        private boolean drawing;
+    }
+}
@@ -4,10 +4,10 @@ module edu.vanier.ufo {
     requires javafx.graphics;
     requires javafx.base;
     requires javafx.media;
+    requires java.desktop;
+    requires edu.vanier.ufo.core;
 
     opens edu.vanier.ufo.helpers to javafx.fxml;
-    exports edu.vanier.ufo.engine;
-    exports edu.vanier.ufo.game;
     exports edu.vanier.ufo.helpers;
     exports edu.vanier.ufo.ui;
 
@@ -0,0 +1,92 @@
+package edu.vanier.ufo.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import javafx.geometry.Bounds;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Shape;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the closed-form collision checks with <code>Shape.intersect</code>,
+ * which the game used before, on random pairs of circles.
+ */
+class CollisionMathTest {
+
+    private static final int PAIR_COUNT = 20_000;
+
+    /**
+     * Shape.intersect works on Bezier curves close to the circles, so the
+     * pairs nearly touching each other are left out.
+     */
+    private static final double TANGENT_MARGIN = 0.05;
+
+    /**
+     * The largest distance between both contact points, as a part of the
+     * smaller radius.
+     */
+    private static final double CONTACT_TOLERANCE = 0.01;
+
+    @Test
+    void overlapMatchesShapeIntersect() {
+        Random random = new Random(42);
+        int compared = 0;
+        for (int i = 0; i < PAIR_COUNT; i++) {
+            double[] pair = randomPair(random);
+            double distance = Math.hypot(pair[3] - pair[0], pair[4] - pair[1]);
+            if (Math.abs(distance - pair[2] - pair[5]) < TANGENT_MARGIN) {
+                continue;
+            }
+            boolean expected = intersect(pair).getBoundsInLocal().getWidth() > -1;
+            assertEquals(expected, CollisionMath.circlesOverlap(
+                    pair[0], pair[1], pair[2], pair[3], pair[4], pair[5]),
+                    () -> describe(pair));
+            compared++;
+        }
+        assertTrue(compared > PAIR_COUNT * 0.99);
+    }
+
+    @Test
+    void contactMatchesShapeIntersect() {
+        Random random = new Random(7);
+        int compared = 0;
+        for (int i = 0; i < PAIR_COUNT; i++) {
+            double[] pair = randomPair(random);
+            double distance = Math.hypot(pair[3] - pair[0], pair[4] - pair[1]);
+            if (distance > pair[2] + pair[5] - TANGENT_MARGIN) {
+                continue;
+            }
+            Bounds bounds = intersect(pair).getBoundsInLocal();
+            double contactX = CollisionMath.contactX(pair[0], pair[1], pair[2], pair[3], pair[4], pair[5]);
+            double contactY = CollisionMath.contactY(pair[0], pair[1], pair[2], pair[3], pair[4], pair[5]);
+            double error = Math.hypot(contactX - bounds.getCenterX(), contactY - bounds.getCenterY());
+            assertTrue(error <= CONTACT_TOLERANCE * Math.min(pair[2], pair[5]),
+                    () -> describe(pair) + " contact " + contactX + ", " + contactY
+                    + " expected " + bounds.getCenterX() + ", " + bounds.getCenterY());
+            compared++;
+        }
+        assertTrue(compared > PAIR_COUNT / 10);
+    }
+
+    /**
+     * @return the center and the radius of two circles of the size of the
+     * hitboxes of the game, close enough to overlap often
+     */
+    private static double[] randomPair(Random random) {
+        return new double[]{
+            random.nextDouble(-100, 100), random.nextDouble(-100, 100), random.nextDouble(5, 60),
+            random.nextDouble(-100, 100), random.nextDouble(-100, 100), random.nextDouble(5, 60)
+        };
+    }
+
+    private static Shape intersect(double[] pair) {
+        return Shape.intersect(new Circle(pair[0], pair[1], pair[2]), new Circle(pair[3], pair[4], pair[5]));
+    }
+
+    private static String describe(double[] pair) {
+        return String.format("circles (%f, %f, r %f) and (%f, %f, r %f)",
+                pair[0], pair[1], pair[2], pair[3], pair[4], pair[5]);
+    }
+}
@@ -0,0 +1,60 @@
+package edu.vanier.ufo.benchmarks;
+
+import edu.vanier.ufo.engine.EntityStore;
+import edu.vanier.ufo.engine.GameEngine;
+import edu.vanier.ufo.engine.Sprite;
+import edu.vanier.ufo.game.Atom;
+import edu.vanier.ufo.game.SpriteImage;
+import java.util.Random;
+
+/**
+ * A game engine without rules, giving the benchmarks access to the phases of
+ * a step. Sprites leaving the world are kept in play so that every
+ * invocation does the same work.
+ */
+class BenchmarkEngine extends GameEngine {
+
+    BenchmarkEngine() {
+        super(65);
+    }
+
+    @Override
+    public void initialize() {
+    }
+
+    @Override
+    protected void handleOutOfBounds(Sprite sprite) {
+    }
+
+    void runHandleCollision() {
+        handleCollision();
+    }
+
+    boolean runCheckCollision(Sprite spriteA, Sprite spriteB) {
+        return checkCollision(spriteA, spriteB);
+    }
+
+    void runHandleBoundary(Sprite sprite) {
+        handleBoundary(sprite);
+    }
+
+    /**
+     * Place an atom at a random position in a disk.
+     *
+     * @param random the randomizer
+     * @param atom the atom to place
+     * @param radius the radius of the disk, centered on the origin
+     * @return the placed atom
+     */
+    static <T extends Atom> T place(Random random, T atom, double radius) {
+        double angle = random.nextDouble(0, 2 * Math.PI);
+        double distance = radius * Math.sqrt(random.nextDouble());
+        atom.placeAt(Math.cos(angle) * distance, Math.sin(angle) * distance);
+        atom.updateCollisionBounds();
+        return atom;
+    }
+
+    static Atom atom(EntityStore entities) {
+        return new Atom(entities, SpriteImage.ENEMY1);
+    }
+}
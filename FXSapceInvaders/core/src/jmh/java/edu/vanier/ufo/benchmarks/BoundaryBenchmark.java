@@ -0,0 +1,72 @@
+package edu.vanier.ufo.benchmarks;
+
+import edu.vanier.ufo.engine.BoundaryPolicy;
+import edu.vanier.ufo.engine.Sprite;
+import edu.vanier.ufo.game.Atom;
+import edu.vanier.ufo.game.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The test keeping the sprites inside the map. A tenth of the sprites are
+ * placed out of the map so that the policy is applied.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BoundaryBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int count;
+
+    @Param({"IMPLODE", "CLAMP", "REFLECT", "RETURN", "WRAP"})
+    BoundaryPolicy policy;
+
+    private BenchmarkEngine engine;
+    private Sprite[] sprites;
+    private double[] startX;
+    private double[] startY;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        engine = new BenchmarkEngine();
+        engine.setWorldBounds(0, 0, Map.getMAP_RADIUS());
+        engine.setDefaultBoundaryPolicy(policy);
+        sprites = new Sprite[count];
+        startX = new double[count];
+        startY = new double[count];
+        for (int i = 0; i < count; i++) {
+            double radius = i % 10 == 0 ? Map.getMAP_RADIUS() * 1.5 : Map.getMAP_RADIUS() * 0.9;
+            Atom atom = BenchmarkEngine.place(random, BenchmarkEngine.atom(engine.getEntityStore()), radius);
+            atom.setVelocity(random.nextDouble(-10, 10), random.nextDouble(-10, 10));
+            sprites[i] = atom;
+            startX[i] = atom.getX();
+            startY[i] = atom.getY();
+        }
+    }
+
+    /**
+     * Put each sprite back at its start, then keep it in the map.
+     */
+    @Benchmark
+    public double handleOutOfMap() {
+        double sum = 0;
+        for (int i = 0; i < sprites.length; i++) {
+            Sprite sprite = sprites[i];
+            sprite.placeAt(startX[i], startY[i]);
+            sprite.updateCollisionBounds();
+            engine.runHandleBoundary(sprite);
+            sum += sprite.getX();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,97 @@
+package edu.vanier.ufo.benchmarks;
+
+import edu.vanier.ufo.engine.Sprite;
+import edu.vanier.ufo.game.Invader;
+import edu.vanier.ufo.game.Map;
+import edu.vanier.ufo.game.Missile;
+import edu.vanier.ufo.game.SpriteImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The collision checks of a step: the whole broadphase and narrowphase, and
+ * the narrowphase alone. Half of the sprites are missiles, the other half
+ * invaders, spread over the map. The candidate pairs found by the broadphase
+ * and the steps are counted next to the time of a step: JMH sums them over
+ * the measured iterations, so pairs divided by steps is the number of
+ * candidate pairs of a step.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CollisionBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    int count;
+
+    private BenchmarkEngine engine;
+    private Sprite[] sprites;
+    private int hits;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        engine = new BenchmarkEngine();
+        engine.setWorldBounds(0, 0, Map.getMAP_RADIUS());
+        engine.getCollisionMatrix().register(Missile.COLLISION_LAYER, Invader.COLLISION_LAYER,
+                (missile, invader) -> hits++);
+        sprites = new Sprite[count];
+        for (int i = 0; i < count; i++) {
+            sprites[i] = i % 2 == 0
+                    ? BenchmarkEngine.place(random, new Missile(engine.getEntityStore(), SpriteImage.ROCKET_NORMAL), Map.getMAP_RADIUS())
+                    : BenchmarkEngine.place(random, new Invader(engine.getEntityStore(), SpriteImage.ENEMY1, 1), Map.getMAP_RADIUS());
+            engine.getSpriteManager().addSprites(sprites[i]);
+        }
+        engine.getSpriteManager().applyChanges();
+    }
+
+    /**
+     * The candidate pairs and the steps of an iteration, reported as
+     * secondary results.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PairCounter {
+
+        public long pairs;
+        public long steps;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            pairs = 0;
+            steps = 0;
+        }
+    }
+
+    @Benchmark
+    public int handleCollision(PairCounter counter) {
+        engine.runHandleCollision();
+        counter.pairs += engine.getPairCount();
+        counter.steps++;
+        return hits;
+    }
+
+    /**
+     * Check each sprite against the next one, without broadphase.
+     */
+    @Benchmark
+    public int checkCollision() {
+        int collisions = 0;
+        for (int i = 1; i < sprites.length; i++) {
+            if (engine.runCheckCollision(sprites[i - 1], sprites[i])) {
+                collisions++;
+            }
+        }
+        return collisions;
+    }
+}
@@ -0,0 +1,87 @@
+package edu.vanier.ufo.benchmarks;
+
+import edu.vanier.ufo.engine.EntityStore;
+import edu.vanier.ufo.engine.SpriteManager;
+import edu.vanier.ufo.game.Atom;
+import edu.vanier.ufo.game.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The loops of a step over the columns of the entity store, and the creation
+ * and destruction of entities.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityStoreBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int count;
+
+    private EntityStore entities;
+    private Atom[] atoms;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        entities = new EntityStore();
+        SpriteManager spriteManager = new SpriteManager();
+        atoms = new Atom[count];
+        for (int i = 0; i < count; i++) {
+            Atom atom = BenchmarkEngine.place(random, BenchmarkEngine.atom(entities), Map.getMAP_RADIUS());
+            atom.setVelocity(random.nextDouble(-10, 10), random.nextDouble(-10, 10));
+            spriteManager.addSprites(atom);
+            atoms[i] = atom;
+        }
+        spriteManager.applyChanges();
+    }
+
+    /**
+     * Keep the previous state, move and place the colliding circle of every
+     * entity.
+     */
+    @Benchmark
+    public int step() {
+        entities.beginStep();
+        entities.integrate();
+        entities.updateCollisionBounds();
+        return entities.getCount();
+    }
+
+    /**
+     * The same work through the sprites, one entity at a time.
+     */
+    @Benchmark
+    public double stepThroughSprites() {
+        double sum = 0;
+        for (Atom atom : atoms) {
+            atom.storePreviousState();
+            atom.setPosition(atom.getX() + atom.getVelocityX(), atom.getY() + atom.getVelocityY());
+            atom.updateCollisionBounds();
+            sum += atom.getX();
+        }
+        return sum;
+    }
+
+    /**
+     * Destroy one entity out of ten, from the middle of the rows, and create
+     * as many.
+     */
+    @Benchmark
+    public int churn() {
+        for (int i = 0; i < atoms.length; i += 10) {
+            entities.destroy(atoms[i].getHandle());
+            atoms[i] = BenchmarkEngine.atom(entities);
+        }
+        return entities.getCount();
+    }
+}
@@ -0,0 +1,63 @@
+package edu.vanier.ufo.benchmarks;
+
+import edu.vanier.ufo.game.GameSimulation;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A whole step of the game, the spaceship firing a volley every few steps.
+ * Missiles and invaders come from their pools, so a step should allocate
+ * almost nothing once the pools are warm; run it with -prof gc to see the
+ * bytes allocated per step. A new game starts when one ends, every few
+ * hundred steps, and its allocation is counted with the steps; newGame()
+ * measures it alone.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameStepBenchmark {
+
+    private static final int FPS = 60;
+
+    /**
+     * Number of steps between two volleys.
+     */
+    private static final int FIRE_INTERVAL = 4;
+
+    @Param({"1", "4"})
+    int level;
+
+    private GameSimulation simulation;
+    private int stepCount;
+
+    @Setup
+    public void setup() {
+        newGame();
+    }
+
+    @Benchmark
+    public GameSimulation newGame() {
+        simulation = new GameSimulation(FPS, level);
+        simulation.initialize();
+        return simulation;
+    }
+
+    @Benchmark
+    public int step() {
+        if (simulation.isFinished()) {
+            newGame();
+        }
+        if (++stepCount % FIRE_INTERVAL == 0) {
+            simulation.fire();
+        }
+        simulation.step();
+        return simulation.getGameScore();
+    }
+}
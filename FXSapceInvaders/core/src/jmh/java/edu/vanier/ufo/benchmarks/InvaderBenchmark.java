@@ -0,0 +1,85 @@
+package edu.vanier.ufo.benchmarks;
+
+import edu.vanier.ufo.engine.EntityStore;
+import edu.vanier.ufo.game.Invader;
+import edu.vanier.ufo.game.Map;
+import edu.vanier.ufo.game.Swarm;
+import edu.vanier.ufo.game.SpriteImage;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The steering of the invaders toward the spaceship, for one step: each
+ * invader computing its own direction, and the swarm reading the directions
+ * from its flow field. Both steer the same invaders, the ones whose retarget
+ * is due in the step. The target moves by more than a quarter of a cell of
+ * the field at each step, so the swarm aims its whole field again every
+ * time, its worst case.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InvaderBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int count;
+
+    private List<Invader> invaders;
+    private final Swarm swarm = new Swarm();
+    private double targetX;
+    private double targetY;
+    private int stepCount;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        EntityStore entities = new EntityStore();
+        Invader[] placed = new Invader[count];
+        for (int i = 0; i < count; i++) {
+            placed[i] = BenchmarkEngine.place(random, new Invader(entities, SpriteImage.ENEMY1, 1), Map.getMAP_RADIUS());
+            swarm.join(placed[i]);
+        }
+        invaders = Arrays.asList(placed);
+        // Give the invaders their retarget phases
+        swarm.steer(invaders, targetX, targetY);
+    }
+
+    /**
+     * Move the target by 100 pixels, back and forth over 1000 pixels.
+     */
+    private void moveTarget() {
+        targetX = (targetX + 100) % 1000;
+    }
+
+    @Benchmark
+    public double exact() {
+        moveTarget();
+        int phase = stepCount++ % Swarm.RETARGET_INTERVAL;
+        for (int i = 0; i < invaders.size(); i++) {
+            Invader invader = invaders.get(i);
+            if (invader.getRetargetPhase() == phase && !invader.isDead()) {
+                double angle = Math.atan2(targetY - invader.getCenterY(), targetX - invader.getCenterX());
+                invader.setVelocity(Math.cos(angle) * invader.getSpeed(), Math.sin(angle) * invader.getSpeed());
+                invader.setRotation(Math.toDegrees(angle));
+            }
+        }
+        return invaders.get(0).getRotation();
+    }
+
+    @Benchmark
+    public double swarm() {
+        moveTarget();
+        swarm.steer(invaders, targetX, targetY);
+        return invaders.get(0).getRotation();
+    }
+}
@@ -0,0 +1,73 @@
+package edu.vanier.ufo.benchmarks;
+
+import edu.vanier.ufo.engine.EntityStore;
+import edu.vanier.ufo.engine.ObjectPool;
+import edu.vanier.ufo.engine.SpriteManager;
+import edu.vanier.ufo.game.Atom;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The same number of sprites dying and spawning at each step, taken anywhere
+ * among the sprites in play. The cost of a step should not depend on the
+ * number of sprites in play.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpriteChurnBenchmark {
+
+    /**
+     * Number of sprites dying and spawning at each step.
+     */
+    private static final int CHURN = 64;
+
+    @Param({"1000", "10000", "100000"})
+    int count;
+
+    private SpriteManager spriteManager;
+    private ObjectPool<Atom> pool;
+    private Atom[] inPlay;
+
+    // The sprites dying at each step, picked at random in advance
+    private final int[] dying = new int[4096];
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        EntityStore entities = new EntityStore();
+        spriteManager = new SpriteManager();
+        pool = new ObjectPool<>(() -> BenchmarkEngine.atom(entities), Atom::reset);
+        spriteManager.registerPool(Atom.class, pool);
+        inPlay = new Atom[count];
+        for (int i = 0; i < count; i++) {
+            inPlay[i] = pool.obtain();
+            spriteManager.addSprites(inPlay[i]);
+        }
+        spriteManager.applyChanges();
+        for (int i = 0; i < dying.length; i++) {
+            dying[i] = random.nextInt(count);
+        }
+    }
+
+    @Benchmark
+    public int step() {
+        for (int i = 0; i < CHURN; i++) {
+            int index = dying[next++ & (dying.length - 1)];
+            spriteManager.addSpritesToBeRemoved(inPlay[index]);
+            inPlay[index] = pool.obtain();
+            spriteManager.addSprites(inPlay[index]);
+        }
+        spriteManager.cleanupSprites();
+        return spriteManager.getAllSprites().size();
+    }
+}
@@ -0,0 +1,66 @@
+package edu.vanier.ufo.benchmarks;
+
+import edu.vanier.ufo.engine.EntityStore;
+import edu.vanier.ufo.engine.ObjectPool;
+import edu.vanier.ufo.engine.Sprite;
+import edu.vanier.ufo.engine.SpriteManager;
+import edu.vanier.ufo.game.Atom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The bookkeeping of the sprite manager at each step.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpriteManagerBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int count;
+
+    private SpriteManager spriteManager;
+    private ObjectPool<Atom> pool;
+
+    // One sprite out of ten dies at each step
+    private Sprite[] dying;
+
+    @Setup
+    public void setup() {
+        EntityStore entities = new EntityStore();
+        spriteManager = new SpriteManager();
+        pool = new ObjectPool<>(() -> BenchmarkEngine.atom(entities), Atom::reset);
+        spriteManager.registerPool(Atom.class, pool);
+        dying = new Sprite[count / 10];
+        for (int i = 0; i < count; i++) {
+            Sprite sprite = pool.obtain();
+            spriteManager.addSprites(sprite);
+            if (i % 10 == 0 && i / 10 < dying.length) {
+                dying[i / 10] = sprite;
+            }
+        }
+        spriteManager.applyChanges();
+    }
+
+    /**
+     * Remove the dying sprites, then add as many from the pool to keep the
+     * count.
+     */
+    @Benchmark
+    public int cleanupSprites() {
+        spriteManager.addSpritesToBeRemoved(dying);
+        spriteManager.cleanupSprites();
+        for (int i = 0; i < dying.length; i++) {
+            dying[i] = pool.obtain();
+        }
+        spriteManager.addSprites(dying);
+        return spriteManager.getAllSprites().size();
+    }
+}
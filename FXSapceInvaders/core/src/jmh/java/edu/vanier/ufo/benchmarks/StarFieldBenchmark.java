@@ -0,0 +1,32 @@
+package edu.vanier.ufo.benchmarks;
+
+import edu.vanier.ufo.game.Map;
+import edu.vanier.ufo.game.StarField;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The generation of the stars of the map.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StarFieldBenchmark {
+
+    @Param({"1000", "6000", "20000"})
+    int count;
+
+    private final Random random = new Random(42);
+
+    @Benchmark
+    public StarField generate() {
+        return new StarField(random, count, Map.getMAP_RADIUS(), 7);
+    }
+}
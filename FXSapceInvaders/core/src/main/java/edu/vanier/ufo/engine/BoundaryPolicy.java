@@ -0,0 +1,35 @@
+package edu.vanier.ufo.engine;
+
+/**
+ * What the game engine does with a sprite whose colliding circle is leaving
+ * the circular world. See <code>GameEngine.setBoundaryPolicy()</code>.
+ */
+public enum BoundaryPolicy {
+
+    /**
+     * The sprite is handed to <code>GameEngine.handleOutOfBounds()</code>,
+     * which removes it from the game by default.
+     */
+    IMPLODE,
+
+    /**
+     * The sprite is put back on the edge and stops moving outward.
+     */
+    CLAMP,
+
+    /**
+     * The sprite is put back on the edge and bounces off it.
+     */
+    REFLECT,
+
+    /**
+     * The sprite stays where it is and heads back toward the center of the
+     * world, at a speed of 1 until its velocity is changed again.
+     */
+    RETURN,
+
+    /**
+     * The sprite reappears on the opposite side of the world.
+     */
+    WRAP
+}
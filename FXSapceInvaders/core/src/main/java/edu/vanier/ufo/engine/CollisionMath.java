@@ -0,0 +1,165 @@
+package edu.vanier.ufo.engine;
+
+/**
+ * Closed-form tests between colliding circles. Every hitbox of the game is a
+ * circle, so the collision checks only need the centers and the radii and no
+ * JavaFX Shape has to be built.
+ */
+public final class CollisionMath {
+
+    private CollisionMath() {
+    }
+
+    /**
+     * Check if two circles overlap. Circles that only touch each other do not
+     * overlap, like with <code>Shape.intersect</code>.
+     *
+     * @param ax the X coordinate of the first center
+     * @param ay the Y coordinate of the first center
+     * @param ar the radius of the first circle
+     * @param bx the X coordinate of the second center
+     * @param by the Y coordinate of the second center
+     * @param br the radius of the second circle
+     * @return if the two circles overlap
+     */
+    public static boolean circlesOverlap(double ax, double ay, double ar,
+            double bx, double by, double br) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        double reach = ar + br;
+        return dx * dx + dy * dy < reach * reach;
+    }
+
+    /**
+     * Locate the X coordinate of the contact point of two overlapping circles.
+     * The contact point is the center of the bounding box of the overlapping
+     * region, like the center of the bounds of <code>Shape.intersect</code>.
+     * It is only on the line joining both centers when that line is
+     * horizontal or vertical.
+     *
+     * The leftmost and rightmost points of the region are either points where
+     * both circles cross, or the leftmost or rightmost point of a circle if it
+     * is inside the other one.
+     *
+     * @param ax the X coordinate of the first center
+     * @param ay the Y coordinate of the first center
+     * @param ar the radius of the first circle
+     * @param bx the X coordinate of the second center
+     * @param by the Y coordinate of the second center
+     * @param br the radius of the second circle
+     * @return the X coordinate of the contact point
+     */
+    public static double contactX(double ax, double ay, double ar,
+            double bx, double by, double br) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        double distanceSquared = dx * dx + dy * dy;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+
+        // The sides of each circle inside the other one
+        if (dy * dy <= br * br) {
+            double reach = Math.sqrt(br * br - dy * dy);
+            if (Math.abs(ax + ar - bx) <= reach) {
+                max = ax + ar;
+            }
+            if (Math.abs(ax - ar - bx) <= reach) {
+                min = ax - ar;
+            }
+        }
+        if (dy * dy <= ar * ar) {
+            double reach = Math.sqrt(ar * ar - dy * dy);
+            if (Math.abs(bx + br - ax) <= reach) {
+                max = Math.max(max, bx + br);
+            }
+            if (Math.abs(bx - br - ax) <= reach) {
+                min = Math.min(min, bx - br);
+            }
+        }
+
+        // The points where both circles cross
+        double distance = Math.sqrt(distanceSquared);
+        if (distance > Math.abs(ar - br) && distance < ar + br) {
+            double along = (ar * ar - br * br + distanceSquared) / (2 * distance);
+            double across = Math.sqrt(Math.max(0, ar * ar - along * along));
+            double middleX = ax + dx * along / distance;
+            double offsetX = dy * across / distance;
+            min = Math.min(min, Math.min(middleX - offsetX, middleX + offsetX));
+            max = Math.max(max, Math.max(middleX - offsetX, middleX + offsetX));
+        }
+
+        if (min > max) {
+            // The circles only touch: the middle of the gap between them
+            if (distance == 0) {
+                return ax;
+            }
+            return ax + dx * (distance - br + ar) / 2 / distance;
+        }
+        return (min + max) / 2;
+    }
+
+    /**
+     * Locate the Y coordinate of the contact point of two overlapping
+     * circles, see contactX().
+     *
+     * @param ax the X coordinate of the first center
+     * @param ay the Y coordinate of the first center
+     * @param ar the radius of the first circle
+     * @param bx the X coordinate of the second center
+     * @param by the Y coordinate of the second center
+     * @param br the radius of the second circle
+     * @return the Y coordinate of the contact point
+     */
+    public static double contactY(double ax, double ay, double ar,
+            double bx, double by, double br) {
+        // The same search with the axes swapped
+        return contactX(ay, ax, ar, by, bx, br);
+    }
+
+    /**
+     * Find when two moving circles start to overlap during a frame. Both
+     * circles move in a straight line from their previous center to their
+     * current center, so a fast circle cannot go through a thin one between
+     * two frames.
+     *
+     * @param ax0 the previous X coordinate of the first center
+     * @param ay0 the previous Y coordinate of the first center
+     * @param ax1 the current X coordinate of the first center
+     * @param ay1 the current Y coordinate of the first center
+     * @param ar the radius of the first circle
+     * @param bx0 the previous X coordinate of the second center
+     * @param by0 the previous Y coordinate of the second center
+     * @param bx1 the current X coordinate of the second center
+     * @param by1 the current Y coordinate of the second center
+     * @param br the radius of the second circle
+     * @return the time of impact between 0 (previous frame) and 1 (current
+     * frame), or -1 if the circles do not overlap during the frame
+     */
+    public static double timeOfImpact(double ax0, double ay0, double ax1, double ay1, double ar,
+            double bx0, double by0, double bx1, double by1, double br) {
+        // Relative position and motion of the second circle
+        double px = bx0 - ax0;
+        double py = by0 - ay0;
+        double vx = (bx1 - bx0) - (ax1 - ax0);
+        double vy = (by1 - by0) - (ay1 - ay0);
+        double reach = ar + br;
+
+        double c = px * px + py * py - reach * reach;
+        if (c < 0) {
+            // Already overlapping
+            return 0;
+        }
+        double a = vx * vx + vy * vy;
+        double b = px * vx + py * vy;
+        if (a == 0 || b >= 0) {
+            // Not moving or moving apart
+            return -1;
+        }
+        double discriminant = b * b - a * c;
+        if (discriminant < 0) {
+            return -1;
+        }
+        double time = (-b - Math.sqrt(discriminant)) / a;
+        return time <= 1 ? time : -1;
+    }
+}
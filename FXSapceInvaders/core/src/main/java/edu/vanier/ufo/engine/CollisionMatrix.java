@@ -0,0 +1,94 @@
+package edu.vanier.ufo.engine;
+
+/**
+ * The table telling which collision layers interact with each other and which
+ * handler resolves a collision between two layers. Each sprite belongs to one
+ * layer (see <code>Sprite.setCollisionLayer()</code>). Layers without a
+ * registered handler never collide, so the broadphase does not even report
+ * their pairs.
+ */
+public class CollisionMatrix {
+
+    /**
+     * Number of available layers. A layer is a bit of an int mask.
+     */
+    public static final int MAX_LAYERS = 32;
+
+    /**
+     * Resolves the collision between a sprite of a layer and a sprite of
+     * another layer.
+     */
+    public interface Handler {
+
+        /**
+         * @param spriteA the sprite of the first registered layer
+         * @param spriteB the sprite of the second registered layer
+         */
+        void handle(Sprite spriteA, Sprite spriteB);
+    }
+
+    /**
+     * For each layer, the bits of the layers it collides with.
+     */
+    private final int[] layerMasks = new int[MAX_LAYERS];
+
+    /**
+     * The handler of each ordered pair of layers, indexed by
+     * <code>layerA * MAX_LAYERS + layerB</code>.
+     */
+    private final Handler[] handlers = new Handler[MAX_LAYERS * MAX_LAYERS];
+
+    /**
+     * Allow two layers to collide. The handler always receives the sprite of
+     * layerA first, whatever the order in which the pair is found.
+     *
+     * @param layerA the first layer
+     * @param layerB the second layer
+     * @param handler the handler resolving the collision
+     */
+    public void register(int layerA, int layerB, Handler handler) {
+        layerMasks[layerA] |= 1 << layerB;
+        layerMasks[layerB] |= 1 << layerA;
+        handlers[layerA * MAX_LAYERS + layerB] = handler;
+        if (layerA != layerB) {
+            handlers[layerB * MAX_LAYERS + layerA] = (spriteB, spriteA) -> handler.handle(spriteA, spriteB);
+        }
+    }
+
+    /**
+     * @param layer a collision layer
+     * @return the bits of the layers colliding with the given layer
+     */
+    public int getLayerMask(int layer) {
+        return layerMasks[layer];
+    }
+
+    /**
+     * Check if two sprites are allowed to collide. Both the table and the
+     * collision mask of each sprite must allow it.
+     *
+     * @param spriteA the first sprite
+     * @param spriteB the second sprite
+     * @return if the pair has to be checked
+     */
+    public boolean canCollide(Sprite spriteA, Sprite spriteB) {
+        int layerA = spriteA.getCollisionLayer();
+        int layerB = spriteB.getCollisionLayer();
+        return (layerMasks[layerA] & spriteA.getCollisionMask() & (1 << layerB)) != 0
+                && (spriteB.getCollisionMask() & (1 << layerA)) != 0;
+    }
+
+    /**
+     * Resolve the collision of two colliding sprites with the handler of their
+     * layers.
+     *
+     * @param spriteA the first sprite
+     * @param spriteB the second sprite
+     */
+    public void dispatch(Sprite spriteA, Sprite spriteB) {
+        Handler handler = handlers[spriteA.getCollisionLayer() * MAX_LAYERS + spriteB.getCollisionLayer()];
+        if (handler != null) {
+            handler.handle(spriteA, spriteB);
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package edu.vanier.ufo.engine;
+
+import java.util.Arrays;
+
+/**
+ * Holds the simulated state of every sprite in primitive columns, one array
+ * per field, so that the integration and the collision loops run over
+ * contiguous memory instead of chasing each sprite object. A Sprite is a thin
+ * view over its row.
+ *
+ * The rows are kept packed: removing an entity moves the last row into its
+ * place. An entity is therefore found through its handle, which holds the
+ * stable id of the entity and its generation. The generation of an id changes
+ * each time its entity is destroyed, so a handle kept after that is detected
+ * instead of silently reading the row of another entity.
+ *
+ * The store is used by the simulation thread only.
+ */
+public class EntityStore {
+
+    /**
+     * The flags of an entity.
+     */
+    public static final int IN_PLAY = 1;
+    public static final int DEAD = 1 << 1;
+    public static final int FAST_MOVER = 1 << 2;
+    static final int PREVIOUS_STATE_SET = 1 << 3;
+    static final int COLLISION_BOUNDS_SET = 1 << 4;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // The position (top left corner of the image) and rotation in degrees,
+    // with their value at the start of the current step
+    double[] x = new double[INITIAL_CAPACITY];
+    double[] y = new double[INITIAL_CAPACITY];
+    double[] rotation = new double[INITIAL_CAPACITY];
+    double[] previousX = new double[INITIAL_CAPACITY];
+    double[] previousY = new double[INITIAL_CAPACITY];
+    double[] previousRotation = new double[INITIAL_CAPACITY];
+
+    // The velocity in pixels per step
+    double[] vx = new double[INITIAL_CAPACITY];
+    double[] vy = new double[INITIAL_CAPACITY];
+
+    // The colliding circle, relative to the top left corner of the image
+    double[] offsetX = new double[INITIAL_CAPACITY];
+    double[] offsetY = new double[INITIAL_CAPACITY];
+    double[] radius = new double[INITIAL_CAPACITY];
+
+    // The center of the colliding circle in world coordinates, now and at
+    // the previous step
+    double[] centerX = new double[INITIAL_CAPACITY];
+    double[] centerY = new double[INITIAL_CAPACITY];
+    double[] previousCenterX = new double[INITIAL_CAPACITY];
+    double[] previousCenterY = new double[INITIAL_CAPACITY];
+
+    // The collision layer and the bits of the layers it collides with
+    int[] layer = new int[INITIAL_CAPACITY];
+    int[] mask = new int[INITIAL_CAPACITY];
+
+    int[] health = new int[INITIAL_CAPACITY];
+
+    // The number of steps played since the entity entered the game
+    int[] lifetime = new int[INITIAL_CAPACITY];
+    int[] flags = new int[INITIAL_CAPACITY];
+
+    // The sprite viewing each row and the id of its entity
+    Sprite[] sprites = new Sprite[INITIAL_CAPACITY];
+    private int[] idOfRow = new int[INITIAL_CAPACITY];
+
+    // The row and the generation of each id, and the ids free for reuse
+    private int[] rowOfId = new int[INITIAL_CAPACITY];
+    private int[] generations = new int[INITIAL_CAPACITY];
+    private int[] freeIds = new int[INITIAL_CAPACITY];
+    private int freeIdCount;
+    private int nextId;
+
+    private int count;
+
+    /**
+     * Create the entity of a sprite. Its row is zeroed, except the collision
+     * mask which accepts every layer.
+     *
+     * @param sprite the sprite viewing the entity
+     * @return the handle of the entity
+     */
+    public long create(Sprite sprite) {
+        if (count == x.length) {
+            grow(count * 2);
+        }
+        int id;
+        if (freeIdCount > 0) {
+            id = freeIds[--freeIdCount];
+        } else {
+            id = nextId++;
+            if (id == rowOfId.length) {
+                rowOfId = Arrays.copyOf(rowOfId, id * 2);
+                generations = Arrays.copyOf(generations, id * 2);
+            }
+        }
+        int row = count++;
+        clearRow(row);
+        sprites[row] = sprite;
+        idOfRow[row] = id;
+        rowOfId[id] = row;
+        return ((long) generations[id] << 32) | id;
+    }
+
+    /**
+     * Destroy an entity. The last row takes its place, and its handle is not
+     * valid anymore.
+     *
+     * @param handle the handle of the entity
+     */
+    public void destroy(long handle) {
+        int id = (int) handle;
+        int row = row(handle);
+        int last = --count;
+        if (row != last) {
+            moveRow(last, row);
+        }
+        sprites[last] = null;
+        generations[id]++;
+        if (freeIdCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeIdCount * 2);
+        }
+        freeIds[freeIdCount++] = id;
+    }
+
+    /**
+     * @param handle the handle of an entity
+     * @return if the entity was not destroyed
+     */
+    public boolean isAlive(long handle) {
+        int id = (int) handle;
+        return id >= 0 && id < nextId && generations[id] == (int) (handle >>> 32);
+    }
+
+    /**
+     * Find the current row of an entity.
+     *
+     * @param handle the handle of the entity
+     * @return the row of the entity
+     * @throws IllegalStateException if the entity was destroyed
+     */
+    public int row(long handle) {
+        int id = (int) handle;
+        if (generations[id] != (int) (handle >>> 32)) {
+            throw new IllegalStateException("The entity " + id + " was destroyed");
+        }
+        return rowOfId[id];
+    }
+
+    /**
+     * Keep the current state as the start of the step and age the entities
+     * in play.
+     */
+    public void beginStep() {
+        for (int i = 0; i < count; i++) {
+            if ((flags[i] & IN_PLAY) != 0) {
+                previousX[i] = x[i];
+                previousY[i] = y[i];
+                previousRotation[i] = rotation[i];
+                lifetime[i]++;
+                flags[i] |= PREVIOUS_STATE_SET;
+            }
+        }
+    }
+
+    /**
+     * Move each entity in play by its velocity.
+     */
+    public void integrate() {
+        for (int i = 0; i < count; i++) {
+            if ((flags[i] & IN_PLAY) != 0) {
+                x[i] += vx[i];
+                y[i] += vy[i];
+            }
+        }
+    }
+
+    /**
+     * Place the colliding circle of each entity in play in world
+     * coordinates. The position from the previous call is kept as the start
+     * of the path of this step.
+     */
+    public void updateCollisionBounds() {
+        for (int i = 0; i < count; i++) {
+            int flag = flags[i];
+            if ((flag & IN_PLAY) == 0) {
+                continue;
+            }
+            double cx = x[i] + offsetX[i];
+            double cy = y[i] + offsetY[i];
+            if ((flag & COLLISION_BOUNDS_SET) != 0) {
+                previousCenterX[i] = centerX[i];
+                previousCenterY[i] = centerY[i];
+            } else {
+                previousCenterX[i] = cx;
+                previousCenterY[i] = cy;
+                flags[i] = flag | COLLISION_BOUNDS_SET;
+            }
+            centerX[i] = cx;
+            centerY[i] = cy;
+        }
+    }
+
+    /**
+     * Find when the colliding circles of two rows hit each other during the
+     * last step. See Sprite.timeOfImpact().
+     *
+     * @param a the row of the first entity
+     * @param b the row of the second entity
+     * @return the time of impact between 0 and 1, or -1 if they do not
+     * collide
+     */
+    double timeOfImpact(int a, int b) {
+        if (((flags[a] | flags[b]) & FAST_MOVER) == 0) {
+            return CollisionMath.circlesOverlap(
+                    centerX[a], centerY[a], radius[a],
+                    centerX[b], centerY[b], radius[b]) ? 1 : -1;
+        }
+        return CollisionMath.timeOfImpact(
+                previousCenterX[a], previousCenterY[a], centerX[a], centerY[a], radius[a],
+                previousCenterX[b], previousCenterY[b], centerX[b], centerY[b], radius[b]);
+    }
+
+    /**
+     * @param row the row of an entity
+     * @return the radius of the circle enclosing the path of the colliding
+     * circle during the last step
+     */
+    double sweptRadius(int row) {
+        double dx = centerX[row] - previousCenterX[row];
+        double dy = centerY[row] - previousCenterY[row];
+        return radius[row] + Math.sqrt(dx * dx + dy * dy) / 2;
+    }
+
+    /**
+     * @return the number of entities
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @param row the row of an entity
+     * @return the sprite viewing the entity
+     */
+    public Sprite getSprite(int row) {
+        return sprites[row];
+    }
+
+    /**
+     * @param row the row of an entity
+     * @return the flags of the entity
+     */
+    public int getFlags(int row) {
+        return flags[row];
+    }
+
+    private void clearRow(int row) {
+        x[row] = 0;
+        y[row] = 0;
+        rotation[row] = 0;
+        previousX[row] = 0;
+        previousY[row] = 0;
+        previousRotation[row] = 0;
+        vx[row] = 0;
+        vy[row] = 0;
+        offsetX[row] = 0;
+        offsetY[row] = 0;
+        radius[row] = 0;
+        centerX[row] = 0;
+        centerY[row] = 0;
+        previousCenterX[row] = 0;
+        previousCenterY[row] = 0;
+        layer[row] = 0;
+        mask[row] = ~0;
+        health[row] = 0;
+        lifetime[row] = 0;
+        flags[row] = 0;
+    }
+
+    private void moveRow(int from, int to) {
+        x[to] = x[from];
+        y[to] = y[from];
+        rotation[to] = rotation[from];
+        previousX[to] = previousX[from];
+        previousY[to] = previousY[from];
+        previousRotation[to] = previousRotation[from];
+        vx[to] = vx[from];
+        vy[to] = vy[from];
+        offsetX[to] = offsetX[from];
+        offsetY[to] = offsetY[from];
+        radius[to] = radius[from];
+        centerX[to] = centerX[from];
+        centerY[to] = centerY[from];
+        previousCenterX[to] = previousCenterX[from];
+        previousCenterY[to] = previousCenterY[from];
+        layer[to] = layer[from];
+        mask[to] = mask[from];
+        health[to] = health[from];
+        lifetime[to] = lifetime[from];
+        flags[to] = flags[from];
+        sprites[to] = sprites[from];
+        idOfRow[to] = idOfRow[from];
+        rowOfId[idOfRow[to]] = to;
+    }
+
+    private void grow(int capacity) {
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        rotation = Arrays.copyOf(rotation, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        previousRotation = Arrays.copyOf(previousRotation, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        offsetX = Arrays.copyOf(offsetX, capacity);
+        offsetY = Arrays.copyOf(offsetY, capacity);
+        radius = Arrays.copyOf(radius, capacity);
+        centerX = Arrays.copyOf(centerX, capacity);
+        centerY = Arrays.copyOf(centerY, capacity);
+        previousCenterX = Arrays.copyOf(previousCenterX, capacity);
+        previousCenterY = Arrays.copyOf(previousCenterY, capacity);
+        layer = Arrays.copyOf(layer, capacity);
+        mask = Arrays.copyOf(mask, capacity);
+        health = Arrays.copyOf(health, capacity);
+        lifetime = Arrays.copyOf(lifetime, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        sprites = Arrays.copyOf(sprites, capacity);
+        idOfRow = Arrays.copyOf(idOfRow, capacity);
+    }
+}
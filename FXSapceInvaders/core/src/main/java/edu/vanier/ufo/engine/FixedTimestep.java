@@ -0,0 +1,91 @@
+package edu.vanier.ufo.engine;
+
+/**
+ * Accumulates the real time elapsed between two pulses and tells how many
+ * simulation steps of fixed duration have to run to catch up. The game speed
+ * therefore does not depend on how often the pulses come (the refresh rate of
+ * the monitor), only on the number of steps per second.
+ */
+public class FixedTimestep {
+
+    /**
+     * Duration of a simulation step in nanoseconds.
+     */
+    private final long stepNanos;
+
+    /**
+     * Maximum number of steps run in a single pulse. When the game falls
+     * further behind, the extra time is dropped instead of trying to catch up
+     * forever.
+     */
+    private final int maxStepsPerPulse;
+
+    private long lastTime = -1;
+    private long accumulator;
+    private long droppedSteps;
+
+    /**
+     * @param stepsPerSecond the number of simulation steps per second
+     * @param maxStepsPerPulse the maximum number of steps run in a pulse
+     */
+    public FixedTimestep(int stepsPerSecond, int maxStepsPerPulse) {
+        this.stepNanos = 1_000_000_000L / stepsPerSecond;
+        this.maxStepsPerPulse = maxStepsPerPulse;
+    }
+
+    /**
+     * Add the time elapsed since the last pulse.
+     *
+     * @param now the time of the pulse in nanoseconds
+     * @return the number of simulation steps to run for this pulse
+     */
+    public int advance(long now) {
+        if (lastTime < 0) {
+            // First pulse, run one step so that the game starts right away
+            lastTime = now;
+            accumulator = stepNanos;
+        }
+        accumulator += now - lastTime;
+        lastTime = now;
+
+        int steps = (int) Math.min(accumulator / stepNanos, maxStepsPerPulse);
+        accumulator -= steps * stepNanos;
+        if (accumulator >= stepNanos) {
+            // Too far behind, drop what cannot be caught up
+            droppedSteps += accumulator / stepNanos;
+            accumulator %= stepNanos;
+        }
+        return steps;
+    }
+
+    /**
+     * @return how far the real time is between the last step and the next
+     * one, from 0 to 1. Used to interpolate the rendered state.
+     */
+    public double getAlpha() {
+        return accumulator / (double) stepNanos;
+    }
+
+    /**
+     * @return the duration of a simulation step in nanoseconds
+     */
+    public long getStepNanos() {
+        return stepNanos;
+    }
+
+    /**
+     * @return the total number of steps dropped because the game was too far
+     * behind
+     */
+    public long getDroppedSteps() {
+        return droppedSteps;
+    }
+
+    /**
+     * Forget the elapsed time, the next pulse starts from scratch.
+     */
+    public void reset() {
+        lastTime = -1;
+        accumulator = 0;
+    }
+}
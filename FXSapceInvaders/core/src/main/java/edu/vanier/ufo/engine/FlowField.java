@@ -0,0 +1,146 @@
+package edu.vanier.ufo.engine;
+
+/**
+ * The directions toward a target over a coarse grid covering the world, so
+ * that many sprites chasing the same target look their direction up instead
+ * of computing it. Each cell keeps the unit vector and the angle from its
+ * center to the target. A cell is only aimed when a sprite in it is steered,
+ * so the cost follows the number of cells holding sprites, not the size of
+ * the grid.
+ *
+ * The direction of a cell is only exact for its center. Close to the target
+ * the error would be large, so the sprites nearer than a few cells get
+ * their exact direction. For the same reason the cells are only aimed again
+ * once the target moved by a fraction of a cell: further than a few cells,
+ * it barely changes their direction.
+ */
+public class FlowField {
+
+    /**
+     * How many cells around the target the directions are computed exactly.
+     */
+    private static final int NEAR_CELLS = 5;
+
+    /**
+     * The part of a cell the target moves by before the cells are aimed
+     * again.
+     */
+    private static final double REAIM_FRACTION = 0.25;
+
+    private final double minX;
+    private final double minY;
+    private final double cellSize;
+    private final int columns;
+    private final double nearDistanceSquared;
+    private final double reaimDistanceSquared;
+
+    // The unit vector and the angle in degrees toward the target, by cell
+    private final double[] directionX;
+    private final double[] directionY;
+    private final double[] angle;
+
+    // The aim each cell was computed for, see aim()
+    private final int[] cellAims;
+    private int currentAim;
+
+    // The exact target, and the one the cells were aimed at
+    private double targetX;
+    private double targetY;
+    private double aimedX = Double.NaN;
+    private double aimedY = Double.NaN;
+
+    /**
+     * @param minX the X coordinate of the left of the covered square
+     * @param minY the Y coordinate of the top of the covered square
+     * @param size the width of the covered square
+     * @param cellSize the width of a cell
+     */
+    public FlowField(double minX, double minY, double size, double cellSize) {
+        this.minX = minX;
+        this.minY = minY;
+        this.cellSize = cellSize;
+        this.columns = Math.max(1, (int) Math.ceil(size / cellSize));
+        this.nearDistanceSquared = NEAR_CELLS * cellSize * NEAR_CELLS * cellSize;
+        this.reaimDistanceSquared = REAIM_FRACTION * cellSize * REAIM_FRACTION * cellSize;
+        directionX = new double[columns * columns];
+        directionY = new double[columns * columns];
+        angle = new double[columns * columns];
+        cellAims = new int[columns * columns];
+    }
+
+    /**
+     * Point the field toward a target. The cells are only aimed again if
+     * the target moved far enough from where they were aimed, each one the
+     * next time a sprite in it is steered.
+     *
+     * @param x the X coordinate of the target
+     * @param y the Y coordinate of the target
+     */
+    public void aim(double x, double y) {
+        targetX = x;
+        targetY = y;
+        double movedX = x - aimedX;
+        double movedY = y - aimedY;
+        if (movedX * movedX + movedY * movedY < reaimDistanceSquared) {
+            return;
+        }
+        aimedX = x;
+        aimedY = y;
+        currentAim++;
+    }
+
+    /**
+     * Compute the direction from the center of a cell to where the field is
+     * aimed.
+     */
+    private void aimCell(int cell, int row, int column) {
+        double dx = aimedX - (minX + (column + 0.5) * cellSize);
+        double dy = aimedY - (minY + (row + 0.5) * cellSize);
+        double length = Math.sqrt(dx * dx + dy * dy);
+        if (length > 0) {
+            directionX[cell] = dx / length;
+            directionY[cell] = dy / length;
+        } else {
+            directionX[cell] = 0;
+            directionY[cell] = 0;
+        }
+        angle[cell] = Math.toDegrees(Math.atan2(dy, dx));
+        cellAims[cell] = currentAim;
+    }
+
+    /**
+     * Send a sprite toward the target: set its velocity along the direction
+     * of its cell, and turn it to face the target. The positions out of the
+     * grid take the direction of the nearest cell.
+     *
+     * @param sprite the sprite to steer
+     * @param speed the speed of the sprite
+     */
+    public void steer(Sprite sprite, double speed) {
+        double x = sprite.getCenterX();
+        double y = sprite.getCenterY();
+        double dx = targetX - x;
+        double dy = targetY - y;
+        if (dx * dx + dy * dy < nearDistanceSquared) {
+            double exact = Math.atan2(dy, dx);
+            sprite.setVelocity(Math.cos(exact) * speed, Math.sin(exact) * speed);
+            sprite.setRotation(Math.toDegrees(exact));
+            return;
+        }
+        int column = Math.min(columns - 1, Math.max(0, (int) ((x - minX) / cellSize)));
+        int row = Math.min(columns - 1, Math.max(0, (int) ((y - minY) / cellSize)));
+        int cell = row * columns + column;
+        if (cellAims[cell] != currentAim) {
+            aimCell(cell, row, column);
+        }
+        sprite.setVelocity(directionX[cell] * speed, directionY[cell] * speed);
+        sprite.setRotation(angle[cell]);
+    }
+
+    /**
+     * @return the number of cells of the grid
+     */
+    public int getCellCount() {
+        return angle.length;
+    }
+}
@@ -0,0 +1,123 @@
+package edu.vanier.ufo.engine;
+
+import java.util.Arrays;
+
+/**
+ * Times the phases of the game loop. The last samples of each phase are kept
+ * in a ring buffer, from which the minimum, the average and the 99th
+ * percentile are computed on demand. Recording a sample does not allocate.
+ *
+ * Each phase is recorded by a single thread. The statistics can be read from
+ * another thread, they are then only approximate.
+ */
+public class FrameProfiler {
+
+    /**
+     * The timed phases. The steps are made of UPDATE, COLLISION, SPAWN and
+     * CLEANUP. PULSE is the work of the game loop in a JavaFX pulse and FRAME
+     * the time between two pulses, which includes the rendering by JavaFX.
+     */
+    public enum Phase {
+        UPDATE, COLLISION, SPAWN, CLEANUP, SNAPSHOT, PULSE, FRAME
+    }
+
+    /**
+     * Cached because values() copies the array.
+     */
+    private static final Phase[] PHASES = Phase.values();
+
+    /**
+     * Number of samples kept for each phase.
+     */
+    public static final int WINDOW = 240;
+
+    private final long[][] samples = new long[PHASES.length][WINDOW];
+    private final int[] next = new int[PHASES.length];
+    private final int[] counts = new int[PHASES.length];
+
+    // Sorted copy of the samples of a phase, reused by percentile()
+    private final long[] sorted = new long[WINDOW];
+
+    /**
+     * Keep the duration of a phase.
+     *
+     * @param phase the timed phase
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(Phase phase, long nanos) {
+        int p = phase.ordinal();
+        samples[p][next[p]] = nanos;
+        next[p] = (next[p] + 1) % WINDOW;
+        if (counts[p] < WINDOW) {
+            counts[p]++;
+        }
+    }
+
+    /**
+     * @param phase the timed phase
+     * @return the number of samples kept for the phase
+     */
+    public int getCount(Phase phase) {
+        return counts[phase.ordinal()];
+    }
+
+    /**
+     * @param phase the timed phase
+     * @return the shortest kept duration in nanoseconds, 0 without samples
+     */
+    public long getMin(Phase phase) {
+        int p = phase.ordinal();
+        if (counts[p] == 0) {
+            return 0;
+        }
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < counts[p]; i++) {
+            min = Math.min(min, samples[p][i]);
+        }
+        return min;
+    }
+
+    /**
+     * @param phase the timed phase
+     * @return the average kept duration in nanoseconds, 0 without samples
+     */
+    public double getAverage(Phase phase) {
+        int p = phase.ordinal();
+        if (counts[p] == 0) {
+            return 0;
+        }
+        long sum = 0;
+        for (int i = 0; i < counts[p]; i++) {
+            sum += samples[p][i];
+        }
+        return sum / (double) counts[p];
+    }
+
+    /**
+     * Must be called from a single thread, the sorted copy is shared.
+     *
+     * @param phase the timed phase
+     * @param percentile the percentile, from 0 to 100
+     * @return the kept duration in nanoseconds below which this percentage of
+     * the samples are, 0 without samples
+     */
+    public long getPercentile(Phase phase, double percentile) {
+        int p = phase.ordinal();
+        int count = counts[p];
+        if (count == 0) {
+            return 0;
+        }
+        System.arraycopy(samples[p], 0, sorted, 0, count);
+        Arrays.sort(sorted, 0, count);
+        int index = (int) Math.ceil(percentile / 100 * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))];
+    }
+
+    /**
+     * Forget every sample.
+     */
+    public void reset() {
+        Arrays.fill(next, 0);
+        Arrays.fill(counts, 0);
+    }
+}
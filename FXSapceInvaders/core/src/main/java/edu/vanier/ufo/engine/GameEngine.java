@@ -0,0 +1,518 @@
+package edu.vanier.ufo.engine;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The simulation of the game, free of any presentation. Shown below are the
+ * methods which comprise of a simulation step:
+ * <pre>
+ *  <b>updateSprites()</b> - Updates the sprite objects at each frame
+ *  <b>handleCollision()</b> - Method will determine objects that collide with each other.
+ *  <b>spawnSprites()</b> - New sprite objects entering play.
+ *  <b>cleanupSprites()</b> - Any sprite objects needing to be removed from play.
+ * </pre>
+ * Each call to step() runs a step of fixed duration. The presentation layer
+ * drives the steps from its own loop, or from a SimulationThread, listens to
+ * what happens through a GameListener and shows the sprites from a
+ * RenderSnapshot. Input from another thread is handed over with post(). The
+ * timers of the game are run by a TimerWheel advanced at each step. Each
+ * phase of a step is timed by a FrameProfiler.
+ *
+ * @author cdea
+ */
+public abstract class GameEngine {
+
+    /**
+     * Number of simulation steps per second.
+     */
+    private final int framesPerSecond;
+
+    /**
+     * Receives what happens in the simulation.
+     */
+    private GameListener listener = new GameListener() {
+    };
+
+    /**
+     * The sprite manager.
+     */
+    private final SpriteManager spriteManager;
+
+    /**
+     * The state of every sprite, in primitive columns.
+     */
+    private final EntityStore entities = new EntityStore();
+
+    /**
+     * Smallest cell size of the collision grid. It grows by itself when a
+     * sprite is bigger than a cell.
+     */
+    private static final double COLLISION_CELL_SIZE = 200;
+
+    /**
+     * Which collision layers interact and how their collisions are resolved.
+     */
+    private final CollisionMatrix collisionMatrix = new CollisionMatrix();
+
+    /**
+     * The broadphase grid covering the world. Only sprites in neighbouring
+     * cells are checked against each other.
+     */
+    private final SpatialHashGrid collisionGrid = new SpatialHashGrid(collisionMatrix, COLLISION_CELL_SIZE);
+
+    /**
+     * Resolves the candidate pairs found by the collision grid.
+     */
+    private final SpatialHashGrid.PairVisitor pairResolver = this::resolveCandidatePair;
+
+    private volatile boolean finished;
+
+    /**
+     * Times the phases of each step.
+     */
+    private final FrameProfiler profiler = new FrameProfiler();
+
+    /**
+     * Commands posted from other threads, run at the start of the next step.
+     */
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Runs the cooldowns and the delayed events of the game, advanced at
+     * each step.
+     */
+    private final TimerWheel timers = new TimerWheel();
+
+    /**
+     * The circular world in which the sprites are kept.
+     */
+    private double worldCenterX;
+    private double worldCenterY;
+    private double worldRadius = Double.POSITIVE_INFINITY;
+
+    /**
+     * What to do with each kind of sprite when it leaves the world.
+     */
+    private final Map<Class<? extends Sprite>, BoundaryPolicy> boundaryPolicies = new HashMap<>();
+    private BoundaryPolicy defaultBoundaryPolicy = BoundaryPolicy.IMPLODE;
+
+    /**
+     * Constructor that is called by the derived class.
+     *
+     * @param fps - Simulation steps per second.
+     */
+    public GameEngine(final int fps) {
+        framesPerSecond = fps;
+        spriteManager = new SpriteManager();
+        finished = false;
+    }
+
+    /**
+     * Runs one simulation step of fixed duration.
+     */
+    public void step() {
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            command.run();
+        }
+        if (!isFinished()) {
+            long start = System.nanoTime();
+            // run the timers due, then update actors
+            timers.advance();
+            updateSprites();
+            long updated = System.nanoTime();
+            profiler.record(FrameProfiler.Phase.UPDATE, updated - start);
+            // check for collision.
+            handleCollision();
+            long collided = System.nanoTime();
+            profiler.record(FrameProfiler.Phase.COLLISION, collided - updated);
+            // add new sprites.
+            spawnSprites();
+            long spawned = System.nanoTime();
+            profiler.record(FrameProfiler.Phase.SPAWN, spawned - collided);
+            // removed dead sprites.
+            cleanupSprites();
+            profiler.record(FrameProfiler.Phase.CLEANUP, System.nanoTime() - spawned);
+        }
+    }
+
+    /**
+     * Run a command on the simulation at the start of the next step. It can
+     * be called from any thread.
+     *
+     * @param command the command to run
+     */
+    public void post(Runnable command) {
+        commands.add(command);
+    }
+
+    /**
+     * Copy what the presentation layer needs to show the sprites. The derived
+     * class can add its own statistics.
+     *
+     * @param snapshot the snapshot to fill
+     */
+    public void writeSnapshot(RenderSnapshot snapshot) {
+        snapshot.clear();
+        List<Sprite> sprites = spriteManager.getAllSprites();
+        for (int i = 0; i < sprites.size(); i++) {
+            snapshot.add(sprites.get(i));
+        }
+        snapshot.setFinished(finished);
+    }
+
+    /**
+     * Initialize the game world by adding its first sprites.
+     */
+    public abstract void initialize();
+
+    /**
+     * Add a sprite to the game and tell the listener. The sprite is put in
+     * play at the start of the next update or by the cleanup of this step.
+     *
+     * @param sprite the sprite to add
+     */
+    public void addSprite(Sprite sprite) {
+        spriteManager.addSprites(sprite);
+        listener.spriteAdded(sprite);
+    }
+
+    /**
+     * Updates each game sprite in the game world. This method will loop through
+     * each sprite and passing it to the handleUpdate() method. The derived
+     * class should override handleUpdate() method. The sprites are then moved
+     * by their velocity, their colliding circle is cached for the collision
+     * checks of this frame and they are kept inside the world. Moving and
+     * caching run over the columns of the entity store. The sprites added
+     * since the last step, like the fired missiles, are put in play first,
+     * then handleBatchUpdate() updates the sprites in play together.
+     */
+    protected void updateSprites() {
+        spriteManager.applyChanges();
+        entities.beginStep();
+        handleBatchUpdate();
+        List<Sprite> sprites = spriteManager.getAllSprites();
+        for (int i = 0; i < sprites.size(); i++) {
+            handleUpdate(sprites.get(i));
+        }
+        entities.integrate();
+        entities.updateCollisionBounds();
+        for (int i = 0; i < sprites.size(); i++) {
+            handleBoundary(sprites.get(i));
+        }
+    }
+
+    /**
+     * Apply the boundary policy of a sprite if its colliding circle is not
+     * entirely inside the world anymore. The test only uses the cached center
+     * and radius of the sprite.
+     *
+     * @param sprite the sprite to keep in the world
+     */
+    protected void handleBoundary(Sprite sprite) {
+        double dx = sprite.getCollisionCenterX() - worldCenterX;
+        double dy = sprite.getCollisionCenterY() - worldCenterY;
+        double limit = worldRadius - sprite.getCollisionRadius();
+        double distanceSquared = dx * dx + dy * dy;
+        if (distanceSquared <= limit * limit) {
+            return;
+        }
+
+        BoundaryPolicy policy = boundaryPolicies.getOrDefault(sprite.getClass(), defaultBoundaryPolicy);
+        if (policy == BoundaryPolicy.IMPLODE) {
+            handleOutOfBounds(sprite);
+            return;
+        }
+
+        // Outward normal of the edge at the sprite position
+        double distance = Math.sqrt(distanceSquared);
+        double normalX = dx / distance;
+        double normalY = dy / distance;
+        double outwardSpeed = sprite.getVelocityX() * normalX + sprite.getVelocityY() * normalY;
+
+        switch (policy) {
+            case CLAMP -> {
+                sprite.moveBy(normalX * (limit - distance), normalY * (limit - distance));
+                if (outwardSpeed > 0) {
+                    sprite.addVelocity(-normalX * outwardSpeed, -normalY * outwardSpeed);
+                }
+            }
+            case REFLECT -> {
+                sprite.moveBy(normalX * (limit - distance), normalY * (limit - distance));
+                if (outwardSpeed > 0) {
+                    sprite.addVelocity(-2 * normalX * outwardSpeed, -2 * normalY * outwardSpeed);
+                }
+            }
+            case RETURN -> sprite.setVelocity(-normalX, -normalY);
+            case WRAP -> sprite.moveBy(-normalX * (limit + distance), -normalY * (limit + distance));
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Called when a sprite following the IMPLODE policy leaves the world. By
+     * default, the sprite is removed from the game.
+     *
+     * @param sprite the sprite leaving the world
+     */
+    protected void handleOutOfBounds(Sprite sprite) {
+        sprite.handleDeath(this);
+    }
+
+    /**
+     * Updates many sprites in play at once, like steering a swarm toward a
+     * target, before handleUpdate() is called for each sprite. The sprites
+     * added since the last step are already in play. Does nothing by default.
+     */
+    protected void handleBatchUpdate() {
+    }
+
+    /**
+     * Updates the sprite object's information to position on the game surface.
+     *
+     * @param sprite - The sprite to update.
+     */
+    protected void handleUpdate(Sprite sprite) {
+    }
+
+    /**
+     * Checks the collisions between the sprites. The sprites are bucketed in
+     * the collision grid, only the pairs allowed by the collision matrix and
+     * sharing neighbouring cells are checked, and each collision is resolved by
+     * the handler registered for the layers of the pair.
+     */
+    protected void handleCollision() {
+        collisionGrid.rebuild(entities);
+        collisionGrid.forEachCandidatePair(pairResolver);
+    }
+
+    /**
+     * Add the sprites entering play after the collisions are resolved. Does
+     * nothing by default.
+     */
+    protected void spawnSprites() {
+    }
+
+    /**
+     * Check a candidate pair found by the collision grid and resolve the
+     * collision if they collide.
+     *
+     * @param spriteA the first sprite of the pair
+     * @param spriteB the second sprite of the pair
+     */
+    private void resolveCandidatePair(Sprite spriteA, Sprite spriteB) {
+        if (checkCollision(spriteA, spriteB)) {
+            collisionMatrix.dispatch(spriteA, spriteB);
+        }
+    }
+
+    
+     /**
+     * Handle victory.
+     */
+    public void victory() {
+
+        {
+            finished = true;
+            listener.soundPlayed("win");
+            listener.gameFinished(true);
+        }
+
+    }
+
+    /**
+     * Handle defeat.
+     */
+    public void defeat() {
+
+        finished = true;
+        listener.gameFinished(false);
+
+    }
+
+    /**
+     * Tell the listener that a sprite imploded.
+     *
+     * @param sprite the imploding sprite
+     * @param x the X coordinate of the explosion
+     * @param y the Y coordinate of the explosion
+     */
+    public void notifyExplosion(Sprite sprite, double x, double y) {
+        listener.explosion(sprite, x, y);
+    }
+
+    /**
+     * Tell the listener to play a sound.
+     *
+     * @param id the identifier of the sound
+     */
+    public void notifySound(String id) {
+        listener.soundPlayed(id);
+    }
+    /**
+     * When two objects collide this method can handle the passed in sprite
+     * objects. By default it compares the colliding circles of both sprites.
+     *
+     * @param spriteA - called from checkCollision() method to be compared.
+     * @param spriteB - called from checkCollision() method to be compared.
+     * @return boolean True if the objects collided, otherwise false.
+     */
+    protected boolean checkCollision(Sprite spriteA, Sprite spriteB) {
+        return spriteA.collide(spriteB);
+    }
+
+    /**
+     * Sprites to be cleaned up. The listener is told about each removed
+     * sprite.
+     */
+    protected void cleanupSprites() {
+        List<Sprite> removed = spriteManager.getSpritesToBeRemoved();
+        for (int i = 0; i < removed.size(); i++) {
+            listener.spriteRemoved(removed.get(i));
+        }
+        spriteManager.cleanupSprites();
+    }
+
+    /**
+     * Returns the simulation steps per second.
+     *
+     * @return int The simulation steps per second.
+     */
+    public int getFramesPerSecond() {
+        return framesPerSecond;
+    }
+
+    /**
+     * @return the timers of the game, advanced at the start of each step
+     * that is not finished
+     */
+    public TimerWheel getTimers() {
+        return timers;
+    }
+
+    /**
+     * @return the profiler timing the phases of each step
+     */
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Set what receives the events of the simulation.
+     *
+     * @param listener the listener of the simulation
+     */
+    public void setListener(GameListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @return the store holding the state of the sprites, given to the
+     * constructor of each sprite of this game
+     */
+    public EntityStore getEntityStore() {
+        return entities;
+    }
+
+    /**
+     * Returns the sprite manager containing the sprite objects to manipulate in
+     * the game.
+     *
+     * @return SpriteManager The sprite manager.
+     */
+    public SpriteManager getSpriteManager() {
+        return spriteManager;
+    }
+
+    /**
+     * Get if the game ended
+     *
+     * @return if the game ended
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Set the game ended.
+     *
+     * @param finished if the game ended
+     */
+    public void setFinished(boolean finished) {
+        this.finished = finished;
+    }
+
+    /**
+     * Set the circular world in which the sprites are kept.
+     *
+     * @param centerX the X coordinate of the center of the world
+     * @param centerY the Y coordinate of the center of the world
+     * @param radius the radius of the world
+     */
+    public void setWorldBounds(double centerX, double centerY, double radius) {
+        this.worldCenterX = centerX;
+        this.worldCenterY = centerY;
+        this.worldRadius = radius;
+        collisionGrid.setBounds(centerX, centerY, radius);
+    }
+
+    /**
+     * Returns the table telling which collision layers interact. Handlers are
+     * registered on it by the derived class.
+     *
+     * @return the collision matrix of this engine
+     */
+    public CollisionMatrix getCollisionMatrix() {
+        return collisionMatrix;
+    }
+
+    /**
+     * @return the number of candidate pairs found by the broadphase during
+     * the last frame
+     */
+    public int getPairCount() {
+        return collisionGrid.getPairCount();
+    }
+
+    /**
+     * @return the number of neighbouring pairs skipped during the last frame
+     * because their layers do not collide
+     */
+    public int getSkippedPairCount() {
+        return collisionGrid.getSkippedPairCount();
+    }
+
+    /**
+     * Set what happens to a kind of sprite when it leaves the world.
+     *
+     * @param kind the class of the sprites following the policy
+     * @param policy the boundary policy
+     */
+    public void setBoundaryPolicy(Class<? extends Sprite> kind, BoundaryPolicy policy) {
+        boundaryPolicies.put(kind, policy);
+    }
+
+    /**
+     * Set what happens to the sprites without their own boundary policy.
+     *
+     * @param policy the default boundary policy
+     */
+    public void setDefaultBoundaryPolicy(BoundaryPolicy policy) {
+        this.defaultBoundaryPolicy = policy;
+    }
+
+    /**
+     * Stop the simulation. Clear all sprites to allow the user play a new
+     * level with new sprites
+     */
+    public void shutdown() {
+        finished = true;
+        getSpriteManager().clear();
+    }
+
+}
@@ -0,0 +1,51 @@
+package edu.vanier.ufo.engine;
+
+/**
+ * Receives what happens in the simulation so that a presentation layer can
+ * show it. The simulation does not depend on any presentation, every method
+ * does nothing by default.
+ */
+public interface GameListener {
+
+    /**
+     * A sprite entered the game.
+     *
+     * @param sprite the added sprite
+     */
+    default void spriteAdded(Sprite sprite) {
+    }
+
+    /**
+     * A sprite left the game.
+     *
+     * @param sprite the removed sprite
+     */
+    default void spriteRemoved(Sprite sprite) {
+    }
+
+    /**
+     * A sprite imploded.
+     *
+     * @param sprite the imploding sprite
+     * @param x the X coordinate of the explosion
+     * @param y the Y coordinate of the explosion
+     */
+    default void explosion(Sprite sprite, double x, double y) {
+    }
+
+    /**
+     * A sound has to be played.
+     *
+     * @param id the identifier of the sound
+     */
+    default void soundPlayed(String id) {
+    }
+
+    /**
+     * The game ended.
+     *
+     * @param isVictory true if victory and false if defeat
+     */
+    default void gameFinished(boolean isVictory) {
+    }
+}
@@ -0,0 +1,169 @@
+package edu.vanier.ufo.engine;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The input of the player, recorded from the events of any thread and
+ * sampled by the simulation once per step. The controls are held in a
+ * bitset, and the presses since the last sample are latched in another one,
+ * so that a tap shorter than a step is not lost. The cursor only keeps its
+ * last position. Nothing is locked and nothing is created per event.
+ *
+ * The events that do not change the next sample, like the cursor moves
+ * after the first one of a step or the repeats of a held key, are counted
+ * as coalesced.
+ *
+ * @param <C> the controls of the game, 64 at most
+ */
+public class InputState<C extends Enum<C>> {
+
+    // The controls held, and pressed since the last sample
+    private final AtomicLong held = new AtomicLong();
+    private final AtomicLong pressed = new AtomicLong();
+
+    // The last cursor position, as two floats, and if it moved since the
+    // last sample
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicBoolean cursorMoved = new AtomicBoolean();
+
+    private final AtomicLong recordedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    // The last sample, read by the simulation only
+    private long sampledHeld;
+    private long sampledPressed;
+    private boolean sampledCursorMoved;
+    private double cursorX;
+    private double cursorY;
+
+    /**
+     * Record that a control is pressed, like a key going down.
+     *
+     * @param control the pressed control
+     */
+    public void press(C control) {
+        long bit = bit(control);
+        if ((held.getAndAccumulate(bit, (bits, added) -> bits | added) & bit) != 0) {
+            // A repeat of a held key
+            recordedCount.incrementAndGet();
+            coalescedCount.incrementAndGet();
+        } else {
+            latch(bit);
+        }
+    }
+
+    /**
+     * Record that a control is released, like a key going up. A control
+     * pressed and released between two samples is still held for one
+     * sample.
+     *
+     * @param control the released control
+     */
+    public void release(C control) {
+        recordedCount.incrementAndGet();
+        held.accumulateAndGet(~bit(control), (bits, kept) -> bits & kept);
+    }
+
+    /**
+     * Record a control pressed once without being held, like a click.
+     *
+     * @param control the triggered control
+     */
+    public void trigger(C control) {
+        latch(bit(control));
+    }
+
+    /**
+     * Record a move of the cursor. Only the last position before a sample
+     * is kept.
+     *
+     * @param x the X coordinate of the cursor
+     * @param y the Y coordinate of the cursor
+     */
+    public void moveCursor(double x, double y) {
+        recordedCount.incrementAndGet();
+        cursor.set((long) Float.floatToRawIntBits((float) x) << 32
+                | (Float.floatToRawIntBits((float) y) & 0xffffffffL));
+        if (cursorMoved.getAndSet(true)) {
+            coalescedCount.incrementAndGet();
+        }
+    }
+
+    private void latch(long bit) {
+        recordedCount.incrementAndGet();
+        if ((pressed.getAndAccumulate(bit, (bits, added) -> bits | added) & bit) != 0) {
+            coalescedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Take the input recorded since the last sample. Called by the
+     * simulation at the start of a step.
+     */
+    public void sample() {
+        sampledPressed = pressed.getAndSet(0);
+        sampledHeld = held.get() | sampledPressed;
+        sampledCursorMoved = cursorMoved.getAndSet(false);
+        if (sampledCursorMoved) {
+            long packed = cursor.get();
+            cursorX = Float.intBitsToFloat((int) (packed >>> 32));
+            cursorY = Float.intBitsToFloat((int) packed);
+        }
+    }
+
+    /**
+     * @param control a control
+     * @return if the control was held or pressed in the last sample
+     */
+    public boolean isHeld(C control) {
+        return (sampledHeld & bit(control)) != 0;
+    }
+
+    /**
+     * @param control a control
+     * @return if the control was pressed or triggered in the last sample
+     */
+    public boolean wasPressed(C control) {
+        return (sampledPressed & bit(control)) != 0;
+    }
+
+    /**
+     * @return if the cursor moved in the last sample
+     */
+    public boolean hasCursorMoved() {
+        return sampledCursorMoved;
+    }
+
+    /**
+     * @return the X coordinate of the cursor in the last sample it moved
+     */
+    public double getCursorX() {
+        return cursorX;
+    }
+
+    /**
+     * @return the Y coordinate of the cursor in the last sample it moved
+     */
+    public double getCursorY() {
+        return cursorY;
+    }
+
+    /**
+     * @return the number of events recorded since the start
+     */
+    public long getRecordedCount() {
+        return recordedCount.get();
+    }
+
+    /**
+     * @return the number of recorded events that did not change a sample
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    private static long bit(Enum<?> control) {
+        return 1L << control.ordinal();
+    }
+}
@@ -0,0 +1,92 @@
+package edu.vanier.ufo.engine;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the objects that left the game to hand them out again instead of
+ * creating new ones. An object is reset when it is given back, so the
+ * objects handed out are always ready to be set up.
+ *
+ * @param <T> the type of the pooled objects
+ */
+public class ObjectPool<T> {
+
+    private final Supplier<T> factory;
+    private final Consumer<T> reset;
+    private Object[] free = new Object[16];
+    private int freeCount;
+    private long createdCount;
+    private long reusedCount;
+
+    /**
+     * @param factory creates an object when the pool is empty
+     * @param reset puts an object back in its initial state when it is given
+     * back
+     */
+    public ObjectPool(Supplier<T> factory, Consumer<T> reset) {
+        this.factory = factory;
+        this.reset = reset;
+    }
+
+    /**
+     * @return a reset object, taken from the pool if there is one
+     */
+    @SuppressWarnings("unchecked")
+    public T obtain() {
+        if (freeCount == 0) {
+            createdCount++;
+            return factory.get();
+        }
+        reusedCount++;
+        T object = (T) free[--freeCount];
+        free[freeCount] = null;
+        return object;
+    }
+
+    /**
+     * Give an object back to the pool. It must not be used anymore by the
+     * caller.
+     *
+     * @param object the object to give back
+     */
+    public void free(T object) {
+        reset.accept(object);
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, freeCount * 2);
+        }
+        free[freeCount++] = object;
+    }
+
+    /**
+     * Give back an object whose type was checked by the caller.
+     *
+     * @param object the object to give back
+     */
+    @SuppressWarnings("unchecked")
+    void freeUnchecked(Object object) {
+        free((T) object);
+    }
+
+    /**
+     * @return the number of objects waiting in the pool
+     */
+    public int getFreeCount() {
+        return freeCount;
+    }
+
+    /**
+     * @return the number of objects created because the pool was empty
+     */
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     * @return the number of objects handed out again
+     */
+    public long getReusedCount() {
+        return reusedCount;
+    }
+}
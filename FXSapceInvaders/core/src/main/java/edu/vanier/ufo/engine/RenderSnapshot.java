@@ -0,0 +1,191 @@
+package edu.vanier.ufo.engine;
+
+import java.util.Arrays;
+
+/**
+ * A copy of what the presentation layer needs to show the sprites after a
+ * simulation step. It is filled by the simulation and read by the
+ * presentation, possibly on another thread, without touching the sprites.
+ * The arrays grow as needed and are reused from one step to the next.
+ */
+public class RenderSnapshot {
+
+    /**
+     * Number of game statistics a snapshot can hold, see setStat().
+     */
+    public static final int MAX_STATS = 8;
+
+    private int count;
+    private Sprite[] sprites = new Sprite[64];
+    private String[] imagePaths = new String[64];
+    private double[] previousX = new double[64];
+    private double[] previousY = new double[64];
+    private double[] previousRotation = new double[64];
+    private double[] x = new double[64];
+    private double[] y = new double[64];
+    private double[] rotation = new double[64];
+    private double[] collisionOffsetX = new double[64];
+    private double[] collisionOffsetY = new double[64];
+    private double[] collisionRadius = new double[64];
+    private double[] effectLevel = new double[64];
+
+    private final int[] stats = new int[MAX_STATS];
+
+    // When the step was made, from System.nanoTime()
+    private long time;
+    private boolean finished;
+
+    // If the snapshot was published and not read yet, see SnapshotBuffer
+    volatile boolean fresh;
+
+    /**
+     * Forget the sprites of the previous step.
+     */
+    public void clear() {
+        // Do not keep removed sprites alive
+        Arrays.fill(sprites, 0, count, null);
+        count = 0;
+    }
+
+    /**
+     * Copy the state of a sprite at the end of the step.
+     *
+     * @param sprite the sprite to copy
+     */
+    public void add(Sprite sprite) {
+        if (count == sprites.length) {
+            grow();
+        }
+        int i = count++;
+        sprites[i] = sprite;
+        imagePaths[i] = sprite.getImagePath();
+        previousX[i] = sprite.getRenderX(0);
+        previousY[i] = sprite.getRenderY(0);
+        previousRotation[i] = sprite.getRenderRotation(0);
+        x[i] = sprite.getX();
+        y[i] = sprite.getY();
+        rotation[i] = sprite.getRotation();
+        collisionOffsetX[i] = sprite.getCollisionOffsetX();
+        collisionOffsetY[i] = sprite.getCollisionOffsetY();
+        collisionRadius[i] = sprite.getCollisionRadius();
+        effectLevel[i] = sprite.getEffectLevel();
+    }
+
+    private void grow() {
+        int capacity = sprites.length * 2;
+        sprites = Arrays.copyOf(sprites, capacity);
+        imagePaths = Arrays.copyOf(imagePaths, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        previousRotation = Arrays.copyOf(previousRotation, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        rotation = Arrays.copyOf(rotation, capacity);
+        collisionOffsetX = Arrays.copyOf(collisionOffsetX, capacity);
+        collisionOffsetY = Arrays.copyOf(collisionOffsetY, capacity);
+        collisionRadius = Arrays.copyOf(collisionRadius, capacity);
+        effectLevel = Arrays.copyOf(effectLevel, capacity);
+    }
+
+    /**
+     * @return the number of sprites in the snapshot
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * The sprite is only meant to identify what is shown, its state must not
+     * be read from the presentation layer.
+     *
+     * @param i the index of the sprite
+     * @return the sprite at this index
+     */
+    public Sprite getSprite(int i) {
+        return sprites[i];
+    }
+
+    public String getImagePath(int i) {
+        return imagePaths[i];
+    }
+
+    /**
+     * @param i the index of the sprite
+     * @param alpha the interpolation factor, 0 gives the state at the start
+     * of the step and 1 the state at its end
+     * @return the X coordinate to show
+     */
+    public double getRenderX(int i, double alpha) {
+        return previousX[i] + (x[i] - previousX[i]) * alpha;
+    }
+
+    /**
+     * @param i the index of the sprite
+     * @param alpha the interpolation factor, see getRenderX()
+     * @return the Y coordinate to show
+     */
+    public double getRenderY(int i, double alpha) {
+        return previousY[i] + (y[i] - previousY[i]) * alpha;
+    }
+
+    /**
+     * @param i the index of the sprite
+     * @param alpha the interpolation factor, see getRenderX()
+     * @return the rotation to show in degrees
+     */
+    public double getRenderRotation(int i, double alpha) {
+        return Sprite.interpolateRotation(previousRotation[i], rotation[i], alpha);
+    }
+
+    public double getCollisionOffsetX(int i) {
+        return collisionOffsetX[i];
+    }
+
+    public double getCollisionOffsetY(int i) {
+        return collisionOffsetY[i];
+    }
+
+    public double getCollisionRadius(int i) {
+        return collisionRadius[i];
+    }
+
+    public double getEffectLevel(int i) {
+        return effectLevel[i];
+    }
+
+    /**
+     * Keep a game statistic, like the score, to show with the sprites.
+     *
+     * @param index the index of the statistic, lower than MAX_STATS
+     * @param value the value of the statistic
+     */
+    public void setStat(int index, int value) {
+        stats[index] = value;
+    }
+
+    public int getStat(int index) {
+        return stats[index];
+    }
+
+    /**
+     * @return when the step was made, from System.nanoTime()
+     */
+    public long getTime() {
+        return time;
+    }
+
+    public void setTime(long time) {
+        this.time = time;
+    }
+
+    /**
+     * @return if the game ended
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public void setFinished(boolean finished) {
+        this.finished = finished;
+    }
+}
@@ -0,0 +1,85 @@
+package edu.vanier.ufo.engine;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs the simulation on its own thread at a fixed rate. A render snapshot is
+ * published after each pulse of steps, so a slow step never stalls the
+ * presentation thread, and a slow frame never delays the simulation.
+ */
+public class SimulationThread {
+
+    /**
+     * Maximum number of simulation steps run to catch up in one go.
+     */
+    private static final int MAX_STEPS_PER_PULSE = 5;
+
+    private final GameEngine engine;
+    private final SnapshotBuffer snapshots;
+    private final FixedTimestep timestep;
+    private final Thread thread;
+    private volatile boolean running;
+
+    /**
+     * @param engine the simulation to run
+     * @param snapshots where the render snapshots are published
+     */
+    public SimulationThread(GameEngine engine, SnapshotBuffer snapshots) {
+        this.engine = engine;
+        this.snapshots = snapshots;
+        this.timestep = new FixedTimestep(engine.getFramesPerSecond(), MAX_STEPS_PER_PULSE);
+        this.thread = new Thread(this::run, "simulation");
+        // Never keep the application alive
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Start running the simulation.
+     */
+    public void start() {
+        running = true;
+        timestep.reset();
+        thread.start();
+    }
+
+    /**
+     * Stop running the simulation and wait for the current step to end.
+     */
+    public void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            int steps = timestep.advance(System.nanoTime());
+            for (int i = 0; i < steps; i++) {
+                engine.step();
+            }
+            if (steps > 0) {
+                long start = System.nanoTime();
+                RenderSnapshot snapshot = snapshots.getWriteSnapshot();
+                engine.writeSnapshot(snapshot);
+                long end = System.nanoTime();
+                snapshot.setTime(end);
+                snapshots.publish();
+                engine.getProfiler().record(FrameProfiler.Phase.SNAPSHOT, end - start);
+            }
+            // Sleep until the next step is due
+            LockSupport.parkNanos((long) (timestep.getStepNanos() * (1 - timestep.getAlpha())));
+        }
+    }
+
+    /**
+     * @return the number of steps dropped because the simulation was too slow
+     * to catch up
+     */
+    public long getDroppedSteps() {
+        return timestep.getDroppedSteps();
+    }
+}
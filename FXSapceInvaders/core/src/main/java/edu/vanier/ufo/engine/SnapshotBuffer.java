@@ -0,0 +1,49 @@
+package edu.vanier.ufo.engine;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands the render snapshots from the simulation thread to the presentation
+ * thread. It is a double buffer with a spare snapshot: the simulation writes
+ * its own snapshot, the presentation reads its own, and the last published
+ * one waits in between. Publishing and reading only swap references, neither
+ * thread waits for the other and no snapshot is allocated.
+ */
+public class SnapshotBuffer {
+
+    private RenderSnapshot writing = new RenderSnapshot();
+    private final AtomicReference<RenderSnapshot> published = new AtomicReference<>(new RenderSnapshot());
+    private RenderSnapshot reading = new RenderSnapshot();
+
+    /**
+     * Called by the simulation thread only.
+     *
+     * @return the snapshot to fill before publishing it
+     */
+    public RenderSnapshot getWriteSnapshot() {
+        return writing;
+    }
+
+    /**
+     * Make the filled snapshot the latest one. Called by the simulation thread
+     * only. A snapshot that was not read yet is replaced.
+     */
+    public void publish() {
+        writing.fresh = true;
+        writing = published.getAndSet(writing);
+    }
+
+    /**
+     * Called by the presentation thread only.
+     *
+     * @return the latest published snapshot, or the snapshot returned by the
+     * previous call if nothing was published since
+     */
+    public RenderSnapshot read() {
+        if (published.get().fresh) {
+            reading = published.getAndSet(reading);
+            reading.fresh = false;
+        }
+        return reading;
+    }
+}
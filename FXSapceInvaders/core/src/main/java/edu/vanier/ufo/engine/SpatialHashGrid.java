@@ -0,0 +1,306 @@
+package edu.vanier.ufo.engine;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A uniform grid used as the collision broadphase. The grid covers the square
+ * enclosing the circular map, every sprite is bucketed by the center of the
+ * circle enclosing its path during the frame and only sprites sharing a cell
+ * or sitting in neighbouring cells are reported as candidate pairs. Each pair is reported once and a
+ * sprite is never paired with itself. Pairs that the collision matrix does not
+ * allow are skipped and never reported.
+ *
+ * The grid is rebuilt at each frame, from the columns of the EntityStore or
+ * from a list of sprites. Buckets are stored as singly linked lists inside
+ * primitive arrays so that a rebuild does not allocate once the arrays have
+ * grown to the number of sprites in play.
+ */
+public class SpatialHashGrid {
+
+    /**
+     * Receives the candidate pairs found by the grid.
+     */
+    public interface PairVisitor {
+
+        /**
+         * Called once for each pair of sprites that may collide.
+         *
+         * @param spriteA the first sprite of the pair
+         * @param spriteB the second sprite of the pair
+         */
+        void visit(Sprite spriteA, Sprite spriteB);
+    }
+
+    /**
+     * Marks the end of a bucket.
+     */
+    private static final int EMPTY = -1;
+
+    /**
+     * The table filtering the pairs.
+     */
+    private final CollisionMatrix collisionMatrix;
+
+    /**
+     * The covered square, given by the center and the radius of the world.
+     */
+    private double worldCenterX;
+    private double worldCenterY;
+    private double worldRadius;
+
+    /**
+     * The smallest allowed cell size. The cell size grows past it when a sprite
+     * is larger than a cell, so that checking the neighbouring cells is always
+     * enough.
+     */
+    private final double minCellSize;
+
+    private double cellSize;
+    private int columns;
+
+    /**
+     * Index of the first sprite of each cell, EMPTY if the cell is empty.
+     */
+    private int[] cellHeads = new int[0];
+
+    /**
+     * Index of the next sprite of the same cell, EMPTY at the end of the cell.
+     */
+    private int[] nextInCell = new int[64];
+    private Sprite[] items = new Sprite[64];
+
+    /**
+     * The bit of the layer of each sprite and the layers it collides with.
+     */
+    private int[] layerBits = new int[64];
+    private int[] collisionMasks = new int[64];
+
+    /**
+     * The center of the circle enclosing the path of each sprite.
+     */
+    private double[] sweptCenterX = new double[64];
+    private double[] sweptCenterY = new double[64];
+    private int count;
+
+    private int pairCount;
+    private int skippedPairCount;
+
+    /**
+     * @param collisionMatrix the table telling which sprites may collide
+     * @param minCellSize the smallest width of a cell
+     */
+    public SpatialHashGrid(CollisionMatrix collisionMatrix, double minCellSize) {
+        this.collisionMatrix = collisionMatrix;
+        this.minCellSize = minCellSize;
+        this.cellSize = minCellSize;
+    }
+
+    /**
+     * Set the circular world covered by the grid.
+     *
+     * @param centerX the X coordinate of the center of the world
+     * @param centerY the Y coordinate of the center of the world
+     * @param radius the radius of the world, as given by
+     * <code>Map.getMAP_RADIUS()</code>
+     */
+    public void setBounds(double centerX, double centerY, double radius) {
+        this.worldCenterX = centerX;
+        this.worldCenterY = centerY;
+        this.worldRadius = radius;
+    }
+
+    /**
+     * Empty the grid and insert all the given sprites at their current
+     * position. Sprites that cannot collide with any layer are left out.
+     *
+     * @param sprites the sprites to insert
+     */
+    public void rebuild(List<Sprite> sprites) {
+        int oldCount = count;
+        ensureCapacity(sprites.size());
+
+        count = 0;
+        double maxRadius = 0;
+        for (int i = 0; i < sprites.size(); i++) {
+            Sprite sprite = sprites.get(i);
+            int layer = sprite.getCollisionLayer();
+            int mask = sprite.getCollisionMask() & collisionMatrix.getLayerMask(layer);
+            if (mask == 0) {
+                continue;
+            }
+            items[count] = sprite;
+            layerBits[count] = 1 << layer;
+            collisionMasks[count] = mask;
+            sweptCenterX[count] = sprite.getSweptCenterX();
+            sweptCenterY[count] = sprite.getSweptCenterY();
+            count++;
+            maxRadius = Math.max(maxRadius, sprite.getSweptRadius());
+        }
+        fillCells(oldCount, maxRadius);
+    }
+
+    /**
+     * Empty the grid and insert all the sprites in play of an entity store
+     * at their current position, reading the columns of the store. Sprites
+     * that cannot collide with any layer are left out.
+     *
+     * @param entities the store of the sprites to insert
+     */
+    public void rebuild(EntityStore entities) {
+        int oldCount = count;
+        int rows = entities.getCount();
+        ensureCapacity(rows);
+
+        count = 0;
+        double maxRadius = 0;
+        int[] flags = entities.flags;
+        for (int row = 0; row < rows; row++) {
+            if ((flags[row] & EntityStore.IN_PLAY) == 0) {
+                continue;
+            }
+            int layer = entities.layer[row];
+            int mask = entities.mask[row] & collisionMatrix.getLayerMask(layer);
+            if (mask == 0) {
+                continue;
+            }
+            items[count] = entities.sprites[row];
+            layerBits[count] = 1 << layer;
+            collisionMasks[count] = mask;
+            sweptCenterX[count] = (entities.previousCenterX[row] + entities.centerX[row]) / 2;
+            sweptCenterY[count] = (entities.previousCenterY[row] + entities.centerY[row]) / 2;
+            count++;
+            maxRadius = Math.max(maxRadius, entities.sweptRadius(row));
+        }
+        fillCells(oldCount, maxRadius);
+    }
+
+    /**
+     * Bucket the inserted sprites in cells large enough for the largest one.
+     *
+     * @param oldCount the number of sprites of the previous rebuild
+     * @param maxRadius the largest swept radius of the inserted sprites
+     */
+    private void fillCells(int oldCount, double maxRadius) {
+        if (oldCount > count) {
+            Arrays.fill(items, count, oldCount, null);
+        }
+
+        resize(Math.max(minCellSize, maxRadius * 2));
+
+        for (int i = 0; i < count; i++) {
+            int cell = cellIndex(sweptCenterX[i], sweptCenterY[i]);
+            nextInCell[i] = cellHeads[cell];
+            cellHeads[cell] = i;
+        }
+    }
+
+    /**
+     * Report every candidate pair of the last rebuild to the visitor.
+     *
+     * @param visitor the visitor receiving the pairs
+     * @return the number of reported pairs
+     */
+    public int forEachCandidatePair(PairVisitor visitor) {
+        pairCount = 0;
+        skippedPairCount = 0;
+        for (int row = 0; row < columns; row++) {
+            for (int column = 0; column < columns; column++) {
+                int cell = row * columns + column;
+                for (int i = cellHeads[cell]; i != EMPTY; i = nextInCell[i]) {
+                    // Sprites further in the same cell
+                    for (int j = nextInCell[i]; j != EMPTY; j = nextInCell[j]) {
+                        visitPair(visitor, i, j);
+                    }
+                    // Half of the neighbours, the other half visits this cell
+                    visitCell(visitor, i, row, column + 1);
+                    visitCell(visitor, i, row + 1, column - 1);
+                    visitCell(visitor, i, row + 1, column);
+                    visitCell(visitor, i, row + 1, column + 1);
+                }
+            }
+        }
+        return pairCount;
+    }
+
+    private void visitCell(PairVisitor visitor, int i, int row, int column) {
+        if (row < 0 || row >= columns || column < 0 || column >= columns) {
+            return;
+        }
+        for (int j = cellHeads[row * columns + column]; j != EMPTY; j = nextInCell[j]) {
+            visitPair(visitor, i, j);
+        }
+    }
+
+    private void visitPair(PairVisitor visitor, int i, int j) {
+        if ((collisionMasks[i] & layerBits[j]) == 0 || (collisionMasks[j] & layerBits[i]) == 0) {
+            skippedPairCount++;
+            return;
+        }
+        pairCount++;
+        visitor.visit(items[i], items[j]);
+    }
+
+    /**
+     * Find the cell containing a world coordinate. Coordinates outside of the
+     * covered square are put in the closest border cell.
+     */
+    private int cellIndex(double x, double y) {
+        int column = (int) ((x - worldCenterX + worldRadius) / cellSize);
+        int row = (int) ((y - worldCenterY + worldRadius) / cellSize);
+        column = Math.min(Math.max(column, 0), columns - 1);
+        row = Math.min(Math.max(row, 0), columns - 1);
+        return row * columns + column;
+    }
+
+    private void resize(double newCellSize) {
+        cellSize = newCellSize;
+        columns = Math.max(1, (int) Math.ceil(worldRadius * 2 / cellSize));
+        int cells = columns * columns;
+        if (cellHeads.length < cells) {
+            cellHeads = new int[cells];
+        }
+        Arrays.fill(cellHeads, 0, cells, EMPTY);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (items.length < capacity) {
+            int newLength = Math.max(capacity, items.length * 2);
+            items = Arrays.copyOf(items, newLength);
+            nextInCell = new int[newLength];
+            layerBits = new int[newLength];
+            collisionMasks = new int[newLength];
+            sweptCenterX = new double[newLength];
+            sweptCenterY = new double[newLength];
+        }
+    }
+
+    /**
+     * @return the number of candidate pairs reported by the last pass
+     */
+    public int getPairCount() {
+        return pairCount;
+    }
+
+    /**
+     * @return the number of neighbouring pairs skipped by the last pass
+     * because their layers do not collide
+     */
+    public int getSkippedPairCount() {
+        return skippedPairCount;
+    }
+
+    /**
+     * @return the number of sprites inserted by the last rebuild
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return the current width of a cell
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+}
@@ -0,0 +1,666 @@
+package edu.vanier.ufo.engine;
+
+/**
+ * A class used to represent a sprite of any type in the game world. The sprite
+ * only holds the simulated state, the presentation layer mirrors it into
+ * nodes.
+ *
+ * The state updated at each step (position, velocity, colliding circle,
+ * health, lifetime and flags) lives in a row of the EntityStore of the game,
+ * the sprite is a thin view over it. Only what rarely changes, like the
+ * image, is kept in the sprite itself.
+ */
+public abstract class Sprite {
+
+    // The store holding the state of the sprite, and the handle of its row
+    private final EntityStore entities;
+    private final long handle;
+
+    // The path of the image showing the sprite, loaded by the presentation
+    // layer. Its size is known here so that no image has to be decoded.
+    private String imagePath;
+    private double width;
+    private double height;
+
+    // The size of the sprite bounds, enclosing the image and the colliding
+    // circle
+    private double boundsWidth;
+    private double boundsHeight;
+
+    // If the sprite is waiting to be added or removed by the sprite manager
+    boolean additionPending;
+    boolean removalPending;
+
+    // The index of the sprite among all the sprites in play and in the bucket
+    // of its kind, -1 when it is not there. See SpriteBucket.
+    int index = -1;
+    int kindIndex = -1;
+
+    /**
+     * Create the sprite and its row in the store.
+     *
+     * @param entities the store of the game the sprite plays in
+     */
+    public Sprite(EntityStore entities) {
+        this.entities = entities;
+        this.handle = entities.create(this);
+    }
+
+    /**
+     * @return the row of the sprite in the store
+     */
+    final int row() {
+        return entities.row(handle);
+    }
+
+
+    /**
+     * set the sprite image
+     * @param imagePath the resource path of the image to set
+     * @param width the width of the image
+     * @param height the height of the image
+     */
+    public void setImage(String imagePath, double width, double height) {
+        this.imagePath = imagePath;
+        this.width = width;
+        this.height = height;
+        updateBounds();
+    }
+
+    /**
+     * Set the colliding circle of the sprite.
+     *
+     * @param centerX the X coordinate of the center, from the left of the image
+     * @param centerY the Y coordinate of the center, from the top of the image
+     * @param radius the radius of the circle
+     */
+    public void setCollisionCircle(double centerX, double centerY, double radius) {
+        int row = row();
+        entities.offsetX[row] = centerX;
+        entities.offsetY[row] = centerY;
+        entities.radius[row] = radius;
+        updateBounds();
+    }
+
+    /**
+     * Compute the size of the rectangle enclosing the image and the colliding
+     * circle.
+     */
+    private void updateBounds() {
+        int row = row();
+        double offsetX = entities.offsetX[row];
+        double offsetY = entities.offsetY[row];
+        double radius = entities.radius[row];
+        boundsWidth = Math.max(width, offsetX + radius) - Math.min(0, offsetX - radius);
+        boundsHeight = Math.max(height, offsetY + radius) - Math.min(0, offsetY - radius);
+    }
+
+    /**
+     * Set the velocity of the sprite
+     * @param x the x-axis velocity
+     * @param y  the y-axis velocity
+     */
+    public void setVelocity(double x, double y) {
+        int row = row();
+        entities.vx[row] = x;
+        entities.vy[row] = y;
+    }
+
+    /**
+     * Add the velocity to the velocity of the sprite
+     * @param x the x-axis velocity
+     * @param y  the y-axis velocity
+     */
+    public void addVelocity(double x, double y) {
+        int row = row();
+        entities.vx[row] += x;
+        entities.vy[row] += y;
+    }
+
+     /**
+     * The center X coordinate of the sprite, half the width of its bounds from
+     * its position.
+     *
+     * @return The world X coordinate.
+     */
+      public double getCenterX() {
+        return getX() + ( boundsWidth / 2);
+    }
+
+    /**
+     * The center Y coordinate of the sprite, half the height of its bounds
+     * from its position.
+     *
+     * @return The world Y coordinate.
+     */
+    public double getCenterY() {
+        return getY() + ( boundsHeight / 2);
+    }
+
+    /**
+     * Keep the current state as the start of the next simulation step. The
+     * game engine does it for every sprite in play at once with
+     * EntityStore.beginStep().
+     */
+    public void storePreviousState() {
+        int row = row();
+        entities.previousX[row] = entities.x[row];
+        entities.previousY[row] = entities.y[row];
+        entities.previousRotation[row] = entities.rotation[row];
+        entities.flags[row] |= EntityStore.PREVIOUS_STATE_SET;
+    }
+
+    private boolean isPreviousStateSet(int row) {
+        return (entities.flags[row] & EntityStore.PREVIOUS_STATE_SET) != 0;
+    }
+
+    /**
+     * The X coordinate to show, between the state at the start of the last
+     * simulation step and the current state.
+     *
+     * @param alpha the interpolation factor, 0 gives the previous state and 1
+     * the current state
+     * @return the interpolated X coordinate
+     */
+    public double getRenderX(double alpha) {
+        int row = row();
+        double x = entities.x[row];
+        // Not simulated yet, nothing to interpolate from
+        return isPreviousStateSet(row) ? entities.previousX[row] + (x - entities.previousX[row]) * alpha : x;
+    }
+
+    /**
+     * The Y coordinate to show, see getRenderX().
+     *
+     * @param alpha the interpolation factor
+     * @return the interpolated Y coordinate
+     */
+    public double getRenderY(double alpha) {
+        int row = row();
+        double y = entities.y[row];
+        return isPreviousStateSet(row) ? entities.previousY[row] + (y - entities.previousY[row]) * alpha : y;
+    }
+
+    /**
+     * The rotation to show, see getRenderX(). The sprite turns through the
+     * shortest way.
+     *
+     * @param alpha the interpolation factor
+     * @return the interpolated rotation in degrees
+     */
+    public double getRenderRotation(double alpha) {
+        int row = row();
+        if (!isPreviousStateSet(row)) {
+            return entities.rotation[row];
+        }
+        return interpolateRotation(entities.previousRotation[row], entities.rotation[row], alpha);
+    }
+
+    /**
+     * Turn from a rotation to another through the shortest way.
+     *
+     * @param from the rotation in degrees when alpha is 0
+     * @param to the rotation in degrees when alpha is 1
+     * @param alpha the interpolation factor
+     * @return the interpolated rotation in degrees
+     */
+    public static double interpolateRotation(double from, double to, double alpha) {
+        double turn = ((to - from) % 360 + 540) % 360 - 180;
+        return from + turn * alpha;
+    }
+
+    /**
+     * detect whether this sprite collide with another sprite. Both colliding
+     * circles are compared with the values cached by updateCollisionBounds().
+     *
+     * @param other another sprite to check collision with
+     * @return a boolean of whether this sprite collide with the other sprite
+     */
+    public boolean collide(Sprite other) {
+        return timeOfImpact(other) >= 0;
+    }
+
+    /**
+     * Find when this sprite hits another sprite during the last frame. If one
+     * of them is a fast mover, both circles are swept from their previous
+     * center to their current center. Otherwise only the current circles are
+     * compared. Both sprites must play in the same game.
+     *
+     * @param other another sprite to check collision with
+     * @return the time of impact between 0 (previous frame) and 1 (current
+     * frame), or -1 if the sprites do not collide
+     */
+    public double timeOfImpact(Sprite other) {
+        return entities.timeOfImpact(row(), other.row());
+    }
+
+    /**
+     * Copy the position and the radius of the colliding circle in world
+     * coordinates. It must be called once after the sprite moved. The
+     * position from the previous call is kept as the start of the path of
+     * this frame. The game engine does it for every sprite in play at once
+     * with EntityStore.updateCollisionBounds().
+     */
+    public void updateCollisionBounds() {
+        int row = row();
+        double centerX = entities.x[row] + entities.offsetX[row];
+        double centerY = entities.y[row] + entities.offsetY[row];
+        if ((entities.flags[row] & EntityStore.COLLISION_BOUNDS_SET) != 0) {
+            entities.previousCenterX[row] = entities.centerX[row];
+            entities.previousCenterY[row] = entities.centerY[row];
+        } else {
+            entities.previousCenterX[row] = centerX;
+            entities.previousCenterY[row] = centerY;
+            entities.flags[row] |= EntityStore.COLLISION_BOUNDS_SET;
+        }
+        entities.centerX[row] = centerX;
+        entities.centerY[row] = centerY;
+    }
+
+    /**
+     * Move the sprite and its cached colliding circle.
+     *
+     * @param dx the distance to move along the X axis
+     * @param dy the distance to move along the Y axis
+     */
+    public void moveBy(double dx, double dy) {
+        int row = row();
+        entities.x[row] += dx;
+        entities.y[row] += dy;
+        entities.previousX[row] += dx;
+        entities.previousY[row] += dy;
+        entities.centerX[row] += dx;
+        entities.centerY[row] += dy;
+        entities.previousCenterX[row] += dx;
+        entities.previousCenterY[row] += dy;
+    }
+
+    /**
+     * @return the world X coordinate of the colliding circle center
+     */
+    public double getCollisionCenterX() {
+        return entities.centerX[row()];
+    }
+
+    /**
+     * @return the world Y coordinate of the colliding circle center
+     */
+    public double getCollisionCenterY() {
+        return entities.centerY[row()];
+    }
+
+    /**
+     * @param time the time between 0 (previous frame) and 1 (current frame)
+     * @return the world X coordinate of the colliding circle center at that
+     * time
+     */
+    public double getCollisionCenterX(double time) {
+        int row = row();
+        double previous = entities.previousCenterX[row];
+        return previous + (entities.centerX[row] - previous) * time;
+    }
+
+    /**
+     * @param time the time between 0 (previous frame) and 1 (current frame)
+     * @return the world Y coordinate of the colliding circle center at that
+     * time
+     */
+    public double getCollisionCenterY(double time) {
+        int row = row();
+        double previous = entities.previousCenterY[row];
+        return previous + (entities.centerY[row] - previous) * time;
+    }
+
+    /**
+     * @return the radius of the colliding circle
+     */
+    public double getCollisionRadius() {
+        return entities.radius[row()];
+    }
+
+    /**
+     * @return the X coordinate of the center of the circle enclosing the path
+     * of the colliding circle during the last frame
+     */
+    public double getSweptCenterX() {
+        int row = row();
+        return (entities.previousCenterX[row] + entities.centerX[row]) / 2;
+    }
+
+    /**
+     * @return the Y coordinate of the center of the circle enclosing the path
+     * of the colliding circle during the last frame
+     */
+    public double getSweptCenterY() {
+        int row = row();
+        return (entities.previousCenterY[row] + entities.centerY[row]) / 2;
+    }
+
+    /**
+     * @return the radius of the circle enclosing the path of the colliding
+     * circle during the last frame
+     */
+    public double getSweptRadius() {
+        return entities.sweptRadius(row());
+    }
+
+    /**
+     * @return if the sprite is checked along its whole path during a frame
+     */
+    public boolean isFastMover() {
+        return hasFlag(EntityStore.FAST_MOVER);
+    }
+
+    /**
+     * Mark the sprite as a fast mover. Fast movers can travel further than
+     * the size of another sprite in one frame, so their collisions are checked
+     * along their whole path instead of only at their current position.
+     *
+     * @param fastMover if the sprite is a fast mover
+     */
+    public void setFastMover(boolean fastMover) {
+        setFlag(EntityStore.FAST_MOVER, fastMover);
+    }
+
+    /**
+     * @return if the sprite died, like an imploded atom
+     */
+    public boolean isDead() {
+        return hasFlag(EntityStore.DEAD);
+    }
+
+    /**
+     * @param dead if the sprite died
+     */
+    public void setDead(boolean dead) {
+        setFlag(EntityStore.DEAD, dead);
+    }
+
+    /**
+     * @return if the sprite is in the sprite manager, and simulated at each
+     * step
+     */
+    public boolean isInPlay() {
+        return hasFlag(EntityStore.IN_PLAY);
+    }
+
+    /**
+     * Called by the sprite manager when the sprite enters or leaves the game.
+     *
+     * @param inPlay if the sprite is simulated at each step
+     */
+    void setInPlay(boolean inPlay) {
+        setFlag(EntityStore.IN_PLAY, inPlay);
+    }
+
+    private boolean hasFlag(int flag) {
+        return (entities.flags[row()] & flag) != 0;
+    }
+
+    private void setFlag(int flag, boolean set) {
+        int row = row();
+        if (set) {
+            entities.flags[row] |= flag;
+        } else {
+            entities.flags[row] &= ~flag;
+        }
+    }
+
+    /**
+     * Put the sprite back in its state before it entered the game, so that it
+     * can be handed out again by an ObjectPool. The image, the colliding
+     * circle, the collision layer and the health are kept.
+     */
+    public void reset() {
+        int row = row();
+        entities.vx[row] = 0;
+        entities.vy[row] = 0;
+        entities.x[row] = 0;
+        entities.y[row] = 0;
+        entities.rotation[row] = 0;
+        entities.previousX[row] = 0;
+        entities.previousY[row] = 0;
+        entities.previousRotation[row] = 0;
+        entities.lifetime[row] = 0;
+        entities.flags[row] &= ~(EntityStore.DEAD | EntityStore.PREVIOUS_STATE_SET
+                | EntityStore.COLLISION_BOUNDS_SET);
+    }
+
+    /**
+     * Destroy the row of the sprite. Called by the sprite manager when the
+     * sprite left the game and no pool takes it back, the sprite cannot be
+     * used anymore.
+     */
+    void destroy() {
+        entities.destroy(handle);
+    }
+
+    /**
+     * How strong the visual effect of the sprite is, like the shield of the
+     * spaceship. The presentation layer decides how to show it.
+     *
+     * @return the level of the effect, 0 when there is none
+     */
+    public double getEffectLevel() {
+        return 0;
+    }
+
+    /**
+     * This method determines how this sprit update at each frame. The sprite
+     * is then moved by its velocity with the other sprites, see
+     * EntityStore.integrate().
+     */
+    public abstract void update();
+
+    /**
+     * @return the resource path of the image showing the sprite
+     */
+    public String getImagePath() {
+        return imagePath;
+    }
+
+    public double getVelocityX() {
+        return entities.vx[row()];
+    }
+
+    public void setVelocityX(double velocityX) {
+        entities.vx[row()] = velocityX;
+    }
+
+    public double getVelocityY() {
+        return entities.vy[row()];
+    }
+
+    public void setVelocityY(double velocityY) {
+        entities.vy[row()] = velocityY;
+    }
+
+    public double getWidth() {
+        return width;
+    }
+
+    public double getHeight() {
+        return height;
+    }
+
+    /**
+     * @return the width of the rectangle enclosing the image and the colliding
+     * circle
+     */
+    public double getBoundsWidth() {
+        return boundsWidth;
+    }
+
+    /**
+     * @return the height of the rectangle enclosing the image and the
+     * colliding circle
+     */
+    public double getBoundsHeight() {
+        return boundsHeight;
+    }
+
+    /**
+     * @return the simulated X coordinate of the top left corner of the image
+     */
+    public double getX() {
+        return entities.x[row()];
+    }
+
+    /**
+     * @return the simulated Y coordinate of the top left corner of the image
+     */
+    public double getY() {
+        return entities.y[row()];
+    }
+
+    /**
+     * Move the sprite during a simulation step. The presentation layer shows
+     * the move smoothly.
+     *
+     * @param x the X coordinate of the top left corner of the image
+     * @param y the Y coordinate of the top left corner of the image
+     */
+    public void setPosition(double x, double y) {
+        int row = row();
+        entities.x[row] = x;
+        entities.y[row] = y;
+    }
+
+    /**
+     * Put the sprite at a position without showing the move, like when it is
+     * spawned. Its colliding circle is placed there too, so that the path
+     * checked for collisions during its next step starts from this position,
+     * like the path of a missile leaving the spaceship.
+     *
+     * @param x the X coordinate of the top left corner of the image
+     * @param y the Y coordinate of the top left corner of the image
+     */
+    public void placeAt(double x, double y) {
+        int row = row();
+        entities.x[row] = x;
+        entities.y[row] = y;
+        entities.previousX[row] = x;
+        entities.previousY[row] = y;
+        entities.centerX[row] = x + entities.offsetX[row];
+        entities.centerY[row] = y + entities.offsetY[row];
+        entities.previousCenterX[row] = entities.centerX[row];
+        entities.previousCenterY[row] = entities.centerY[row];
+        entities.flags[row] |= EntityStore.COLLISION_BOUNDS_SET;
+    }
+
+    /**
+     * @return the simulated rotation in degrees
+     */
+    public double getRotation() {
+        return entities.rotation[row()];
+    }
+
+    /**
+     * @param rotation the simulated rotation in degrees
+     */
+    public void setRotation(double rotation) {
+        entities.rotation[row()] = rotation;
+    }
+
+    /**
+     * @return the remaining health of the sprite
+     */
+    public int getHealth() {
+        return entities.health[row()];
+    }
+
+    /**
+     * @param health the remaining health of the sprite
+     */
+    public void setHealth(int health) {
+        entities.health[row()] = health;
+    }
+
+    /**
+     * @return the number of steps played since the sprite entered the game
+     */
+    public int getLifetime() {
+        return entities.lifetime[row()];
+    }
+
+    /**
+     * @param lifetime the number of steps played since the sprite entered the
+     * game
+     */
+    public void setLifetime(int lifetime) {
+        entities.lifetime[row()] = lifetime;
+    }
+
+
+    public void handleDeath(GameEngine gameWorld) {
+        gameWorld.getSpriteManager().addSpritesToBeRemoved(this);
+    }
+
+
+
+    /**
+     * @return the collision layer of the sprite
+     */
+    public int getCollisionLayer() {
+        return entities.layer[row()];
+    }
+
+    /**
+     * Set the collision layer of the sprite. It must be lower than
+     * CollisionMatrix.MAX_LAYERS.
+     *
+     * @param collisionLayer the collision layer
+     */
+    public void setCollisionLayer(int collisionLayer) {
+        entities.layer[row()] = collisionLayer;
+    }
+
+    /**
+     * @return the bits of the layers this sprite accepts to collide with
+     */
+    public int getCollisionMask() {
+        return entities.mask[row()];
+    }
+
+    /**
+     * Restrict the layers this sprite collides with. By default, the sprite
+     * collides with every layer allowed by the collision matrix.
+     *
+     * @param collisionMask the bits of the accepted layers
+     */
+    public void setCollisionMask(int collisionMask) {
+        entities.mask[row()] = collisionMask;
+    }
+
+    /**
+     * @return the X coordinate of the colliding circle center, from the left
+     * of the image
+     */
+    public double getCollisionOffsetX() {
+        return entities.offsetX[row()];
+    }
+
+    /**
+     * @return the Y coordinate of the colliding circle center, from the top of
+     * the image
+     */
+    public double getCollisionOffsetY() {
+        return entities.offsetY[row()];
+    }
+
+    /**
+     * @return the store holding the state of the sprite
+     */
+    public EntityStore getEntityStore() {
+        return entities;
+    }
+
+    /**
+     * @return the handle of the entity of the sprite in its store
+     */
+    public long getHandle() {
+        return handle;
+    }
+
+
+}
@@ -0,0 +1,99 @@
+package edu.vanier.ufo.engine;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * The sprites of a kind in play, packed at the start of an array. Each sprite
+ * knows its index in the bucket, so removing it moves the last sprite into
+ * its place instead of shifting the others. The order of the sprites is
+ * therefore not kept.
+ *
+ * The bucket is filled by the SpriteManager, it is read-only for the other
+ * classes. Iterate over it by index, the iterator of the list allocates.
+ *
+ * @param <T> the type of the sprites
+ */
+public class SpriteBucket<T extends Sprite> extends AbstractList<T> implements RandomAccess {
+
+    // If the index of the sprites is kept in Sprite.kindIndex instead of
+    // Sprite.index
+    private final boolean kind;
+    private Sprite[] sprites = new Sprite[16];
+    private int count;
+
+    /**
+     * @param kind if the bucket holds the sprites of a kind, and not all the
+     * sprites in play
+     */
+    SpriteBucket(boolean kind) {
+        this.kind = kind;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Objects.checkIndex(index, count);
+        return (T) sprites[index];
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Add a sprite at the end of the bucket.
+     *
+     * @param sprite the sprite to add, of the type of the bucket
+     */
+    void append(Sprite sprite) {
+        if (count == sprites.length) {
+            sprites = Arrays.copyOf(sprites, count * 2);
+        }
+        sprites[count] = sprite;
+        setIndex(sprite, count);
+        count++;
+    }
+
+    /**
+     * Remove a sprite by moving the last sprite into its place.
+     *
+     * @param sprite the sprite to remove, which must be in the bucket
+     */
+    void swapRemove(Sprite sprite) {
+        int index = getIndex(sprite);
+        int last = --count;
+        if (index != last) {
+            sprites[index] = sprites[last];
+            setIndex(sprites[index], index);
+        }
+        sprites[last] = null;
+        setIndex(sprite, -1);
+    }
+
+    /**
+     * Remove every sprite.
+     */
+    void empty() {
+        for (int i = 0; i < count; i++) {
+            setIndex(sprites[i], -1);
+            sprites[i] = null;
+        }
+        count = 0;
+    }
+
+    private int getIndex(Sprite sprite) {
+        return kind ? sprite.kindIndex : sprite.index;
+    }
+
+    private void setIndex(Sprite sprite, int index) {
+        if (kind) {
+            sprite.kindIndex = index;
+        } else {
+            sprite.index = index;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package edu.vanier.ufo.engine;
+
+import java.util.*;
+
+/**
+ * Sprite manager is responsible for holding all sprite objects, and cleaning up
+ * sprite objects to be removed. All collections are used by the simulation
+ * thread. During each cycle (animation frame) sprite management
+ * occurs. This assists the user of the API to not have to create lists to later
+ * be garbage collected. Should provide some performance gain. Removed sprites
+ * are given back to the ObjectPool registered for their class, the row of
+ * the other ones is destroyed in the EntityStore.
+ *
+ * The sprites in play are kept in SpriteBucket arrays, all together and by
+ * kind, and are removed in constant time. Additions and removals are queued
+ * and applied by applyChanges(), so the sprites can be iterated while they
+ * are added or removed without copying them first.
+ *
+ * @author cdea
+ */
+public class SpriteManager {
+
+    /**
+     * All the sprite objects currently in play
+     */
+    private final  SpriteBucket<Sprite> sprites = new SpriteBucket<>(false);
+
+    /**
+     * The sprite objects in play of the kinds having a bucket, see getBucket()
+     */
+    private final  Map<Class<?>, SpriteBucket<?>> buckets = new HashMap<>();
+
+    /**
+     * A global single threaded list of the sprite objects entering the game.
+     * A sprite is only added once, see Sprite.additionPending.
+     */
+    private final  List<Sprite> spritesToBeAdded = new ArrayList<>();
+
+    /**
+     * A global single threaded list used to cleanup or remove sprite objects in
+     * play. A sprite is only added once, see Sprite.removalPending.
+     */
+    private final  List<Sprite> spritesToBeRemoved = new ArrayList<>();
+
+    /**
+     * The pools taking back the removed sprites of each class.
+     */
+    private final  Map<Class<?>, ObjectPool<?>> pools = new HashMap<>();
+  
+
+    /**
+     * Get the sprites in play, in no particular order. Iterate over them by
+     * index.
+     *
+     * @return a list of sprites.
+     */
+    public List<Sprite> getAllSprites() {
+        return sprites;
+    }
+
+    /**
+     * Get the sprites in play of a class, in no particular order. The bucket
+     * is created on the first call, which must be done before sprites of the
+     * class are added.
+     *
+     * @param <T> the type of the sprites
+     * @param kind the exact class of the sprites
+     * @return the sprites of the class
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Sprite> SpriteBucket<T> getBucket(Class<T> kind) {
+        return (SpriteBucket<T>) buckets.computeIfAbsent(kind, k -> new SpriteBucket<>(true));
+    }
+
+    /**
+     * A sprite object to be added to the game by the next applyChanges(),
+     * unless it already is.
+     *
+     * @param sprite
+     */
+    public void addSprites(Sprite sprite) {
+        if (!sprite.additionPending && sprite.index < 0) {
+            sprite.additionPending = true;
+            spritesToBeAdded.add(sprite);
+        }
+    }
+
+    /**
+     * VarArgs of sprite objects to be added to the game.
+     *
+     * @param inSprites
+     */
+    public void addSprites(Sprite... inSprites) {
+        for (Sprite sprite : inSprites) {
+            addSprites(sprite);
+        }
+    }
+
+    /**
+     * VarArgs of sprite objects to be removed from the game. They are cleaned
+     * up like the ones given to addSpritesToBeRemoved().
+     *
+     * @param inSprites
+     */
+    public void removeSprites(Sprite... inSprites) {
+        addSpritesToBeRemoved(inSprites);
+    }
+
+    /**
+     * Returns a list of sprite objects to be removed from the GAME_ACTORS.
+     *
+     * @return CLEAN_UP_SPRITES
+     */
+    public List<Sprite> getSpritesToBeRemoved() {
+        return spritesToBeRemoved;
+    }
+
+    /**
+     * Adds a sprite object to be removed, unless it already is.
+     *
+     * @param sprite the sprite object.
+     */
+    public void addSpritesToBeRemoved(Sprite sprite) {
+        if (!sprite.removalPending) {
+            sprite.removalPending = true;
+            spritesToBeRemoved.add(sprite);
+        }
+    }
+
+    /**
+     * Adds sprite objects to be removed
+     *
+     * @param sprites varargs of sprite objects.
+     */
+    public void addSpritesToBeRemoved(Sprite... sprites) {
+        for (Sprite sprite : sprites) {
+            addSpritesToBeRemoved(sprite);
+        }
+    }
+
+    /**
+     * Give the removed sprites of a class back to a pool.
+     *
+     * @param <T> the type of the sprites
+     * @param kind the class of the sprites
+     * @param pool the pool taking them back
+     */
+    public <T extends Sprite> void registerPool(Class<T> kind, ObjectPool<T> pool) {
+        pools.put(kind, pool);
+    }
+
+    /**
+     * Put the queued sprites in play and take the ones to be removed out of
+     * play. The removed sprites are kept in CLEAN_UP_SPRITES until
+     * cleanupSprites(). This must not be called while the sprites are
+     * iterated.
+     */
+    public void applyChanges() {
+        for (int i = 0; i < spritesToBeAdded.size(); i++) {
+            Sprite sprite = spritesToBeAdded.get(i);
+            sprite.additionPending = false;
+            sprites.append(sprite);
+            SpriteBucket<?> bucket = buckets.get(sprite.getClass());
+            if (bucket != null) {
+                bucket.append(sprite);
+            }
+            sprite.setInPlay(true);
+        }
+        spritesToBeAdded.clear();
+
+        for (int i = 0; i < spritesToBeRemoved.size(); i++) {
+            Sprite sprite = spritesToBeRemoved.get(i);
+            if (sprite.index >= 0) {
+                sprites.swapRemove(sprite);
+                if (sprite.kindIndex >= 0) {
+                    buckets.get(sprite.getClass()).swapRemove(sprite);
+                }
+                sprite.setInPlay(false);
+            }
+        }
+    }
+
+    /**
+     * Removes sprite objects and nodes from all temporary collections such as:
+     * CLEAN_UP_SPRITES. The sprite to be removed will also be removed from the
+     * list of all sprite objects called (GAME_ACTORS). The queued sprites are
+     * put in play.
+     */
+    public void cleanupSprites() {
+
+        applyChanges();
+
+        // give the removed sprites back to their pool, or destroy their row
+        for (int i = 0; i < spritesToBeRemoved.size(); i++) {
+            Sprite sprite = spritesToBeRemoved.get(i);
+            sprite.removalPending = false;
+            ObjectPool<?> pool = pools.get(sprite.getClass());
+            if (pool != null) {
+                pool.freeUnchecked(sprite);
+            } else {
+                sprite.destroy();
+            }
+        }
+
+        // reset the clean up sprites
+        spritesToBeRemoved.clear();
+    }
+
+    public  void clear(){
+       for (int i = 0; i < sprites.size(); i++) {
+           sprites.get(i).setInPlay(false);
+       }
+       sprites.empty();
+       for (SpriteBucket<?> bucket : buckets.values()) {
+           bucket.empty();
+       }
+       for (Sprite sprite : spritesToBeAdded) {
+           sprite.additionPending = false;
+       }
+       spritesToBeAdded.clear();
+       for (Sprite sprite : spritesToBeRemoved) {
+           sprite.removalPending = false;
+       }
+       spritesToBeRemoved.clear();
+    }
+
+}
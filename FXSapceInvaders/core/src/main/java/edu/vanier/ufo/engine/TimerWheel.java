@@ -0,0 +1,256 @@
+package edu.vanier.ufo.engine;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Runs actions after a number of simulation steps, like cooldowns, lifetimes
+ * and delayed events. The wheel is advanced by the engine at each step, so
+ * the timers follow the game time: they stop with the steps, when the game
+ * is paused or finished, and their actions run on the simulation thread.
+ *
+ * The timers are hashed into a ring of slots by the step they are due in.
+ * Advancing one step only visits one slot, and scheduling or cancelling a
+ * timer only links or unlinks it from its slot. The timers live in parallel
+ * arrays reused once they ran, so no object is created once the arrays grew
+ * to the number of pending timers, as long as the actions are kept in
+ * fields instead of being created for each timer.
+ */
+public class TimerWheel {
+
+    /**
+     * A handle that is never given to a timer.
+     */
+    public static final long NO_TIMER = 0;
+
+    /**
+     * The number of slots of the ring, a power of 2. Timers due further
+     * than this number of steps go around the ring again.
+     */
+    private static final int SLOT_COUNT = 256;
+
+    /**
+     * The chain of the timers being run by advance(), after the slots.
+     */
+    private static final int DUE_CHAIN = SLOT_COUNT;
+
+    private static final int NONE = -1;
+
+    private static final Consumer<Runnable> RUN = Runnable::run;
+
+    // The first timer of each slot, and of the due chain
+    private final int[] heads = new int[SLOT_COUNT + 1];
+
+    // The timers, by index
+    private long[] deadlines;
+    private Consumer<Object>[] actions;
+    private Object[] subjects;
+    private int[] chains;
+    private int[] next;
+    private int[] previous;
+    private int[] generations;
+
+    private int freeHead = NONE;
+    private long tick;
+    private int pendingCount;
+
+    public TimerWheel() {
+        Arrays.fill(heads, NONE);
+        allocate(16);
+    }
+
+    /**
+     * Run an action after a number of steps.
+     *
+     * @param steps the number of calls to advance() before the action runs,
+     * at least 1
+     * @param action the action to run
+     * @return the handle of the timer, to cancel it
+     */
+    public long schedule(int steps, Runnable action) {
+        return schedule(steps, RUN, action);
+    }
+
+    /**
+     * Run an action on a subject after a number of steps. A single action
+     * can be kept for all the subjects, like all the missiles of a game.
+     *
+     * @param <T> the type of the subject
+     * @param steps the number of calls to advance() before the action runs,
+     * at least 1
+     * @param action the action to run
+     * @param subject the object given to the action
+     * @return the handle of the timer, to cancel it
+     */
+    @SuppressWarnings("unchecked")
+    public <T> long schedule(int steps, Consumer<? super T> action, T subject) {
+        if (freeHead == NONE) {
+            allocate(deadlines.length * 2);
+        }
+        int timer = freeHead;
+        freeHead = next[timer];
+        deadlines[timer] = tick + Math.max(1, steps);
+        actions[timer] = (Consumer<Object>) action;
+        subjects[timer] = subject;
+        link(timer, (int) (deadlines[timer] & (SLOT_COUNT - 1)));
+        pendingCount++;
+        return (long) generations[timer] << 32 | timer;
+    }
+
+    /**
+     * Cancel a timer that did not run yet. Cancelling a timer that ran or
+     * was cancelled does nothing, even if its index is reused.
+     *
+     * @param handle the handle of the timer
+     * @return if the timer was pending
+     */
+    public boolean cancel(long handle) {
+        int timer = indexOf(handle);
+        if (timer == NONE) {
+            return false;
+        }
+        unlink(timer);
+        release(timer);
+        return true;
+    }
+
+    /**
+     * @param handle the handle of a timer
+     * @return if the timer did not run and was not cancelled
+     */
+    public boolean isPending(long handle) {
+        return indexOf(handle) != NONE;
+    }
+
+    /**
+     * Move to the next step and run the actions of the timers due in it. The
+     * timers scheduled by these actions run in a later step.
+     */
+    public void advance() {
+        tick++;
+        int slot = (int) (tick & (SLOT_COUNT - 1));
+        int timer = heads[slot];
+        while (timer != NONE) {
+            int following = next[timer];
+            if (deadlines[timer] <= tick) {
+                unlink(timer);
+                link(timer, DUE_CHAIN);
+            }
+            timer = following;
+        }
+
+        // An action can cancel a timer still in the due chain
+        while (heads[DUE_CHAIN] != NONE) {
+            timer = heads[DUE_CHAIN];
+            Consumer<Object> action = actions[timer];
+            Object subject = subjects[timer];
+            unlink(timer);
+            release(timer);
+            action.accept(subject);
+        }
+    }
+
+    /**
+     * Cancel every pending timer.
+     */
+    public void clear() {
+        for (int chain = 0; chain < heads.length; chain++) {
+            while (heads[chain] != NONE) {
+                int timer = heads[chain];
+                unlink(timer);
+                release(timer);
+            }
+        }
+    }
+
+    /**
+     * @return the number of steps the wheel advanced
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * @return the number of timers that did not run yet
+     */
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    /**
+     * @return the index of a pending timer, or NONE if it ran or was
+     * cancelled
+     */
+    private int indexOf(long handle) {
+        int timer = (int) handle;
+        if (handle == NO_TIMER || timer < 0 || timer >= deadlines.length
+                || generations[timer] != (int) (handle >>> 32) || actions[timer] == null) {
+            return NONE;
+        }
+        return timer;
+    }
+
+    private void link(int timer, int chain) {
+        chains[timer] = chain;
+        previous[timer] = NONE;
+        next[timer] = heads[chain];
+        if (heads[chain] != NONE) {
+            previous[heads[chain]] = timer;
+        }
+        heads[chain] = timer;
+    }
+
+    private void unlink(int timer) {
+        if (previous[timer] != NONE) {
+            next[previous[timer]] = next[timer];
+        } else {
+            heads[chains[timer]] = next[timer];
+        }
+        if (next[timer] != NONE) {
+            previous[next[timer]] = previous[timer];
+        }
+    }
+
+    /**
+     * Put a timer back in the free list. Its generation changes so that its
+     * old handle is not taken for the next timer at the same index.
+     */
+    private void release(int timer) {
+        actions[timer] = null;
+        subjects[timer] = null;
+        if (++generations[timer] == 0) {
+            generations[timer] = 1;
+        }
+        next[timer] = freeHead;
+        freeHead = timer;
+        pendingCount--;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        int oldCapacity = deadlines == null ? 0 : deadlines.length;
+        if (deadlines == null) {
+            deadlines = new long[capacity];
+            actions = (Consumer<Object>[]) new Consumer<?>[capacity];
+            subjects = new Object[capacity];
+            chains = new int[capacity];
+            next = new int[capacity];
+            previous = new int[capacity];
+            generations = new int[capacity];
+        } else {
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            actions = Arrays.copyOf(actions, capacity);
+            subjects = Arrays.copyOf(subjects, capacity);
+            chains = Arrays.copyOf(chains, capacity);
+            next = Arrays.copyOf(next, capacity);
+            previous = Arrays.copyOf(previous, capacity);
+            generations = Arrays.copyOf(generations, capacity);
+        }
+        // The generations start at 1, so that no handle is NO_TIMER
+        for (int timer = capacity - 1; timer >= oldCapacity; timer--) {
+            generations[timer] = 1;
+            next[timer] = freeHead;
+            freeHead = timer;
+        }
+    }
+}
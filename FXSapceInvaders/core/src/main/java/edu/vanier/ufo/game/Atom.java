@@ -0,0 +1,80 @@
+package edu.vanier.ufo.game;
+
+import edu.vanier.ufo.engine.EntityStore;
+import edu.vanier.ufo.engine.GameEngine;
+import edu.vanier.ufo.engine.Sprite;
+
+/**
+ * A spherical looking object (Atom) with a random radius, color, and velocity.
+ * When two atoms collide each will fade and become removed from the scene. The
+ * method called implode() implements a fade transition effect.
+ *
+ * @author cdea
+ */
+public class Atom extends Sprite {
+
+    private static int LIFE_EXPECTENCY = 80;
+
+    /**
+     * Constructor of an atom showing an image. Its colliding circle encloses
+     * the image.
+     *
+     * @param entities the store of the game the atom plays in
+     * @param image the image of the atom
+     */
+    public Atom(EntityStore entities, SpriteImage image) {
+        super(entities);
+        changeImage(image);
+    }
+
+    /**
+     * Change the image of the atom and its colliding circle.
+     *
+     * @param image the image of the atom
+     */
+    public final void changeImage(SpriteImage image) {
+        setImage(image.getPath(), image.getWidth(), image.getHeight());
+        setCollisionCircle(image.getWidth() / 2, image.getHeight() / 2,
+                Math.max(image.getWidth() / 2, image.getHeight() / 2));
+    }
+
+    /**
+     * An atom keeps its velocity. It is moved and its lifetime is counted by
+     * the entity store.
+     */
+    @Override
+    public void update() {
+    }
+
+    /**
+     * Animate an implosion. The presentation layer shows the explosion and
+     * plays its sound.
+     *
+     * @param gameWorld - game world
+     * @param xCoord the X coordinate of the explosion
+     * @param yCoord the Y coordinate of the explosion
+     */
+    public void implode(final GameEngine gameWorld, double xCoord, double yCoord) {
+        setVelocity(0, 0);
+        setDead(true);
+        gameWorld.notifyExplosion(this, xCoord, yCoord);
+        gameWorld.notifySound("explosion");
+    }
+
+  
+    public static int getLIFE_EXPECTENCY() {
+        return LIFE_EXPECTENCY;
+    }
+
+    public static void setLIFE_EXPECTENCY(int LIFE_EXPECTENCY) {
+        Atom.LIFE_EXPECTENCY = LIFE_EXPECTENCY;
+    }
+
+    public int getDurationCounter() {
+        return getLifetime();
+    }
+
+    public void setDurationCounter(int durationCounter) {
+        setLifetime(durationCounter);
+    }
+}
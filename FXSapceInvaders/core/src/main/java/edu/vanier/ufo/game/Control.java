@@ -0,0 +1,23 @@
+package edu.vanier.ufo.game;
+
+/**
+ * The controls of the player, recorded in the InputState of the simulation.
+ *
+ * @author enyihou
+ */
+public enum Control {
+
+    // Held to thrust the spaceship.
+    UP,
+    LEFT,
+    DOWN,
+    RIGHT,
+
+    // Pressed once.
+    FIRE,
+    SHIELD,
+    WEAPON_NORMAL,
+    WEAPON_MEDIUM,
+    WEAPON_HUGE,
+    WEAPON_ULTIMATE
+}
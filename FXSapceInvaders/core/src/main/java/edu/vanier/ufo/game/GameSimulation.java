@@ -0,0 +1,565 @@
+package edu.vanier.ufo.game;
+
+import edu.vanier.ufo.engine.BoundaryPolicy;
+import edu.vanier.ufo.engine.CollisionMath;
+import edu.vanier.ufo.engine.GameEngine;
+import edu.vanier.ufo.engine.InputState;
+import edu.vanier.ufo.engine.ObjectPool;
+import edu.vanier.ufo.engine.RenderSnapshot;
+import edu.vanier.ufo.engine.Sprite;
+import edu.vanier.ufo.engine.SpriteBucket;
+import edu.vanier.ufo.engine.TimerWheel;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * The rules of the game. The user navigates his/her ship to thrust, aims with
+ * the cursor and fires at the invaders following the ship. The game is won
+ * when every invader of the level is eliminated.
+ *
+ * @author cdea
+ */
+public class GameSimulation extends GameEngine {
+
+    // Randomizer for later use
+    private static final Random randomizer = new Random();
+
+    /*
+     * Minimum spawn distance from the spaceShip
+     */
+    private static final int SAFETY_REGION_RADIUS = 2000;
+
+    /**
+     * How long the shield of the spaceship lasts in milliseconds.
+     */
+    private static final int SHIELD_DURATION = 5000;
+
+    /**
+     * The statistics copied in the render snapshots.
+     */
+    public static final int STAT_SCORE = 0;
+    public static final int STAT_PROGRESS = 1;
+    public static final int STAT_HEALTH = 2;
+
+    private final int level;
+
+    /*
+     * User's score
+     */
+    private int gameScore;
+
+    /*
+     * How many eliminated Invaders
+     */
+    private int gameProgress;
+
+    /*
+     * Number of invaders
+     */
+    private final int numberOfInvaders;
+
+    /*
+     * Stores the position of the cursor in the world. It is updated at each
+     * SpaceShip Movement and Mouse Movement.
+     */
+    private double cursorX;
+    private double cursorY;
+
+    private final Ship spaceShip = new Ship(getEntityStore());
+
+    /**
+     * The input of the player, sampled at the start of each step.
+     */
+    private final InputState<Control> input = new InputState<>();
+
+    /**
+     * The sprites in play of each kind, kept by the sprite manager.
+     */
+    private final SpriteBucket<Invader> invaders = getSpriteManager().getBucket(Invader.class);
+    private final SpriteBucket<Ship> ships = getSpriteManager().getBucket(Ship.class);
+
+    /**
+     * The missiles and the invaders are taken back by the sprite manager when
+     * they are removed, and handed out again.
+     */
+    private final ObjectPool<Missile> missilePool = new ObjectPool<>(
+            () -> new Missile(getEntityStore(), Weapon.NORMAL.getMissileImage()), this::releaseMissile);
+    private final ObjectPool<Invader> invaderPool;
+
+    /**
+     * Steers the invaders toward the spaceship.
+     */
+    private final Swarm swarm = new Swarm();
+
+    /**
+     * The actions of the timers, kept so that scheduling a timer creates
+     * nothing.
+     */
+    private final Runnable restoreFire = () -> spaceShip.setCanFire(true);
+    private final Runnable restoreShield = () -> spaceShip.setShieldAvailable(true);
+    private final Consumer<Missile> expireMissile = this::expireMissile;
+
+    /**
+     * The contact point of the last collision, see locateContact().
+     */
+    private double contactX;
+    private double contactY;
+
+    /**
+     *
+     * @param fps   the number of simulation steps per second
+     * @param level the level of the game
+     */
+    public GameSimulation(int fps, int level) {
+        super(fps);
+        this.level = level;
+        this.numberOfInvaders = 12 + 3 * this.level;
+
+        SpriteImage invaderImage = switch (level) {
+            case 4 -> SpriteImage.BOSS;
+            case 3 -> SpriteImage.ENEMY3;
+            case 2 -> SpriteImage.ENEMY2;
+            default -> SpriteImage.ENEMY1;
+        };
+        invaderPool = new ObjectPool<>(() -> new Invader(getEntityStore(), invaderImage, level), Invader::reset);
+        getSpriteManager().registerPool(Missile.class, missilePool);
+        getSpriteManager().registerPool(Invader.class, invaderPool);
+
+        // Missiles and invaders implode on the edge of the map, the spaceship
+        // heads back toward its center
+        setWorldBounds(0, 0, Map.getMAP_RADIUS());
+        setBoundaryPolicy(Missile.class, BoundaryPolicy.IMPLODE);
+        setBoundaryPolicy(Invader.class, BoundaryPolicy.IMPLODE);
+        setBoundaryPolicy(Ship.class, BoundaryPolicy.RETURN);
+
+        // Only missiles hitting invaders and invaders hitting the spaceship
+        // are checked
+        getCollisionMatrix().register(Missile.COLLISION_LAYER, Invader.COLLISION_LAYER,
+                (missile, invader) -> handleMissileHit((Missile) missile, (Invader) invader));
+        getCollisionMatrix().register(Ship.COLLISION_LAYER, Invader.COLLISION_LAYER,
+                (ship, invader) -> handleShipHit((Ship) ship, (Invader) invader));
+
+        setDefaultRocket();
+
+    }
+
+    /**
+     * Initialize the game world by adding the spaceship.
+     */
+    @Override
+    public void initialize() {
+        getSpriteManager().cleanupSprites();
+        addSprite(spaceShip);
+        getSpriteManager().applyChanges();
+    }
+
+    /**
+     * Set the default rocket of the spaceship depending on the current level
+     */
+    private void setDefaultRocket() {
+        // Every level starts with the normal rocket
+        this.spaceShip.changeWeapon(Weapon.NORMAL);
+    }
+
+    /**
+     * Fire the missiles of the spaceship toward the cursor if the cool down to
+     * fire is done. Each missile lives for the life expectancy of the atoms.
+     */
+    public void fire() {
+        if (isFinished() || !spaceShip.isCanFire()) {
+            return;
+        }
+        aimShip();
+
+        for (int i = 0; i < level; i++) {
+            Missile missile = spaceShip.fire(missilePool.obtain(), i + 1, level);
+            missile.placeAt(
+                    spaceShip.getCenterX() - missile.getBoundsWidth() / 2,
+                    spaceShip.getCenterY() - missile.getBoundsHeight() / 2);
+            addSprite(missile);
+            missile.setExpiryTimer(getTimers().schedule(Atom.getLIFE_EXPECTENCY() + 1, expireMissile, missile));
+            notifySound(spaceShip.getWeapon().getSound());
+        }
+        spaceShip.setCanFire(false);
+        getTimers().schedule(stepsOf(500 / spaceShip.getFireSpeed()), restoreFire);
+    }
+
+    /**
+     * Activate the shield of the spaceship if it is available.
+     */
+    public void activateShield() {
+        if (isFinished() || !spaceShip.isShieldAvailable()) {
+            return;
+        }
+        spaceShip.activateShield(SHIELD_DURATION * getFramesPerSecond() / 1000);
+        spaceShip.setShieldAvailable(false);
+        getTimers().schedule(stepsOf(spaceShip.getShieldCoolDown()), restoreShield);
+    }
+
+    /**
+     * @param millis a duration in milliseconds
+     * @return the number of steps lasting at least the duration
+     */
+    private int stepsOf(double millis) {
+        return (int) Math.ceil(millis * getFramesPerSecond() / 1000);
+    }
+
+    /**
+     * Change the weapon of the spaceship.
+     *
+     * @param weapon the weapon to use
+     */
+    public void changeWeapon(Weapon weapon) {
+        if (!isFinished()) {
+            spaceShip.changeWeapon(weapon);
+        }
+    }
+
+    /**
+     * This method generate an invader according to the level and set its
+     * location to a random position that is outside the safe region, which is
+     * the region where the ship spawns.
+     */
+    public void spawnInvaders() {
+
+        Invader invader = invaderPool.obtain();
+
+        switch (level) {
+            case 4 -> {
+                invader.setPoint(500);
+                invader.setHealth(2000);
+            }
+            case 3 -> {
+                invader.setPoint(100);
+                invader.setHealth(1000);
+            }
+            case 2 -> {
+                invader.setPoint(50);
+                invader.setHealth(500);
+            }
+            default -> {
+                invader.setPoint(20);
+                invader.setHealth(200);
+            }
+        }
+
+        int rangeOfSpawn = (Map.getMAP_RADIUS());
+
+        int randomXPos;
+        int randomYPos;
+        double distanceX;
+        double distanceY;
+        do {
+            randomXPos = randomizer.nextInt(-rangeOfSpawn, rangeOfSpawn);
+            randomYPos = randomizer.nextInt(-rangeOfSpawn, rangeOfSpawn);
+
+            distanceX = randomXPos - spaceShip.getCenterX();
+            distanceY = randomYPos - spaceShip.getCenterY();
+
+        } while (randomXPos * randomXPos + randomYPos * randomYPos > Map.getMAP_RADIUS() * Map.getMAP_RADIUS()
+                || distanceX * distanceX + distanceY * distanceY < SAFETY_REGION_RADIUS * SAFETY_REGION_RADIUS);
+
+        invader.placeAt(randomXPos, randomYPos);
+        swarm.join(invader);
+        addSprite(invader);
+
+    }
+
+    /**
+     * Apply the input of the player, update the sprites, then handle the
+     * cursor according to the spaceship movement.
+     */
+    @Override
+    protected void updateSprites() {
+        applyInput();
+        super.updateSprites();
+        if (!ships.isEmpty()) {
+            handleCursor();
+        }
+    }
+
+    /**
+     * Sample the input recorded since the last step and apply it: the keys
+     * thrusting the spaceship, the last cursor position, and the controls
+     * pressed once.
+     */
+    private void applyInput() {
+        input.sample();
+        spaceShip.setwPressed(input.isHeld(Control.UP));
+        spaceShip.setaPressed(input.isHeld(Control.LEFT));
+        spaceShip.setsPressed(input.isHeld(Control.DOWN));
+        spaceShip.setdPressed(input.isHeld(Control.RIGHT));
+        if (input.hasCursorMoved()) {
+            setCursor(input.getCursorX(), input.getCursorY());
+        }
+        if (input.wasPressed(Control.WEAPON_NORMAL)) {
+            changeWeapon(Weapon.NORMAL);
+        }
+        if (input.wasPressed(Control.WEAPON_MEDIUM)) {
+            changeWeapon(Weapon.MEDIUM);
+        }
+        if (input.wasPressed(Control.WEAPON_HUGE)) {
+            changeWeapon(Weapon.HUGE);
+        }
+        if (input.wasPressed(Control.WEAPON_ULTIMATE)) {
+            changeWeapon(Weapon.ULTIMATE);
+        }
+        if (input.wasPressed(Control.SHIELD)) {
+            activateShield();
+        }
+        if (input.wasPressed(Control.FIRE)) {
+            fire();
+        }
+    }
+
+    /**
+     * @param sprite - The handled sprite
+     */
+    @Override
+    protected void handleUpdate(Sprite sprite) {
+
+        if (!this.isFinished()) {
+            sprite.update();
+        }
+
+    }
+
+    /**
+     * Steer the invaders toward the spaceship, the ones spawned during the
+     * last step included.
+     */
+    @Override
+    protected void handleBatchUpdate() {
+        swarm.steer(invaders, spaceShip.getCenterX(), spaceShip.getCenterY());
+    }
+
+    /**
+     * Implode a missile or an invader getting out of the map.
+     *
+     * @param sprite the sprite that is getting out of the map
+     */
+    @Override
+    protected void handleOutOfBounds(Sprite sprite) {
+        if (sprite instanceof Atom atom) {
+            atom.implode(this, atom.getCenterX(), atom.getCenterY());
+        }
+        sprite.handleDeath(this);
+    }
+
+    /**
+     * Update the cursor position according to the spaceship velocity
+     */
+    private void handleCursor() {
+        cursorX += spaceShip.getVelocityX();
+        cursorY += spaceShip.getVelocityY();
+        aimShip();
+    }
+
+    /**
+     * Set the rotation of the ship to follow the cursor
+     */
+    private void aimShip() {
+        spaceShip.setRotation(Math.atan2(
+                cursorY - spaceShip.getCenterY(),
+                cursorX - spaceShip.getCenterX())
+                * 180 / Math.PI);
+    }
+
+    /**
+     * Remove a missile whose life expectancy is over, run by its expiry
+     * timer.
+     *
+     * @param missile the missile that is handled.
+     */
+    private void expireMissile(Missile missile) {
+        missile.setExpiryTimer(TimerWheel.NO_TIMER);
+        getSpriteManager().addSpritesToBeRemoved(missile);
+        missile.implode(this, missile.getCenterX(), missile.getCenterY());
+    }
+
+    /**
+     * Cancel the expiry of a missile that left the game before it, like by
+     * hitting an invader, and reset it for the pool.
+     *
+     * @param missile the missile given back to the pool
+     */
+    private void releaseMissile(Missile missile) {
+        getTimers().cancel(missile.getExpiryTimer());
+        missile.setExpiryTimer(TimerWheel.NO_TIMER);
+        missile.reset();
+    }
+
+    /**
+     * Overridden method that adds the sprites after the collisions are
+     * resolved by handleMissileHit() and handleShipHit().
+     *
+     * If the number of invaders on the field added with the eliminated number
+     * of invaders is less than the total number of invaders of the level, spawn
+     * a new invader. The invaders eliminated during this step are still on the
+     * field until the cleanup.
+     */
+    @Override
+    protected void spawnSprites() {
+
+        if (gameProgress + invaders.size() < numberOfInvaders
+                && (invaders.size() < 9)) {
+            this.spawnInvaders();
+
+        } else if (invaders.isEmpty()) {
+            victory();
+        }
+    }
+
+    /**
+     * If an invader collides with a missile, it loses health, and it implodes
+     * if its health is lower than 0.
+     *
+     * @param missile the missile hitting the invader
+     * @param invader the invader being hit
+     */
+    private void handleMissileHit(Missile missile, Invader invader) {
+
+        locateContact(missile, invader);
+        missile.implode(this, contactX, contactY);
+
+        if (!invader.isIsDead()) {
+            invader.setHealth(invader.getHealth() - missile.getDamage());
+
+            if (invader.getHealth() < 0) {
+                invader.implode(this, invader.getCenterX(), invader.getCenterY());
+                getSpriteManager().addSpritesToBeRemoved(invader);
+                gameScore += invader.getPoint();
+                gameProgress++;
+                invader.setIsDead(true);
+
+            }
+        }
+        getSpriteManager().addSpritesToBeRemoved(missile);
+    }
+
+    /**
+     * If an invader collides with the spaceship, the spaceship loses 1 heart
+     * and the invader implodes.
+     *
+     * @param ship the spaceship being hit
+     * @param invader the invader hitting the spaceship
+     */
+    private void handleShipHit(Ship ship, Invader invader) {
+
+        if (!ship.isShieldOn()) {
+            ship.damaged();
+        } else {
+            ship.breakShield();
+        }
+        locateContact(ship, invader);
+        invader.implode(this, contactX, contactY);
+        getSpriteManager().addSpritesToBeRemoved(invader);
+
+        if (ship.getHealth() == 0) {
+            ship.setDead(true);
+            defeat();
+        }
+    }
+
+    /**
+     * Locate where two colliding sprites touch each other at their time of
+     * impact. The result is stored in contactX and contactY.
+     *
+     * @param spriteA the first sprite
+     * @param spriteB the second sprite
+     */
+    private void locateContact(Sprite spriteA, Sprite spriteB) {
+        double time = Math.max(spriteA.timeOfImpact(spriteB), 0);
+        double ax = spriteA.getCollisionCenterX(time);
+        double ay = spriteA.getCollisionCenterY(time);
+        double bx = spriteB.getCollisionCenterX(time);
+        double by = spriteB.getCollisionCenterY(time);
+        double ar = spriteA.getCollisionRadius();
+        double br = spriteB.getCollisionRadius();
+        contactX = CollisionMath.contactX(ax, ay, ar, bx, by, br);
+        contactY = CollisionMath.contactY(ax, ay, ar, bx, by, br);
+    }
+
+    /**
+     * Copy the sprites with the score, the progress and the health of the
+     * spaceship.
+     *
+     * @param snapshot the snapshot to fill
+     */
+    @Override
+    public void writeSnapshot(RenderSnapshot snapshot) {
+        super.writeSnapshot(snapshot);
+        snapshot.setStat(STAT_SCORE, gameScore);
+        snapshot.setStat(STAT_PROGRESS, gameProgress);
+        snapshot.setStat(STAT_HEALTH, spaceShip.getHealth());
+    }
+
+    /**
+     * Move the cursor the spaceship aims at.
+     *
+     * @param x the X coordinate of the cursor in the world
+     * @param y the Y coordinate of the cursor in the world
+     */
+    public void setCursor(double x, double y) {
+        if (!isFinished()) {
+            cursorX = x;
+            cursorY = y;
+        }
+    }
+
+    /**
+     * @return the input of the player, recorded from any thread
+     */
+    public InputState<Control> getInput() {
+        return input;
+    }
+
+    /**
+     * @return the spaceship controlled by the user
+     */
+    public Ship getSpaceShip() {
+        return spaceShip;
+    }
+
+    /**
+     * @return the pool of the missiles
+     */
+    public ObjectPool<Missile> getMissilePool() {
+        return missilePool;
+    }
+
+    /**
+     * @return the pool of the invaders
+     */
+    public ObjectPool<Invader> getInvaderPool() {
+        return invaderPool;
+    }
+
+    /**
+     * @return the level of the game
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * @return the user's score
+     */
+    public int getGameScore() {
+        return gameScore;
+    }
+
+    /**
+     * @return how many invaders were eliminated
+     */
+    public int getGameProgress() {
+        return gameProgress;
+    }
+
+    /**
+     * @return the number of invaders to eliminate
+     */
+    public int getNumberOfInvaders() {
+        return numberOfInvaders;
+    }
+}
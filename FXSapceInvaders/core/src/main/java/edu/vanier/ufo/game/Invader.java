@@ -0,0 +1,113 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package edu.vanier.ufo.game;
+
+import edu.vanier.ufo.engine.EntityStore;
+
+/**
+ *
+ * @author enyihou
+ */
+public class Invader extends Atom {
+
+    
+
+    /**
+     * The collision layer of the invaders.
+     */
+    public static final int COLLISION_LAYER = 1;
+
+    private final double speed;
+    private int point;
+
+    /**
+     * The steps in which the swarm turns this invader toward the spaceship,
+     * see Swarm.
+     */
+    private int retargetPhase;
+
+    /**
+     *
+     * Invader instance that follows the spaceship, steered by the swarm of
+     * the game.
+     *
+     * @param entities the store of the game the invader plays in
+     * @param image the image of the invader
+     * @param level the level of the game, its points and speed will be adjusted
+     * according to it
+     */
+    public Invader(EntityStore entities, SpriteImage image, int level) {
+
+        super(entities, image);
+        setCollisionLayer(COLLISION_LAYER);
+        this.point = 50 * level;
+        this.speed = (5 + level);
+
+    }
+
+    /**
+     *
+     * @return the worth of this invader in points. The stronger the invader,
+     * the more points it makes
+     */
+    public int getPoint() {
+        return point;
+    }
+
+    /**
+     * Set the worth points of this invader
+     *
+     * @param point the desired value of the worth points of this invader
+     */
+    public void setPoint(int point) {
+        this.point = point;
+    }
+
+    /**
+     *
+     * @return the speed of the invader
+     */
+    public double getSpeed() {
+        return speed;
+    }
+
+    /**
+     *
+     * @return the phase of the steps in which this invader is turned toward
+     * the spaceship
+     */
+    public int getRetargetPhase() {
+        return retargetPhase;
+    }
+
+    /**
+     * Set the phase of the steps in which this invader is turned toward the
+     * spaceship
+     *
+     * @param retargetPhase the phase, less than Swarm.RETARGET_INTERVAL, or
+     * -1 until the swarm steered it for the first time
+     */
+    public void setRetargetPhase(int retargetPhase) {
+        this.retargetPhase = retargetPhase;
+    }
+
+    /**
+     *
+     * @return if this invader is dead
+     */
+    public boolean isIsDead() {
+        return isDead();
+    }
+
+    /**
+     * Set if this invader is dead
+     *
+     * @param isDead the desired value to set if this invader is dead
+     */
+    public void setIsDead(boolean isDead) {
+        setDead(isDead);
+    }
+
+}
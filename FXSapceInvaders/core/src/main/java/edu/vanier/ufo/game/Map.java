@@ -0,0 +1,28 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package edu.vanier.ufo.game;
+
+/**
+ * The circular map in which the game is played. It is centered on the origin.
+ * Its stars are only drawn by the presentation layer, see MapView.
+ *
+ * @author enyihou
+ */
+public class Map {
+
+    /**
+     * The radius of the map
+     */
+    private static final int MAP_RADIUS = 3000;
+
+    private Map() {
+    }
+   
+    public static int getMAP_RADIUS() {
+        return MAP_RADIUS;
+    }
+
+
+}
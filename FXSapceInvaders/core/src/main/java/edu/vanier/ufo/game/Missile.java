@@ -0,0 +1,64 @@
+package edu.vanier.ufo.game;
+
+import edu.vanier.ufo.engine.EntityStore;
+import edu.vanier.ufo.engine.TimerWheel;
+
+/**
+ * A missile projectile without the radial gradient.
+ */
+public class Missile extends Atom {
+
+    /**
+     * The collision layer of the missiles.
+     */
+    public static final int COLLISION_LAYER = 2;
+
+    /**
+     * The damage that a missile does to an invader.
+     */
+    private int damage;
+
+    /**
+     * The timer ending the life of the missile.
+     */
+    private long expiryTimer = TimerWheel.NO_TIMER;
+
+    public Missile(EntityStore entities, SpriteImage image) {
+        super(entities, image);
+        setCollisionLayer(COLLISION_LAYER);
+        // Missiles travel further than the size of an invader in one frame
+        setFastMover(true);
+    }
+
+    /**
+     *
+     * @return the damage of the missile
+     */
+    public int getDamage() {
+        return damage;
+    }
+
+    /**
+     * set the damage of the missile
+     * @param damage the value of the desired damage
+     */
+    public void setDamage(int damage) {
+        this.damage = damage;
+    }
+
+    /**
+     * @return the handle of the timer ending the life of the missile
+     */
+    public long getExpiryTimer() {
+        return expiryTimer;
+    }
+
+    /**
+     * @param expiryTimer the handle of the timer ending the life of the
+     * missile
+     */
+    public void setExpiryTimer(long expiryTimer) {
+        this.expiryTimer = expiryTimer;
+    }
+
+}
@@ -0,0 +1,398 @@
+package edu.vanier.ufo.game;
+
+import edu.vanier.ufo.engine.EntityStore;
+import edu.vanier.ufo.engine.Sprite;
+
+/**
+ *
+ * The spaceship object is the user-controlled character of the game.
+ *
+ * @author enyi
+ */
+public class Ship extends Sprite {
+
+    /**
+     * The collision layer of the spaceship.
+     */
+    public static final int COLLISION_LAYER = 0;
+
+    /**
+     * Deceleration of the spaceship. It must be lower than the acceleration
+     * constant
+     */
+    private final static double DECELERATION_CONSTANT = 0.08;
+
+    /**
+     * Acceleration of the spaceship. It must be higher than the deceleration
+     * constant
+     */
+    private final static double ACCELERATION_CONSTANT = 0.2;
+
+    /**
+     * Speed of the missile.
+     */
+    private final static float MISSILE_THRUST_AMOUNT = 40.3F;
+
+    /**
+     * Speed of shooting. The cool down of fire is inversely proportional to
+     * this property
+     */
+    private float fireSpeed = 1f;
+
+    /**
+     * Maximum Angle of shooting bullets. When the spaceship shoots more than 1
+     * missile, each missile will have an angle slightly deviated from the
+     * center. This variable determines the maximum angle of deviation from the
+     * one end to another end
+     */
+    private int maxAngleShooting = 30;
+
+    /**
+     * Boolean of if the spaceship can fire or not.
+     */
+    private boolean canFire;
+
+    /**
+     * Cooldown of the shield after it is activated in milliseconds
+     */
+    private float shieldCoolDown = 15000;
+
+    /**
+     * Boolean of whether the spaceship has a shield on.
+     */
+    private boolean shieldOn;
+
+    /**
+     * Boolean of whether the user can turn on the shield.
+     */
+    private boolean shieldAvailable = true;
+
+    /**
+     * Number of simulation steps the shield lasts, and the steps left before
+     * it disappears. The shield slowly fades with time.
+     */
+    private int shieldDuration;
+    private int shieldTicksLeft;
+
+    /**
+     * The selected weapon.
+     */
+    private Weapon weapon = Weapon.NORMAL;
+
+    /**
+     * The radius of the collision region of the ship.
+     */
+    private static final double HIT_ZONE_RADIUS = 50;
+
+    /**
+     * The health of the spaceship when the game starts
+     */
+    private static final int INITIAL_HEALTH = 3;
+
+    /**
+     * Booleans to tell which direction the spaceship is commanded to go.
+     */
+    private boolean wPressed, aPressed, sPressed, dPressed = false;
+
+    /**
+     * Constructor of a ship instance.
+     *
+     * @param entities the store of the game the ship plays in
+     */
+    public Ship(EntityStore entities) {
+
+        super(entities);
+        canFire = true;
+        setHealth(INITIAL_HEALTH);
+        setCollisionLayer(COLLISION_LAYER);
+        changeShip(SpriteImage.SPACE_SHIP1);
+        placeAt(350, 450);
+
+    }
+
+    /**
+     * Change the ship image
+     *
+     * @param newShip new image of ship
+     */
+    public void changeShip(SpriteImage newShip) {
+        setImage(newShip.getPath(), newShip.getWidth(), newShip.getHeight());
+        initHitZone();
+    }
+
+    /**
+     * Initialize the collision region for the space ship. It's just a circle
+     * centered on the image.
+     */
+    public void initHitZone() {
+        setCollisionCircle(getWidth() / 2, getHeight() / 2, HIT_ZONE_RADIUS);
+    }
+
+    /**
+     * Change the velocity of the spaceship. The entity store then moves it.
+     */
+    @Override
+    public void update() {
+
+        deccelerate();
+        accelerate();
+        fadeShield();
+
+    }
+
+    private void accelerate() {
+        double x = 0;
+        double y = 0;
+
+        if (wPressed) {
+            y -= 1;
+        }
+        if (aPressed) {
+            x -= 1;
+        }
+        if (sPressed) {
+            y += 1;
+        }
+        if (dPressed) {
+            x += 1;
+        }
+
+        if ((wPressed || aPressed || sPressed || dPressed)) {
+
+            if ((wPressed && sPressed && !aPressed && !dPressed) || (aPressed && dPressed && !wPressed && !sPressed)) {
+
+            } else {
+                double movementAngle = Math.atan2(y, x);
+
+                addVelocity(Math.cos(movementAngle) * ACCELERATION_CONSTANT,
+                        Math.sin(movementAngle) * ACCELERATION_CONSTANT);
+
+            }
+
+        }
+    }
+
+    private void fadeShield() {
+        if (shieldOn && --shieldTicksLeft <= 0) {
+            shieldOn = false;
+        }
+    }
+
+    private void deccelerate() {
+        double vX = getVelocityX();
+        double vY = getVelocityY();
+        if (vX > 0) {
+            vX = Math.max(vX - DECELERATION_CONSTANT, 0);
+        } else if (vX < 0) {
+            vX = Math.min(vX + DECELERATION_CONSTANT, 0);
+        }
+
+        if (vY > 0) {
+            vY = Math.max(vY - DECELERATION_CONSTANT, 0);
+        } else if (vY < 0) {
+            vY = Math.min(vY + DECELERATION_CONSTANT, 0);
+        }
+        setVelocity(vX, vY);
+
+    }
+
+    /**
+     * Sets up a missile that starts at the spaceship's location and travels at
+     * a constant speed to the direction of the rotated ship, with the image
+     * and the damage of the current weapon.
+     *
+     * @param fireMissile the missile to fire, taken from a pool
+     * @param i the order of this missile in all the missiles that the spaceship
+     * shoots. If the spaceship shoots more than 1 missile, each missile's
+     * trajectory is deviated to a certain angle. This parameter tells its order
+     * in the total number of shot missiles.
+     * @param level the level of the game, this parameters how many levels there
+     * are in total to allow the calculations of deviated angle.
+     * @return
+     */
+    public Missile fire(Missile fireMissile, int i, int level) {
+        fireMissile.changeImage(weapon.getMissileImage());
+        float slowDownAmt = weapon.getSlowDownAmount();
+        fireMissile.setDamage(weapon.getDamage());
+
+fireMissile.setVelocityX(getVelocityX() + Math.cos(Math.toRadians(this.getRotation() - (this.maxAngleShooting / 2) + (i * ((this.maxAngleShooting / (level + 1)))))) * (MISSILE_THRUST_AMOUNT - slowDownAmt));
+fireMissile.setVelocityY(getVelocityY() + Math.sin(Math.toRadians(this.getRotation() - (this.maxAngleShooting / 2) + (i * ((this.maxAngleShooting / (level + 1)))))) * (MISSILE_THRUST_AMOUNT - slowDownAmt));
+
+        fireMissile.setRotation(this.getRotation() - (this.maxAngleShooting / 2) + (i * ((this.maxAngleShooting / (level + 1)))) + 90);
+
+        return fireMissile;
+    }
+
+    /**
+     * Change the current weapon
+     *
+     * @param weapon the weapon to use
+     */
+    public void changeWeapon(Weapon weapon) {
+        this.weapon = weapon;
+    }
+
+    /**
+     * Activates the spaceship's shield. The spaceship cannot be damaged while
+     * being shielded, but collision will remove the shield and make the
+     * spaceship vulnerable once again.
+     *
+     * @param durationTicks the number of simulation steps the shield lasts
+     */
+    public void activateShield(int durationTicks) {
+        if (!shieldOn) {
+            shieldDuration = durationTicks;
+            shieldTicksLeft = durationTicks;
+            shieldOn = true;
+        }
+    }
+
+    /**
+     * Remove the shield after a collision.
+     */
+    public void breakShield() {
+        shieldOn = false;
+        shieldTicksLeft = 0;
+    }
+
+    /**
+     * @return how much of the shield is left, from 1 when it is activated to 0
+     * when it is gone
+     */
+    public double getShieldLevel() {
+        return shieldOn ? (double) shieldTicksLeft / shieldDuration : 0;
+    }
+
+    /**
+     * The effect of the spaceship is its shield.
+     *
+     * @return the level of the shield
+     */
+    @Override
+    public double getEffectLevel() {
+        return getShieldLevel();
+    }
+
+    /**
+     * Removes one heart of the spaceship.
+     */
+    public void damaged() {
+        setHealth(getHealth() - 1);
+    }
+
+    //Used to calculate the direction of acceleration and the acceleration
+    //of the spaceship
+    public boolean iswPressed() {
+        return wPressed;
+    }
+
+    public void setwPressed(boolean wPressed) {
+        this.wPressed = wPressed;
+    }
+
+    public boolean isaPressed() {
+        return aPressed;
+    }
+
+    public void setaPressed(boolean aPressed) {
+        this.aPressed = aPressed;
+    }
+
+    public boolean issPressed() {
+        return sPressed;
+    }
+
+    public void setsPressed(boolean sPressed) {
+        this.sPressed = sPressed;
+    }
+
+    public boolean isdPressed() {
+        return dPressed;
+    }
+
+    public void setdPressed(boolean dPressed) {
+        this.dPressed = dPressed;
+    }
+
+    /**
+     *
+     * @return if the spaceship has the shield on
+     */
+    public boolean isShieldOn() {
+        return shieldOn;
+    }
+
+    /**
+     * set the shield to the desired value
+     *
+     * @param shieldOn if the spaceship has the shield one
+     */
+    public void setShieldOn(boolean shieldOn) {
+        this.shieldOn = shieldOn;
+    }
+
+    /**
+     *
+     * @return the spaceship fire speed
+     */
+    public float getFireSpeed() {
+        return fireSpeed;
+    }
+
+    /**
+     *
+     * @return the spaceship cool down for shield
+     */
+    public float getShieldCoolDown() {
+        return shieldCoolDown;
+    }
+
+    /**
+     *
+     * @return if the cool down to active a shield is done
+     */
+    public boolean isShieldAvailable() {
+        return shieldAvailable;
+    }
+
+    /**
+     * set if the spaceship can be shielded
+     * @param shieldAvailable if the spaceship can be shielded
+     */
+    public void setShieldAvailable(boolean shieldAvailable) {
+        this.shieldAvailable = shieldAvailable;
+    }
+
+    /**
+     * 
+     * @return if the spaceship's cool down to fire is done.
+     */
+    public boolean isCanFire() {
+        return canFire;
+    }
+
+    /**
+     * set if the spaceship is in cool down to fire
+     * @param canFire if the space ship can fire
+     */
+    public void setCanFire(boolean canFire) {
+        this.canFire = canFire;
+    }
+
+    /**
+     * 
+     * @return the maximum angle of shooting.
+     */
+    public int getMaxAngleShooting() {
+        return maxAngleShooting;
+    }
+
+    /**
+     * 
+     * @return the chosen weapon
+     */
+    public Weapon getWeapon() {
+        return weapon;
+    }
+
+}
@@ -0,0 +1,59 @@
+package edu.vanier.ufo.game;
+
+/**
+ * The images of the sprites with their size. The simulation only needs the
+ * size of an image, the presentation layer loads the image from its resource
+ * path.
+ *
+ * @author enyihou
+ */
+public enum SpriteImage {
+
+    // Ally images.
+    SPACE_SHIP1("/images/ally/ship/level1.png", 75, 98),
+    SPACE_SHIP2("/images/ally/ship/level2.png", 75, 112),
+    SPACE_SHIP3("/images/ally/ship/level3.png", 75, 99),
+
+    // Enemy images.
+    BOSS("/images/enemy/boss.png", 170, 192),
+    ENEMY1("/images/enemy/enemy1.png", 85, 99),
+    ENEMY2("/images/enemy/enemy2.png", 85, 137),
+    ENEMY3("/images/enemy/enemy3.png", 170, 108),
+
+    // Rocket images.
+    ROCKET_HUGE("/images/ally/missile/huge.png", 21, 29),
+    ROCKET_MEDIUM("/images/ally/missile/medium.png", 21, 43),
+    ROCKET_NORMAL("/images/ally/missile/normal.png", 21, 36),
+    ROCKET_ULTIMATE("/images/ally/missile/ultimate.png", 21, 46);
+
+    private final String path;
+    private final double width;
+    private final double height;
+
+    SpriteImage(String path, double width, double height) {
+        this.path = path;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * @return the resource path of the image
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return the width of the image
+     */
+    public double getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the height of the image
+     */
+    public double getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,90 @@
+package edu.vanier.ufo.game;
+
+import java.util.Random;
+
+/**
+ * The stars of the map: their position, radius and color. Stars are placed at
+ * random and kept only if they touch the map, which is tested in closed form
+ * against the circle of the map.
+ *
+ * @author enyihou
+ */
+public class StarField {
+
+    /**
+     * The number of stars to be generated
+     */
+    public static final int STAR_COUNT = (int) (Map.getMAP_RADIUS() / 0.5);
+
+    /**
+     * Maximum radius of a star (circle)
+     */
+    private static final double STAR_MAX_SIZE = 3;
+
+    /**
+     * Minimum radius of a star (circle)
+     */
+    private static final double STAR_MIN_SIZE = 0.5;
+
+    private final double[] x;
+    private final double[] y;
+    private final double[] radius;
+    private final int[] colorIndex;
+
+    /**
+     * Generate random stars at different location of the map with different
+     * colors.
+     *
+     * @param random the randomizer
+     * @param count the number of stars
+     * @param mapRadius the radius of the map, centered on the origin
+     * @param colorCount the number of possible colors
+     */
+    public StarField(Random random, int count, double mapRadius, int colorCount) {
+        x = new double[count];
+        y = new double[count];
+        radius = new double[count];
+        colorIndex = new int[count];
+
+        int counter = 0;
+        while (counter < count) {
+            double starRadius = random.nextDouble(STAR_MIN_SIZE, STAR_MAX_SIZE);
+            int color = random.nextInt(colorCount);
+            double starX = random.nextDouble(-mapRadius, mapRadius);
+            double starY = random.nextDouble(-mapRadius, mapRadius);
+
+            // Keep the stars touching the map
+            double reach = mapRadius + starRadius;
+            if (starX * starX + starY * starY < reach * reach) {
+                x[counter] = starX;
+                y[counter] = starY;
+                radius[counter] = starRadius;
+                colorIndex[counter] = color;
+                counter++;
+            }
+        }
+    }
+
+    /**
+     * @return the number of stars
+     */
+    public int getCount() {
+        return x.length;
+    }
+
+    public double getX(int i) {
+        return x[i];
+    }
+
+    public double getY(int i) {
+        return y[i];
+    }
+
+    public double getRadius(int i) {
+        return radius[i];
+    }
+
+    public int getColorIndex(int i) {
+        return colorIndex[i];
+    }
+}
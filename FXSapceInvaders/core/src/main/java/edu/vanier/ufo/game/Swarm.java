@@ -0,0 +1,76 @@
+package edu.vanier.ufo.game;
+
+import edu.vanier.ufo.engine.FlowField;
+import java.util.List;
+
+/**
+ * Steers the invaders toward the spaceship. The directions are computed once
+ * per step over a flow field covering the map, and every invader reads the
+ * one of its cell in a single loop.
+ *
+ * An invader only changes its direction once every RETARGET_INTERVAL steps.
+ * Each invader joining the swarm is steered in its first step, then gets the
+ * next phase in turn, so that the retargets are spread evenly over the steps
+ * whatever the order of the invaders.
+ *
+ * @author enyihou
+ */
+public class Swarm {
+
+    /**
+     * How many steps an invader keeps its direction before changing it.
+     */
+    public static final int RETARGET_INTERVAL = 2;
+
+    /**
+     * The width of a cell of the flow field.
+     */
+    private static final double CELL_SIZE = 200;
+
+    /**
+     * The phase of an invader that joined the swarm and was not steered yet.
+     */
+    private static final int JOINING = -1;
+
+    private final FlowField field = new FlowField(-Map.getMAP_RADIUS(), -Map.getMAP_RADIUS(),
+            2 * Map.getMAP_RADIUS(), CELL_SIZE);
+
+    private int joinedCount;
+    private int stepCount;
+
+    /**
+     * Add an invader to the swarm. It is steered in the next step, whatever
+     * its phase, and gets its retarget phase then.
+     *
+     * @param invader the invader joining the swarm
+     */
+    public void join(Invader invader) {
+        invader.setRetargetPhase(JOINING);
+    }
+
+    /**
+     * Turn the invaders whose retarget is due in this step, and the ones
+     * that just joined, toward a target. The dead invaders are left as they
+     * are.
+     *
+     * @param invaders the invaders in play
+     * @param targetX the X coordinate of the target
+     * @param targetY the Y coordinate of the target
+     */
+    public void steer(List<Invader> invaders, double targetX, double targetY) {
+        field.aim(targetX, targetY);
+        int phase = stepCount++ % RETARGET_INTERVAL;
+        for (int i = 0; i < invaders.size(); i++) {
+            Invader invader = invaders.get(i);
+            if (invader.isDead()) {
+                continue;
+            }
+            if (invader.getRetargetPhase() == JOINING) {
+                invader.setRetargetPhase(joinedCount++ % RETARGET_INTERVAL);
+                field.steer(invader, invader.getSpeed());
+            } else if (invader.getRetargetPhase() == phase) {
+                field.steer(invader, invader.getSpeed());
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package edu.vanier.ufo.game;
+
+/**
+ * The weapons of the spaceship. Each weapon fires its own missile, with its
+ * own speed, damage and sound.
+ *
+ * @author enyihou
+ */
+public enum Weapon {
+
+    NORMAL(SpriteImage.ROCKET_NORMAL, 3f, 100, "laser"),
+    MEDIUM(SpriteImage.ROCKET_MEDIUM, 2.3f, 200, "laser"),
+    HUGE(SpriteImage.ROCKET_HUGE, 5f, 300, "rocket"),
+    ULTIMATE(SpriteImage.ROCKET_ULTIMATE, 3f, 500, "rocket");
+
+    private final SpriteImage missileImage;
+    private final float slowDownAmount;
+    private final int damage;
+    private final String sound;
+
+    Weapon(SpriteImage missileImage, float slowDownAmount, int damage, String sound) {
+        this.missileImage = missileImage;
+        this.slowDownAmount = slowDownAmount;
+        this.damage = damage;
+        this.sound = sound;
+    }
+
+    /**
+     * @return the image of the fired missiles
+     */
+    public SpriteImage getMissileImage() {
+        return missileImage;
+    }
+
+    /**
+     * @return how much slower than the thrust of the spaceship the missiles
+     * travel
+     */
+    public float getSlowDownAmount() {
+        return slowDownAmount;
+    }
+
+    /**
+     * @return the damage of the fired missiles
+     */
+    public int getDamage() {
+        return damage;
+    }
+
+    /**
+     * @return the identifier of the sound played when firing
+     */
+    public String getSound() {
+        return sound;
+    }
+}
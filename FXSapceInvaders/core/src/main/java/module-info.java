@@ -0,0 +1,6 @@
+module edu.vanier.ufo.core {
+
+    exports edu.vanier.ufo.engine;
+    exports edu.vanier.ufo.game;
+
+}
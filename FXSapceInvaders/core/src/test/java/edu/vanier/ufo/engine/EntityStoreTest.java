@@ -0,0 +1,141 @@
+package edu.vanier.ufo.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the handles keep finding their entity while the rows are
+ * packed, and that the handles of destroyed entities are detected.
+ */
+class EntityStoreTest {
+
+    /**
+     * The number of entities the store has to hold.
+     */
+    private static final int LARGE_COUNT = 100_000;
+
+    private final EntityStore entities = new EntityStore();
+
+    // The value each entity was created with, by handle
+    private final Map<Long, Integer> values = new HashMap<>();
+
+    @Test
+    void destroyingMiddleRowMovesLastRowIntoItsPlace() {
+        long[] handles = new long[5];
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = create(i);
+        }
+
+        int middle = entities.row(handles[2]);
+        entities.destroy(handles[2]);
+
+        assertEquals(4, entities.getCount());
+        // The last entity now lives in the emptied row, with its state
+        assertEquals(middle, entities.row(handles[4]));
+        assertEquals(4, entities.x[middle]);
+        for (long handle : new long[]{handles[0], handles[1], handles[3], handles[4]}) {
+            assertTrue(entities.isAlive(handle));
+            assertEquals(xOf(handle), entities.x[entities.row(handle)]);
+        }
+    }
+
+    @Test
+    void destroyingLastRowMovesNothing() {
+        long first = create(0);
+        long last = create(1);
+        entities.destroy(last);
+        assertEquals(1, entities.getCount());
+        assertEquals(0, entities.row(first));
+        assertEquals(0, entities.x[0]);
+    }
+
+    @Test
+    void staleHandleIsDetected() {
+        long handle = create(7);
+        entities.destroy(handle);
+
+        assertFalse(entities.isAlive(handle));
+        assertThrows(IllegalStateException.class, () -> entities.row(handle));
+    }
+
+    @Test
+    void reusedIdGetsNewGeneration() {
+        long first = create(1);
+        entities.destroy(first);
+        long second = create(2);
+
+        // Same id, another generation
+        assertEquals((int) first, (int) second);
+        assertNotEquals(first, second);
+        assertTrue(entities.isAlive(second));
+        assertFalse(entities.isAlive(first));
+        assertThrows(IllegalStateException.class, () -> entities.row(first));
+        assertEquals(2, entities.x[entities.row(second)]);
+    }
+
+    @Test
+    void createsAndDestroysOneHundredThousandEntities() {
+        Random random = new Random(42);
+        List<Long> handles = new ArrayList<>(LARGE_COUNT);
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < LARGE_COUNT; i++) {
+                handles.add(create(i));
+            }
+            assertEquals(LARGE_COUNT, entities.getCount());
+
+            // Destroy them in any order, half of them first
+            Collections.shuffle(handles, random);
+            List<Long> destroyed = new ArrayList<>(handles.subList(0, LARGE_COUNT / 2));
+            List<Long> alive = new ArrayList<>(handles.subList(LARGE_COUNT / 2, LARGE_COUNT));
+            for (long handle : destroyed) {
+                entities.destroy(handle);
+            }
+            assertEquals(LARGE_COUNT / 2, entities.getCount());
+            for (long handle : destroyed) {
+                assertFalse(entities.isAlive(handle));
+            }
+            // Each entity left has its own row, holding its state
+            boolean[] taken = new boolean[entities.getCount()];
+            for (long handle : alive) {
+                assertTrue(entities.isAlive(handle));
+                int row = entities.row(handle);
+                assertFalse(taken[row], "row " + row + " taken twice");
+                taken[row] = true;
+                assertEquals(xOf(handle), entities.x[row]);
+            }
+            for (long handle : alive) {
+                entities.destroy(handle);
+            }
+            assertEquals(0, entities.getCount());
+            handles.clear();
+        }
+    }
+
+    /**
+     * Create an entity and mark its row with a value.
+     */
+    private long create(int value) {
+        long handle = entities.create(null);
+        entities.x[entities.row(handle)] = value;
+        values.put(handle, value);
+        return handle;
+    }
+
+    /**
+     * @return the value the entity was created with
+     */
+    private double xOf(long handle) {
+        return values.get(handle);
+    }
+}
@@ -0,0 +1,69 @@
+package edu.vanier.ufo.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Feeds the pulses of monitors of different refresh rates to the game loop
+ * timestep, which must run the same simulation on each of them.
+ */
+class FixedTimestepTest {
+
+    private static final int STEPS_PER_SECOND = 60;
+    private static final int MAX_STEPS_PER_PULSE = 5;
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void sameStepsAtEveryRefreshRate() {
+        for (int refreshRate : new int[]{60, 120, 144}) {
+            FixedTimestep timestep = new FixedTimestep(STEPS_PER_SECOND, MAX_STEPS_PER_PULSE);
+            int steps = 0;
+            for (int pulse = 0; pulse <= refreshRate; pulse++) {
+                int pulseSteps = timestep.advance(pulse * SECOND / refreshRate);
+                assertTrue(pulseSteps <= MAX_STEPS_PER_PULSE);
+                assertAlphaInRange(timestep);
+                steps += pulseSteps;
+            }
+            // One step on the first pulse, then one second of steps
+            assertEquals(1 + STEPS_PER_SECOND, steps, "steps at " + refreshRate + " Hz");
+            assertEquals(0, timestep.getDroppedSteps(), "dropped steps at " + refreshRate + " Hz");
+        }
+    }
+
+    @Test
+    void longStallRunsFiveStepsAndDropsTheRest() {
+        FixedTimestep timestep = new FixedTimestep(STEPS_PER_SECOND, MAX_STEPS_PER_PULSE);
+        long now = 0;
+        for (int pulse = 0; pulse < STEPS_PER_SECOND; pulse++) {
+            now = pulse * SECOND / STEPS_PER_SECOND;
+            timestep.advance(now);
+        }
+        // The game is stuck for one second
+        now += SECOND;
+        assertEquals(MAX_STEPS_PER_PULSE, timestep.advance(now));
+        assertEquals(STEPS_PER_SECOND - MAX_STEPS_PER_PULSE, timestep.getDroppedSteps());
+        assertAlphaInRange(timestep);
+        // Then it goes on at the normal pace
+        assertEquals(1, timestep.advance(now + timestep.getStepNanos()));
+        assertAlphaInRange(timestep);
+    }
+
+    @Test
+    void alphaStaysBelowOneBetweenSteps() {
+        FixedTimestep timestep = new FixedTimestep(STEPS_PER_SECOND, MAX_STEPS_PER_PULSE);
+        // Uneven pulses around 144 Hz
+        long now = 0;
+        for (int pulse = 0; pulse < 1000; pulse++) {
+            now += SECOND / 144 + (pulse % 7 - 3) * 500_000L;
+            timestep.advance(now);
+            assertAlphaInRange(timestep);
+        }
+    }
+
+    private static void assertAlphaInRange(FixedTimestep timestep) {
+        double alpha = timestep.getAlpha();
+        assertTrue(alpha >= 0 && alpha < 1, "alpha " + alpha);
+    }
+}
@@ -0,0 +1,103 @@
+package edu.vanier.ufo.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the directions read from the flow field with the exact direction
+ * from each sprite to the target.
+ */
+class FlowFieldTest {
+
+    private static final double SIZE = 6000;
+    private static final double CELL_SIZE = 200;
+    private static final double SPEED = 7;
+
+    /**
+     * The distance under which the directions are exact, NEAR_CELLS cells.
+     */
+    private static final double NEAR_DISTANCE = 5 * CELL_SIZE;
+
+    /**
+     * The largest angle between the direction of a cell and the exact one,
+     * further than NEAR_DISTANCE: the sprite can be half a diagonal away from
+     * the center of its cell, and the target a quarter of a cell away from
+     * where the cells were aimed.
+     */
+    private static final double MAX_ERROR_DEGREES = Math.toDegrees(Math.asin(
+            (CELL_SIZE * Math.sqrt(2) / 2 + CELL_SIZE / 4) / NEAR_DISTANCE));
+
+    private static final int SPRITE_COUNT = 20_000;
+
+    private final EntityStore entities = new EntityStore();
+    private final FlowField field = new FlowField(-SIZE / 2, -SIZE / 2, SIZE, CELL_SIZE);
+    private final Random random = new Random(42);
+
+    @Test
+    void nearSpritesGetTheExactDirection() {
+        TestSprite sprite = new TestSprite(entities);
+        int compared = 0;
+        for (int i = 0; i < SPRITE_COUNT; i++) {
+            double targetX = random.nextDouble(-SIZE / 2, SIZE / 2);
+            double targetY = random.nextDouble(-SIZE / 2, SIZE / 2);
+            field.aim(targetX, targetY);
+            double angle = random.nextDouble(2 * Math.PI);
+            double distance = random.nextDouble(1, NEAR_DISTANCE);
+            sprite.placeAt(targetX + Math.cos(angle) * distance, targetY + Math.sin(angle) * distance);
+
+            field.steer(sprite, SPEED);
+
+            double exact = Math.atan2(targetY - sprite.getCenterY(), targetX - sprite.getCenterX());
+            assertEquals(Math.cos(exact) * SPEED, sprite.getVelocityX(), 1e-9);
+            assertEquals(Math.sin(exact) * SPEED, sprite.getVelocityY(), 1e-9);
+            assertEquals(Math.toDegrees(exact), sprite.getRotation(), 1e-9);
+            compared++;
+        }
+        assertEquals(SPRITE_COUNT, compared);
+    }
+
+    @Test
+    void farSpritesGetDirectionWithinBoundedError() {
+        TestSprite sprite = new TestSprite(entities);
+        double targetX = 0;
+        double targetY = 0;
+        double worst = 0;
+        for (int i = 0; i < SPRITE_COUNT; i++) {
+            // The target wanders, mostly by less than the re-aim distance
+            targetX = Math.max(-SIZE / 4, Math.min(SIZE / 4, targetX + random.nextGaussian() * 20));
+            targetY = Math.max(-SIZE / 4, Math.min(SIZE / 4, targetY + random.nextGaussian() * 20));
+            field.aim(targetX, targetY);
+            double x;
+            double y;
+            do {
+                x = random.nextDouble(-SIZE / 2, SIZE / 2);
+                y = random.nextDouble(-SIZE / 2, SIZE / 2);
+            } while (Math.hypot(targetX - x, targetY - y) < NEAR_DISTANCE);
+            sprite.placeAt(x, y);
+
+            field.steer(sprite, SPEED);
+
+            double exact = Math.toDegrees(Math.atan2(targetY - y, targetX - x));
+            double error = Math.abs(Math.IEEEremainder(sprite.getRotation() - exact, 360));
+            double heading = Math.toDegrees(Math.atan2(sprite.getVelocityY(), sprite.getVelocityX()));
+            assertEquals(sprite.getRotation(), heading, 1e-9);
+            assertEquals(SPEED, Math.hypot(sprite.getVelocityX(), sprite.getVelocityY()), 1e-9);
+            worst = Math.max(worst, error);
+        }
+        assertTrue(worst <= MAX_ERROR_DEGREES, "worst error " + worst + " degrees");
+    }
+
+    private static class TestSprite extends Sprite {
+
+        TestSprite(EntityStore entities) {
+            super(entities);
+        }
+
+        @Override
+        public void update() {
+        }
+    }
+}
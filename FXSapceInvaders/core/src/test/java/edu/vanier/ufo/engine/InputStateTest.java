@@ -0,0 +1,100 @@
+package edu.vanier.ufo.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.vanier.ufo.game.Control;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Records bursts of events between two samples, which must keep what
+ * happened during the step and count the events that changed nothing.
+ */
+class InputStateTest {
+
+    private static final int MOVE_COUNT = 100_000;
+
+    private final InputState<Control> input = new InputState<>();
+
+    @Test
+    void sampleKeepsLastCursorAndEveryPress() {
+        // 2 moves coalesced into the last one
+        input.moveCursor(10, 20);
+        input.moveCursor(30, 40);
+        input.moveCursor(50.5, -60.25);
+        // A tap shorter than a step
+        input.press(Control.UP);
+        input.release(Control.UP);
+        // 1 repeat of a held key
+        input.press(Control.LEFT);
+        input.press(Control.LEFT);
+        // 1 second tap latched on the first one
+        input.press(Control.DOWN);
+        input.release(Control.DOWN);
+        input.press(Control.DOWN);
+        input.release(Control.DOWN);
+        // 1 second click latched on the first one
+        input.trigger(Control.FIRE);
+        input.trigger(Control.FIRE);
+
+        input.sample();
+
+        assertTrue(input.hasCursorMoved());
+        assertEquals(50.5, input.getCursorX());
+        assertEquals(-60.25, input.getCursorY());
+        assertTrue(input.wasPressed(Control.UP));
+        assertTrue(input.isHeld(Control.UP));
+        assertTrue(input.wasPressed(Control.DOWN));
+        assertTrue(input.isHeld(Control.LEFT));
+        assertTrue(input.wasPressed(Control.FIRE));
+        assertFalse(input.wasPressed(Control.RIGHT));
+        assertFalse(input.isHeld(Control.RIGHT));
+        assertEquals(13, input.getRecordedCount());
+        assertEquals(5, input.getCoalescedCount());
+
+        // Nothing happened during the next step
+        input.sample();
+
+        assertFalse(input.hasCursorMoved());
+        assertEquals(50.5, input.getCursorX());
+        assertFalse(input.wasPressed(Control.UP));
+        assertFalse(input.isHeld(Control.UP));
+        assertFalse(input.isHeld(Control.DOWN));
+        assertFalse(input.wasPressed(Control.FIRE));
+        assertFalse(input.wasPressed(Control.LEFT));
+        assertTrue(input.isHeld(Control.LEFT));
+        assertEquals(13, input.getRecordedCount());
+        assertEquals(5, input.getCoalescedCount());
+    }
+
+    @Test
+    void cursorIsNeverTornAcrossThreads() throws InterruptedException {
+        Thread recorder = new Thread(() -> {
+            for (int i = 1; i <= MOVE_COUNT; i++) {
+                input.moveCursor(i, -i);
+            }
+        }, "recorder");
+        recorder.start();
+
+        int samples = 0;
+        double last = 0;
+        while (recorder.isAlive() || samples == 0) {
+            input.sample();
+            if (input.hasCursorMoved()) {
+                double x = input.getCursorX();
+                assertEquals(-x, input.getCursorY());
+                assertTrue(x >= last);
+                last = x;
+            }
+            samples++;
+        }
+        recorder.join();
+        input.sample();
+        if (input.hasCursorMoved()) {
+            last = input.getCursorX();
+        }
+        assertEquals(MOVE_COUNT, last);
+        assertEquals(MOVE_COUNT, input.getRecordedCount());
+    }
+}
@@ -0,0 +1,86 @@
+package edu.vanier.ufo.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Passes snapshots from a writer to a reader, which must only see snapshots
+ * that were completely written.
+ */
+class SnapshotBufferTest {
+
+    private static final int PUBLISH_COUNT = 200_000;
+
+    @Test
+    void readReturnsTheLatestPublishedSnapshot() {
+        SnapshotBuffer buffer = new SnapshotBuffer();
+        write(buffer.getWriteSnapshot(), 1);
+        buffer.publish();
+        write(buffer.getWriteSnapshot(), 2);
+        buffer.publish();
+
+        RenderSnapshot read = buffer.read();
+        assertEquals(2, read.getTime());
+        assertNotSame(buffer.getWriteSnapshot(), read);
+        // Nothing new was published
+        assertSame(read, buffer.read());
+
+        write(buffer.getWriteSnapshot(), 3);
+        buffer.publish();
+        RenderSnapshot next = buffer.read();
+        assertEquals(3, next.getTime());
+        assertNotSame(read, next);
+        assertNotSame(buffer.getWriteSnapshot(), next);
+    }
+
+    @Test
+    void readerNeverSeesSnapshotBeingWritten() throws InterruptedException {
+        SnapshotBuffer buffer = new SnapshotBuffer();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            for (int i = 1; i <= PUBLISH_COUNT; i++) {
+                write(buffer.getWriteSnapshot(), i);
+                buffer.publish();
+            }
+        }, "writer");
+        writer.setUncaughtExceptionHandler((thread, e) -> failure.set(e));
+        writer.start();
+
+        long last = 0;
+        int reads = 0;
+        while (last < PUBLISH_COUNT) {
+            RenderSnapshot snapshot = buffer.read();
+            long time = snapshot.getTime();
+            assertTrue(time >= last, "went back from " + last + " to " + time);
+            // Every stat was written with the time, and stays as it is while
+            // the snapshot is held
+            for (int pass = 0; pass < 2; pass++) {
+                for (int stat = 0; stat < RenderSnapshot.MAX_STATS; stat++) {
+                    assertEquals(time, snapshot.getStat(stat), "stat " + stat);
+                }
+                Thread.yield();
+            }
+            assertEquals(time, snapshot.getTime());
+            last = time;
+            reads++;
+        }
+        writer.join();
+        assertEquals(null, failure.get());
+        assertTrue(reads > 1);
+    }
+
+    /**
+     * Fill a snapshot, the time first and the stats one by one.
+     */
+    private static void write(RenderSnapshot snapshot, int value) {
+        snapshot.setTime(value);
+        for (int stat = 0; stat < RenderSnapshot.MAX_STATS; stat++) {
+            snapshot.setStat(stat, value);
+        }
+    }
+}
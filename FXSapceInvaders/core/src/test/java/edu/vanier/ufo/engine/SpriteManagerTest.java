@@ -0,0 +1,187 @@
+package edu.vanier.ufo.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the queued additions and removals of the sprite manager, and the
+ * indices kept by the sprites in the buckets.
+ */
+class SpriteManagerTest {
+
+    private final EntityStore entities = new EntityStore();
+    private final SpriteManager manager = new SpriteManager();
+    private final ObjectPool<PooledSprite> pool = new ObjectPool<>(() -> new PooledSprite(entities), Sprite::reset);
+    private SpriteBucket<PooledSprite> pooled;
+
+    @BeforeEach
+    void setUp() {
+        pooled = manager.getBucket(PooledSprite.class);
+        manager.registerPool(PooledSprite.class, pool);
+    }
+
+    @Test
+    void removingTwiceInOneStepRemovesOnce() {
+        PooledSprite[] sprites = addInPlay(3);
+
+        manager.addSpritesToBeRemoved(sprites[1]);
+        manager.removeSprites(sprites[1]);
+        manager.addSpritesToBeRemoved(sprites[1]);
+        assertEquals(1, manager.getSpritesToBeRemoved().size());
+        manager.cleanupSprites();
+
+        assertEquals(2, manager.getAllSprites().size());
+        assertEquals(1, pool.getFreeCount());
+        assertOut(sprites[1]);
+        assertConsistent();
+        // A later removal is queued again
+        manager.addSpritesToBeRemoved(sprites[0]);
+        assertEquals(1, manager.getSpritesToBeRemoved().size());
+    }
+
+    @Test
+    void addingAndRemovingInOneStepLeavesNothingInPlay() {
+        PooledSprite[] sprites = addInPlay(2);
+        PooledSprite sprite = pool.obtain();
+
+        manager.addSprites(sprite);
+        manager.addSprites(sprite);
+        manager.addSpritesToBeRemoved(sprite);
+        manager.cleanupSprites();
+
+        assertEquals(2, manager.getAllSprites().size());
+        assertEquals(2, pooled.size());
+        assertOut(sprite);
+        assertFalse(sprite.additionPending);
+        assertEquals(1, pool.getFreeCount());
+        assertSame(sprites[0], manager.getAllSprites().get(0));
+        assertConsistent();
+    }
+
+    @Test
+    void spriteWithoutPoolIsDestroyed() {
+        OtherSprite sprite = new OtherSprite(entities);
+        manager.addSprites(sprite);
+        manager.applyChanges();
+        assertTrue(sprite.isInPlay());
+
+        manager.addSpritesToBeRemoved(sprite);
+        manager.cleanupSprites();
+
+        assertEquals(0, entities.getCount());
+        assertEquals(-1, sprite.index);
+        assertConsistent();
+    }
+
+    @Test
+    void bucketRemovesLastAndMiddleSprites() {
+        SpriteBucket<Sprite> bucket = new SpriteBucket<>(true);
+        Sprite[] sprites = new Sprite[5];
+        for (int i = 0; i < sprites.length; i++) {
+            sprites[i] = new PooledSprite(entities);
+            bucket.append(sprites[i]);
+        }
+
+        // The last one leaves nothing to move
+        bucket.swapRemove(sprites[4]);
+        assertEquals(List.of(sprites[0], sprites[1], sprites[2], sprites[3]), bucket);
+        assertEquals(-1, sprites[4].kindIndex);
+
+        // The last one takes the place of a middle one
+        bucket.swapRemove(sprites[1]);
+        assertEquals(List.of(sprites[0], sprites[3], sprites[2]), bucket);
+        assertEquals(-1, sprites[1].kindIndex);
+        assertEquals(1, sprites[3].kindIndex);
+        for (int i = 0; i < bucket.size(); i++) {
+            assertEquals(i, bucket.get(i).kindIndex);
+            // Only the index of the kind is used
+            assertEquals(-1, bucket.get(i).index);
+        }
+    }
+
+    @Test
+    void removingSpritesInAnyOrderKeepsIndices() {
+        PooledSprite[] sprites = addInPlay(8);
+        OtherSprite other = new OtherSprite(entities);
+        manager.addSprites(other);
+        manager.applyChanges();
+
+        // The last one, a middle one and the first one
+        manager.addSpritesToBeRemoved(sprites[7], sprites[3], sprites[0]);
+        manager.cleanupSprites();
+
+        assertEquals(6, manager.getAllSprites().size());
+        assertEquals(5, pooled.size());
+        assertTrue(manager.getAllSprites().contains(other));
+        assertConsistent();
+    }
+
+    /**
+     * Put sprites in play.
+     */
+    private PooledSprite[] addInPlay(int count) {
+        PooledSprite[] sprites = new PooledSprite[count];
+        for (int i = 0; i < count; i++) {
+            sprites[i] = pool.obtain();
+            manager.addSprites(sprites[i]);
+        }
+        manager.applyChanges();
+        return sprites;
+    }
+
+    private static void assertOut(Sprite sprite) {
+        assertFalse(sprite.isInPlay());
+        assertFalse(sprite.removalPending);
+        assertEquals(-1, sprite.index);
+        assertEquals(-1, sprite.kindIndex);
+    }
+
+    /**
+     * Check that every sprite in play knows where it is, once.
+     */
+    private void assertConsistent() {
+        List<Sprite> all = manager.getAllSprites();
+        for (int i = 0; i < all.size(); i++) {
+            Sprite sprite = all.get(i);
+            assertEquals(i, sprite.index);
+            assertTrue(sprite.isInPlay());
+            assertEquals(1, all.stream().filter(s -> s == sprite).count());
+        }
+        int kinds = 0;
+        for (int i = 0; i < pooled.size(); i++) {
+            PooledSprite sprite = pooled.get(i);
+            assertEquals(i, sprite.kindIndex);
+            assertSame(sprite, all.get(sprite.index));
+            kinds++;
+        }
+        assertEquals(kinds, all.stream().filter(PooledSprite.class::isInstance).count());
+    }
+
+    private static class PooledSprite extends Sprite {
+
+        PooledSprite(EntityStore entities) {
+            super(entities);
+        }
+
+        @Override
+        public void update() {
+        }
+    }
+
+    private static class OtherSprite extends Sprite {
+
+        OtherSprite(EntityStore entities) {
+            super(entities);
+        }
+
+        @Override
+        public void update() {
+        }
+    }
+}
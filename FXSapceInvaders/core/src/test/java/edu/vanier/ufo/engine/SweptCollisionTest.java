@@ -0,0 +1,100 @@
+package edu.vanier.ufo.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.vanier.ufo.game.Invader;
+import edu.vanier.ufo.game.Missile;
+import edu.vanier.ufo.game.SpriteImage;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Fires a missile across an invader faster than twice their reach per step,
+ * so that neither the previous nor the current circles overlap. Only the
+ * swept check can find the hit.
+ */
+class SweptCollisionTest {
+
+    /**
+     * The steps per second of the game loop being checked.
+     */
+    private static final int STEPS_PER_SECOND = 30;
+
+    private TestEngine engine;
+    private Invader invader;
+    private Missile missile;
+    private double reach;
+    private final List<Double> impacts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        engine = new TestEngine();
+        engine.getCollisionMatrix().register(Missile.COLLISION_LAYER, Invader.COLLISION_LAYER,
+                (missile, invader) -> impacts.add(missile.timeOfImpact(invader)));
+        invader = new Invader(engine.getEntityStore(), SpriteImage.ENEMY1, 1);
+        missile = new Missile(engine.getEntityStore(), SpriteImage.ROCKET_NORMAL);
+        reach = invader.getCollisionRadius() + missile.getCollisionRadius();
+    }
+
+    @Test
+    void fastMissileHitsInvaderItCrosses() {
+        fire(0);
+        assertEquals(1, impacts.size());
+        double time = impacts.get(0);
+        assertTrue(time >= 0 && time <= 1, "time of impact " + time);
+        // The missile touches the invader a quarter of the way
+        assertEquals(0.25 / 2.5, time, 1e-9);
+    }
+
+    @Test
+    void fastMissilePassingBesideInvaderMisses() {
+        fire(reach * 1.01);
+        assertTrue(impacts.isEmpty(), "impacts " + impacts);
+    }
+
+    @Test
+    void timeOfImpactOfCirclesCrossingInOneStep() {
+        // A circle of radius 5 going through one of radius 10 at 100 per step
+        assertEquals(0.35, CollisionMath.timeOfImpact(-50, 0, 50, 0, 5, 0, 0, 0, 0, 10), 1e-9);
+        assertEquals(-1, CollisionMath.timeOfImpact(-50, 16, 50, 16, 5, 0, 0, 0, 0, 10));
+        // Already overlapping at the start of the step
+        assertEquals(0, CollisionMath.timeOfImpact(-12, 0, 88, 0, 5, 0, 0, 0, 0, 10));
+        // Moving away
+        assertEquals(-1, CollisionMath.timeOfImpact(20, 0, 120, 0, 5, 0, 0, 0, 0, 10));
+    }
+
+    /**
+     * Run one step in which the missile goes from 1.25 reach before the
+     * invader to 1.25 reach after it.
+     *
+     * @param offsetY how far beside the center of the invader the missile
+     * passes
+     */
+    private void fire(double offsetY) {
+        invader.placeAt(0, 0);
+        engine.addSprite(invader);
+        double speed = 2.5 * reach;
+        assertTrue(speed > 2 * reach);
+        missile.placeAt(0, 0);
+        missile.placeAt(invader.getCollisionCenterX() - 1.25 * reach - missile.getCollisionCenterX(),
+                invader.getCollisionCenterY() + offsetY - missile.getCollisionCenterY());
+        missile.setVelocity(speed, 0);
+        engine.addSprite(missile);
+        engine.step();
+        assertEquals(invader.getCollisionCenterX() + 1.25 * reach, missile.getCollisionCenterX(), 1e-9);
+    }
+
+    private static class TestEngine extends GameEngine {
+
+        TestEngine() {
+            super(STEPS_PER_SECOND);
+        }
+
+        @Override
+        public void initialize() {
+        }
+    }
+}
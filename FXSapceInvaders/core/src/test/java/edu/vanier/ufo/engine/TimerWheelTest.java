@@ -0,0 +1,139 @@
+package edu.vanier.ufo.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks when the timers run, and that the handles of the timers that ran or
+ * were cancelled stay stale.
+ */
+class TimerWheelTest {
+
+    private final TimerWheel timers = new TimerWheel();
+
+    // The tick at which each timer ran, by name
+    private final List<String> runs = new ArrayList<>();
+
+    @Test
+    void timersFurtherThanTheRingRunOnTheirStep() {
+        timers.schedule(255, record("255"));
+        timers.schedule(256, record("256"));
+        timers.schedule(300, record("300"));
+        timers.schedule(600, record("600"));
+
+        advance(254);
+        assertTrue(runs.isEmpty());
+        advance(1);
+        assertEquals(List.of("255@255"), runs);
+        advance(1);
+        assertEquals(List.of("255@255", "256@256"), runs);
+        // The slot of 300 was visited at 44 already, and the slot of 600 at
+        // 88 and 344
+        advance(344);
+        assertEquals(List.of("255@255", "256@256", "300@300", "600@600"), runs);
+        assertEquals(0, timers.getPendingCount());
+    }
+
+    @Test
+    void cancellingTimerInDueChainStopsIt() {
+        long[] handles = new long[2];
+        handles[0] = timers.schedule(5, () -> {
+            runs.add("first");
+            assertTrue(timers.cancel(handles[1]));
+        });
+        handles[1] = timers.schedule(5, () -> {
+            runs.add("second");
+            assertTrue(timers.cancel(handles[0]));
+        });
+
+        advance(5);
+        // Both were due, only the one running first ran
+        assertEquals(1, runs.size());
+        assertEquals(0, timers.getPendingCount());
+        assertFalse(timers.isPending(handles[0]));
+        assertFalse(timers.isPending(handles[1]));
+        advance(300);
+        assertEquals(1, runs.size());
+    }
+
+    @Test
+    void staleHandleDoesNotReachReusedTimer() {
+        long cancelled = timers.schedule(10, record("cancelled"));
+        assertTrue(timers.cancel(cancelled));
+        long reused = timers.schedule(10, record("reused"));
+        // Same index, another generation
+        assertEquals((int) cancelled, (int) reused);
+        assertNotEquals(cancelled, reused);
+
+        assertFalse(timers.isPending(cancelled));
+        assertFalse(timers.cancel(cancelled));
+        assertTrue(timers.isPending(reused));
+
+        advance(10);
+        assertEquals(List.of("reused@10"), runs);
+        // The handle of a timer that ran is stale too
+        long next = timers.schedule(1, record("next"));
+        assertEquals((int) reused, (int) next);
+        assertFalse(timers.cancel(reused));
+        assertTrue(timers.isPending(next));
+        assertFalse(timers.isPending(TimerWheel.NO_TIMER));
+    }
+
+    @Test
+    void timerScheduledByActionRunsInLaterStep() {
+        timers.schedule(3, () -> {
+            runs.add("outer@" + timers.getTick());
+            timers.schedule(0, record("at least one step"));
+            timers.schedule(1, record("one step"));
+        });
+
+        advance(3);
+        assertEquals(List.of("outer@3"), runs);
+        assertEquals(2, timers.getPendingCount());
+        advance(1);
+        assertEquals(3, runs.size());
+        assertTrue(runs.containsAll(List.of("at least one step@4", "one step@4")));
+    }
+
+    @Test
+    void clearCancelsEveryTimer() {
+        List<Long> handles = new ArrayList<>();
+        for (int steps = 1; steps <= 1000; steps += 37) {
+            handles.add(timers.schedule(steps, record("cleared")));
+        }
+        advance(1);
+        runs.clear();
+
+        timers.clear();
+
+        assertEquals(0, timers.getPendingCount());
+        for (long handle : handles) {
+            assertFalse(timers.isPending(handle));
+        }
+        advance(1000);
+        assertTrue(runs.isEmpty());
+        // The wheel is still usable
+        timers.schedule(2, record("after"));
+        advance(2);
+        assertEquals(List.of("after@1003"), runs);
+    }
+
+    /**
+     * @return an action recording its name and the tick it ran at
+     */
+    private Runnable record(String name) {
+        return () -> runs.add(name + "@" + timers.getTick());
+    }
+
+    private void advance(int steps) {
+        for (int i = 0; i < steps; i++) {
+            timers.advance();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package edu.vanier.ufo.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.vanier.ufo.engine.GameListener;
+import edu.vanier.ufo.engine.Sprite;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Plays the game headless, step by step, and checks what the simulation
+ * reports to its listener.
+ */
+class GameSimulationTest {
+
+    private static final int STEPS_PER_SECOND = 60;
+
+    /**
+     * The most invaders in play at once.
+     */
+    private static final int MAX_INVADERS = 9;
+
+    private GameSimulation simulation;
+    private RecordingListener listener;
+
+    @BeforeEach
+    void setUp() {
+        simulation = new GameSimulation(STEPS_PER_SECOND, 1);
+        listener = new RecordingListener();
+        simulation.setListener(listener);
+        simulation.initialize();
+    }
+
+    @Test
+    void spawnsOneInvaderPerStepUpToNine() {
+        int spawned = 0;
+        for (int i = 1; i <= MAX_INVADERS + 5; i++) {
+            simulation.step();
+            if (i <= MAX_INVADERS) {
+                assertEquals(i, listener.added(Invader.class), "invaders after step " + i);
+            }
+            // An invader spawned on the edge of the map implodes, and another
+            // one takes its place
+            assertTrue(listener.added(Invader.class) - spawned <= 1);
+            assertTrue(listener.added(Invader.class) - listener.removed(Invader.class) <= MAX_INVADERS);
+            spawned = listener.added(Invader.class);
+        }
+        assertEquals(1, listener.added(Ship.class));
+        assertEquals(0, listener.removed(Ship.class));
+        assertNull(listener.victory);
+    }
+
+    @Test
+    void missileHitKillsInvaderAndScores() {
+        simulation.changeWeapon(Weapon.ULTIMATE);
+        simulation.step();
+        Invader invader = (Invader) listener.added.get(listener.added.size() - 1);
+        Ship ship = simulation.getSpaceShip();
+        invader.placeAt(ship.getCenterX() + 600 - invader.getBoundsWidth() / 2,
+                ship.getCenterY() - invader.getBoundsHeight() / 2);
+
+        for (int i = 0; i < STEPS_PER_SECOND && !listener.removed.contains(invader); i++) {
+            simulation.setCursor(invader.getCenterX(), invader.getCenterY());
+            simulation.fire();
+            simulation.step();
+        }
+
+        assertTrue(listener.removed.contains(invader), "the invader was not hit");
+        assertTrue(listener.exploded.contains(invader));
+        assertTrue(listener.added(Missile.class) >= 1);
+        assertTrue(listener.sounds.contains(Weapon.ULTIMATE.getSound()));
+        assertEquals(invader.getPoint(), simulation.getGameScore());
+        assertEquals(1, simulation.getGameProgress());
+        assertEquals(3, ship.getHealth());
+    }
+
+    @Test
+    void invadersReachingTheShipEndTheGameInDefeat() {
+        int steps = 0;
+        while (!simulation.isFinished() && steps < 60 * STEPS_PER_SECOND) {
+            simulation.step();
+            steps++;
+        }
+
+        assertEquals(Boolean.FALSE, listener.victory, "game over after " + steps + " steps");
+        // Two invaders can hit the spaceship in the same step
+        assertTrue(simulation.getSpaceShip().getHealth() <= 0);
+        // Each invader hitting the spaceship implodes and takes a heart, the
+        // ones spawned on the edge of the map implode too
+        assertTrue(listener.exploded(Invader.class) >= 3);
+        assertEquals(0, simulation.getGameScore());
+        assertEquals(0, simulation.getGameProgress());
+        // Nothing happens once the game is over
+        int events = listener.added.size() + listener.removed.size();
+        simulation.step();
+        assertEquals(events, listener.added.size() + listener.removed.size());
+        assertFalse(listener.finishedTwice);
+    }
+
+    /**
+     * Keeps every event of the simulation.
+     */
+    private static class RecordingListener implements GameListener {
+
+        final List<Sprite> added = new ArrayList<>();
+        final List<Sprite> removed = new ArrayList<>();
+        final List<Sprite> exploded = new ArrayList<>();
+        final List<String> sounds = new ArrayList<>();
+        Boolean victory;
+        boolean finishedTwice;
+
+        @Override
+        public void spriteAdded(Sprite sprite) {
+            added.add(sprite);
+        }
+
+        @Override
+        public void spriteRemoved(Sprite sprite) {
+            removed.add(sprite);
+        }
+
+        @Override
+        public void explosion(Sprite sprite, double x, double y) {
+            exploded.add(sprite);
+        }
+
+        @Override
+        public void soundPlayed(String id) {
+            sounds.add(id);
+        }
+
+        @Override
+        public void gameFinished(boolean isVictory) {
+            finishedTwice |= victory != null;
+            victory = isVictory;
+        }
+
+        int added(Class<? extends Sprite> kind) {
+            return (int) added.stream().filter(kind::isInstance).count();
+        }
+
+        int removed(Class<? extends Sprite> kind) {
+            return (int) removed.stream().filter(kind::isInstance).count();
+        }
+
+        int exploded(Class<? extends Sprite> kind) {
+            return (int) exploded.stream().filter(kind::isInstance).count();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package edu.vanier.ufo.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import edu.vanier.ufo.engine.EntityStore;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks which invaders the swarm turns at each step.
+ */
+class SwarmTest {
+
+    private final EntityStore entities = new EntityStore();
+    private final Swarm swarm = new Swarm();
+    private final List<Invader> invaders = new ArrayList<>();
+
+    @Test
+    void joiningInvaderMovesInItsFirstStep() {
+        // Let the swarm run a few steps before the invader joins
+        for (int step = 0; step < 3; step++) {
+            swarm.steer(invaders, 0, 0);
+        }
+        Invader invader = join(1500, -800);
+        swarm.steer(invaders, 0, 0);
+
+        assertEquals(invader.getSpeed(), Math.hypot(invader.getVelocityX(), invader.getVelocityY()), 1e-9);
+        assertEquals(Math.toDegrees(Math.atan2(invader.getVelocityY(), invader.getVelocityX())),
+                invader.getRotation(), 1e-9);
+    }
+
+    @Test
+    void joiningInvadersGetPhasesInTurn() {
+        List<Invader> joined = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            joined.add(join(1000 + 100 * i, 1000));
+        }
+        swarm.steer(invaders, 0, 0);
+
+        for (int i = 0; i < joined.size(); i++) {
+            assertEquals(i % Swarm.RETARGET_INTERVAL, joined.get(i).getRetargetPhase());
+        }
+    }
+
+    @Test
+    void invaderOnlyTurnsWhenItsPhaseIsDue() {
+        Invader invader = join(1000, 0);
+        swarm.steer(invaders, 0, 0);
+        assertNotEquals(0, invader.getVelocityX());
+
+        // The target moves at each step, the invader only follows it in the
+        // steps of its phase
+        for (int step = 1; step <= 4 * Swarm.RETARGET_INTERVAL; step++) {
+            double before = invader.getRotation();
+            swarm.steer(invaders, 0, 300 * step);
+            boolean due = step % Swarm.RETARGET_INTERVAL == invader.getRetargetPhase();
+            assertEquals(due, invader.getRotation() != before, "step " + step);
+        }
+    }
+
+    @Test
+    void deadInvaderIsNotTurned() {
+        Invader invader = join(1000, 0);
+        invader.setDead(true);
+        swarm.steer(invaders, 0, 0);
+
+        assertEquals(0, invader.getVelocityX());
+        assertEquals(0, invader.getVelocityY());
+    }
+
+    private Invader join(double x, double y) {
+        Invader invader = new Invader(entities, SpriteImage.ENEMY1, 1);
+        invader.placeAt(x, y);
+        swarm.join(invader);
+        invaders.add(invader);
+        return invader;
+    }
+}